@@ -3,14 +3,14 @@ package net.ravendb.client.documents;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.commands.GetNextOperationIdCommand;
 import net.ravendb.client.documents.commands.KillOperationCommand;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
 import net.ravendb.client.documents.operations.GetOperationStateOperation;
-import net.ravendb.client.documents.session.DocumentInfo;
 import net.ravendb.client.documents.session.EntityToJson;
 import net.ravendb.client.documents.session.IMetadataDictionary;
 import net.ravendb.client.exceptions.RavenException;
@@ -34,9 +34,12 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 
 import java.io.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class BulkInsertOperation implements CleanCloseable {
 
@@ -151,33 +154,138 @@ public class BulkInsertOperation implements CleanCloseable {
         }
     }
 
+    /**
+     * Output stream made of fixed size chunks taken from shared pool. Chunks are handed
+     * to the request stream as they are (without copying) and returned to the pool afterwards.
+     */
+    private static class ChunkedBuffer extends OutputStream {
+        private final BlockingQueue<byte[]> _pool;
+        private final int _chunkSize;
+        private final List<byte[]> _chunks = new ArrayList<>();
+        private byte[] _current;
+        private int _position;
+        private int _size;
+
+        public ChunkedBuffer(BlockingQueue<byte[]> pool, int chunkSize) {
+            _pool = pool;
+            _chunkSize = chunkSize;
+        }
+
+        public int size() {
+            return _size;
+        }
+
+        @Override
+        public void write(int b) {
+            if (_current == null || _position == _chunkSize) {
+                nextChunk();
+            }
+
+            _current[_position++] = (byte) b;
+            _size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (_current == null || _position == _chunkSize) {
+                    nextChunk();
+                }
+
+                int toCopy = Math.min(len, _chunkSize - _position);
+                System.arraycopy(b, off, _current, _position, toCopy);
+                _position += toCopy;
+                _size += toCopy;
+                off += toCopy;
+                len -= toCopy;
+            }
+        }
+
+        private void nextChunk() {
+            byte[] chunk = _pool.poll();
+            if (chunk == null) {
+                chunk = new byte[_chunkSize];
+            }
+
+            _chunks.add(chunk);
+            _current = chunk;
+            _position = 0;
+        }
+
+        public void writeTo(OutputStream stream) throws IOException {
+            int remaining = _size;
+            for (byte[] chunk : _chunks) {
+                int length = Math.min(remaining, _chunkSize);
+                stream.write(chunk, 0, length);
+                remaining -= length;
+            }
+        }
+
+        /**
+         * Returns all chunks to the pool. Chunks above pool capacity are left for GC.
+         */
+        public void release() {
+            for (byte[] chunk : _chunks) {
+                _pool.offer(chunk);
+            }
+
+            _chunks.clear();
+            _current = null;
+            _position = 0;
+            _size = 0;
+        }
+    }
+
     private ExecutorService _executorService;
+    private ExecutorService _longRunningExecutorService;
     private final RequestExecutor _requestExecutor;
     private CompletableFuture<Void> _bulkInsertExecuteTask;
-    private final ObjectMapper objectMapper;
+    private final ObjectWriter _entityWriter;
 
     private OutputStream _stream;
     private final StreamExposerContent _streamExposerContent;
 
-    private boolean _first = true;
     private long _operationId = -1;
 
     private boolean useCompression = false;
 
+    private int bufferSize = 64 * 1024;
+    private int bufferDepth = 32;
+
+    private final AtomicLong _bytesSent = new AtomicLong();
+    private final AtomicLong _numberOfFlushes = new AtomicLong();
+    private final AtomicLong _writeWaitTimeInNanos = new AtomicLong();
+
     private final AtomicInteger _concurrentCheck = new AtomicInteger();
 
     public BulkInsertOperation(String database, DocumentStore store) {
         _executorService = store.getExecutorService();
+        _longRunningExecutorService = store.getLongRunningExecutorService();
         _conventions = store.getConventions();
         _requestExecutor = store.getRequestExecutor(database);
-        objectMapper = store.getConventions().getEntityMapper();
+        ObjectMapper objectMapper = store.getConventions().getEntityMapper();
+        _entityWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
-        _currentWriterBacking = new ByteArrayOutputStream();
-        _currentWriter = new OutputStreamWriter(_currentWriterBacking);
-        _backgroundWriterBacking = new ByteArrayOutputStream();
-        _backgroundWriter = new OutputStreamWriter(_backgroundWriterBacking);
         _streamExposerContent = new StreamExposerContent();
 
+        // single generator for the whole operation, it always writes to current buffer
+        try {
+            _generator = objectMapper.getFactory().createGenerator(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    _currentBuffer.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    _currentBuffer.write(b, off, len);
+                }
+            });
+            _generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        } catch (IOException e) {
+            throw new RavenException("Unable to create bulk insert generator", e);
+        }
+
         _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_requestExecutor.getConventions(),
                 entity -> _requestExecutor.getConventions().generateDocumentId(database, entity));
     }
@@ -190,6 +298,72 @@ public class BulkInsertOperation implements CleanCloseable {
         this.useCompression = useCompression;
     }
 
+    /**
+     * @return Size (in bytes) of single pooled write buffer
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Sets size (in bytes) of single pooled write buffer. Must be called before first store.
+     * @param bufferSize Buffer size
+     */
+    public void setBufferSize(int bufferSize) {
+        assertBuffersNotCreated();
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * @return Maximum number of write buffers kept for reuse
+     */
+    public int getBufferDepth() {
+        return bufferDepth;
+    }
+
+    /**
+     * Sets maximum number of write buffers kept for reuse. Half of them is filled while other half is sent.
+     * Must be called before first store.
+     * @param bufferDepth Buffer depth
+     */
+    public void setBufferDepth(int bufferDepth) {
+        assertBuffersNotCreated();
+        if (bufferDepth < 2) {
+            throw new IllegalArgumentException("Buffer depth must be at least 2");
+        }
+        this.bufferDepth = bufferDepth;
+    }
+
+    private void assertBuffersNotCreated() {
+        if (_currentBuffer != null) {
+            throw new IllegalStateException("Buffers must be configured before first store call.");
+        }
+    }
+
+    /**
+     * @return Number of bytes written to the bulk insert request stream
+     */
+    public long getBytesSent() {
+        return _bytesSent.get();
+    }
+
+    /**
+     * @return Number of times buffered data was flushed to the bulk insert request stream
+     */
+    public long getNumberOfFlushes() {
+        return _numberOfFlushes.get();
+    }
+
+    /**
+     * @return Time spent by store/close waiting for previous background write to complete
+     */
+    public Duration getWriteWaitTime() {
+        return Duration.ofNanos(_writeWaitTimeInNanos.get());
+    }
+
     private void throwBulkInsertAborted(Exception e, Exception flushEx) {
         Exception error = getExceptionFromOperation();
 
@@ -250,53 +424,28 @@ public class BulkInsertOperation implements CleanCloseable {
             }
 
             try {
-                if (!_first) {
-                    _currentWriter.write(",");
-                }
-
-                _first = false;
-
-                _currentWriter.write("{\"Id\":\"");
-                writeId(_currentWriter, id);
-                _currentWriter.write("\",\"Type\":\"PUT\",\"Document\":");
-
-                DocumentInfo documentInfo = new DocumentInfo();
-                documentInfo.setMetadataInstance(metadata);
-                ObjectNode json = EntityToJson.convertEntityToJson(entity, _conventions, documentInfo);
-
-                _currentWriter.flush();
-
-                try (JsonGenerator generator =
-                        objectMapper.getFactory().createGenerator(_currentWriter)) {
-                    generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
-
-                    generator.writeTree(json);
-                }
-
-                _currentWriter.write("}");
-                _currentWriter.flush();
+                _generator.writeStartObject();
+                _generator.writeStringField("Id", id);
+                _generator.writeStringField("Type", "PUT");
+                _generator.writeFieldName("Document");
 
-                if (_currentWriterBacking.size() > _maxSizeInBuffer || _asyncWrite.isDone()) {
+                EntityToJson.writeEntity(_generator, _entityWriter, entity, _conventions, metadata);
 
-                    _asyncWrite.get();
+                _generator.writeEndObject();
+                _generator.flush();
 
-                    Writer tmp = _currentWriter;
-                    _currentWriter = _backgroundWriter;
-                    _backgroundWriter = tmp;
+                if (_currentBuffer.size() > _maxSizeInBuffer || _asyncWrite.isDone()) {
 
-                    ByteArrayOutputStream tmpBaos = _currentWriterBacking;
-                    _currentWriterBacking = _backgroundWriterBacking;
-                    _backgroundWriterBacking = tmpBaos;
+                    waitForAsyncWrite();
 
-                    _currentWriterBacking.reset();
+                    ChunkedBuffer tmp = _currentBuffer;
+                    _currentBuffer = _backgroundBuffer;
+                    _backgroundBuffer = tmp;
 
-                    final byte[] buffer = _backgroundWriterBacking.toByteArray();
+                    final ChunkedBuffer buffer = _backgroundBuffer;
                     _asyncWrite = CompletableFuture.supplyAsync(() -> {
                         try {
-                            _requestBodyStream.write(buffer);
-
-                            // send this chunk
-                            _requestBodyStream.flush();
+                            writeBuffer(buffer);
                         } catch (IOException e) {
                             throw new RuntimeException(e);
                         }
@@ -316,19 +465,6 @@ public class BulkInsertOperation implements CleanCloseable {
         }
     }
 
-    private void writeId(Writer writer, String input) throws IOException {
-        for (int i = 0; i < input.length(); i++) {
-            char c = input.charAt(i);
-            if ('"' == c) {
-                if (i == 0 || input.charAt(i - 1) != '\\') {
-                    writer.write("\\");
-                }
-            }
-
-            writer.write(c);
-        }
-    }
-
     @SuppressWarnings("UnusedReturnValue")
     public String store(Object entity) {
         return store(entity, (IMetadataDictionary) null);
@@ -348,7 +484,7 @@ public class BulkInsertOperation implements CleanCloseable {
         return id;
     }
 
-    private static void verifyValidId(String id) {
+    static void verifyValidId(String id) {
         if (StringUtils.isEmpty(id)) {
             throw new IllegalStateException("Document id must have a non empty value");
         }
@@ -376,28 +512,54 @@ public class BulkInsertOperation implements CleanCloseable {
     }
 
     private OutputStream _requestBodyStream;
-    private ByteArrayOutputStream _currentWriterBacking;
-    private Writer _currentWriter;
-    private ByteArrayOutputStream _backgroundWriterBacking;
-    private Writer _backgroundWriter;
+    private ChunkedBuffer _currentBuffer;
+    private ChunkedBuffer _backgroundBuffer;
+    private final JsonGenerator _generator;
     private CompletableFuture<Void> _asyncWrite = CompletableFuture.completedFuture(null);
-    @SuppressWarnings("FieldCanBeLocal")
-    private final int _maxSizeInBuffer = 1024 * 1024;
+    private int _maxSizeInBuffer;
+
+    private void waitForAsyncWrite() throws ExecutionException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            _asyncWrite.get();
+        } finally {
+            _writeWaitTimeInNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private void writeBuffer(ChunkedBuffer buffer) throws IOException {
+        try {
+            buffer.writeTo(_requestBodyStream);
+
+            // send this chunk
+            _requestBodyStream.flush();
+
+            _bytesSent.addAndGet(buffer.size());
+            _numberOfFlushes.incrementAndGet();
+        } finally {
+            buffer.release();
+        }
+    }
 
     private void ensureStream() {
         try {
+            BlockingQueue<byte[]> pool = new ArrayBlockingQueue<>(bufferDepth);
+            _currentBuffer = new ChunkedBuffer(pool, bufferSize);
+            _backgroundBuffer = new ChunkedBuffer(pool, bufferSize);
+            _maxSizeInBuffer = bufferSize * bufferDepth / 2;
+
             BulkInsertCommand bulkCommand = new BulkInsertCommand(_operationId, _streamExposerContent, useCompression);
 
             _bulkInsertExecuteTask = CompletableFuture.supplyAsync(() -> {
                 _requestExecutor.execute(bulkCommand);
                 return null;
-            }, _executorService);
+            }, _longRunningExecutorService);
 
             _stream = _streamExposerContent.outputStream.get();
 
             _requestBodyStream = _stream;
 
-            _currentWriter.write('[');
+            _generator.writeStartArray();
         } catch (Exception e) {
             throw new RavenException("Unable to open bulk insert stream ", e);
         }
@@ -433,14 +595,12 @@ public class BulkInsertOperation implements CleanCloseable {
 
         if (_stream != null) {
             try {
-                _currentWriter.write("]");
-                _currentWriter.flush();
+                _generator.writeEndArray();
+                _generator.flush();
 
-                _asyncWrite.get();
+                waitForAsyncWrite();
 
-                byte[] buffer = _currentWriterBacking.toByteArray();
-                _requestBodyStream.write(buffer);
-                _stream.flush();
+                writeBuffer(_currentBuffer);
             } catch (Exception e) {
                 flushEx = e;
             }
@@ -2,9 +2,24 @@ package net.ravendb.client.documents;
 
 import java.io.Closeable;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface CloseableIterator<T> extends Iterator<T>, Closeable {
 
     @Override
     void close();
+
+    /**
+     * Sequential stream over remaining elements. Elements are pulled from this iterator on demand, so consumer
+     * controls the pace (prefetching iterators never read further than their limits).
+     * Closing the stream closes this iterator, use it in try-with-resources when stream isn't fully consumed.
+     * @return stream of elements
+     */
+    default Stream<T> toStream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
 }
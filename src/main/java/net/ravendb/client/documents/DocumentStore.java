@@ -8,12 +8,15 @@ import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
 import net.ravendb.client.documents.operations.OperationExecutor;
 import net.ravendb.client.documents.session.DocumentSession;
 import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.SecondLevelDocumentCache;
 import net.ravendb.client.documents.session.SessionOptions;
 import net.ravendb.client.http.AggressiveCacheOptions;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.primitives.*;
+import net.ravendb.client.util.TcpEventLoop;
 import org.apache.commons.lang3.ObjectUtils;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,16 +29,26 @@ import java.util.concurrent.*;
  */
 public class DocumentStore extends DocumentStoreBase {
 
-    private ExecutorService executorService = Executors.newCachedThreadPool();
+    private DocumentStoreExecutors executors;
 
     private final ConcurrentMap<String, IDatabaseChanges> _databaseChanges = new ConcurrentSkipListMap<>(String::compareToIgnoreCase);
 
     private final ConcurrentMap<String, Lazy<EvictItemsFromCacheBasedOnChanges>> _aggressiveCacheChanges = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, Lazy<SecondLevelDocumentCache>> _secondLevelCaches = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
+
     private final ConcurrentMap<String, RequestExecutor> requestExecutors = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
 
     private MultiDatabaseHiLoIdGenerator _multiDbHiLo;
 
+    private final Lazy<TcpEventLoop> _tcpEventLoop = new Lazy<>(() -> {
+        try {
+            return new TcpEventLoop(getLongRunningExecutorService());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create TCP event loop", e);
+        }
+    });
+
     private MaintenanceOperationExecutor maintenanceOperationExecutor;
     private OperationExecutor operationExecutor;
 
@@ -56,8 +69,69 @@ public class DocumentStore extends DocumentStoreBase {
 
     }
 
+    /**
+     * @return Executor used for io work (requests, timers, bulk insert writes)
+     */
     public ExecutorService getExecutorService() {
-        return executorService;
+        return getExecutors().getIoExecutor();
+    }
+
+    /**
+     * @return Executor used for user callbacks (i.e. subscription batch processing)
+     */
+    public ExecutorService getCallbackExecutorService() {
+        return getExecutors().getCallbackExecutor();
+    }
+
+    /**
+     * @return Executor used for tasks which occupy thread for the whole connection lifetime
+     */
+    @Override
+    public ExecutorService getLongRunningExecutorService() {
+        return getExecutors().getLongRunningExecutor();
+    }
+
+    /**
+     * @return Event loop reading non blocking TCP connections (see TcpConnectionOptions.setNonBlocking), created on first use
+     */
+    public TcpEventLoop getTcpEventLoop() {
+        assertInitialized();
+        return _tcpEventLoop.getValue();
+    }
+
+    public DocumentStoreExecutors getExecutors() {
+        DocumentStoreExecutors currentExecutors = executors;
+        if (currentExecutors != null) {
+            return currentExecutors;
+        }
+
+        synchronized (this) {
+            if (executors == null) {
+                executors = DocumentStoreExecutors.cached();
+            }
+            return executors;
+        }
+    }
+
+    /**
+     * Sets thread pools used by this store. By default single unbounded cached thread pool is used.
+     * @param executors Executors to use, will be shut down when store is closed
+     */
+    public void setExecutors(DocumentStoreExecutors executors) {
+        if (initialized) {
+            throw new IllegalStateException("You cannot set 'executors' after the document store has been initialized.");
+        }
+
+        if (executors == null) {
+            throw new IllegalArgumentException("Executors cannot be null");
+        }
+
+        synchronized (this) {
+            if (this.executors != null) {
+                this.executors.close();
+            }
+            this.executors = executors;
+        }
     }
 
     /**
@@ -98,6 +172,14 @@ public class DocumentStore extends DocumentStoreBase {
             value.getValue().close();
         }
 
+        for (Lazy<SecondLevelDocumentCache> value : _secondLevelCaches.values()) {
+            if (!value.isValueCreated()) {
+                continue;
+            }
+
+            value.getValue().close();
+        }
+
         for (IDatabaseChanges changes : _databaseChanges.values()) {
             try (CleanCloseable value = changes) {
                 // try will close all values
@@ -116,6 +198,10 @@ public class DocumentStore extends DocumentStoreBase {
             subscriptions().close();
         }
 
+        if (_tcpEventLoop.isValueCreated()) {
+            _tcpEventLoop.getValue().close();
+        }
+
         disposed = true;
 
         EventHelper.invoke(new ArrayList<>(afterClose), this, EventArgs.EMPTY);
@@ -124,7 +210,7 @@ public class DocumentStore extends DocumentStoreBase {
             kvp.getValue().close();
         }
 
-        executorService.shutdown();
+        getExecutors().close();
     }
 
     /**
@@ -181,9 +267,9 @@ public class DocumentStore extends DocumentStoreBase {
         }
 
         if (!getConventions().isDisableTopologyUpdates()) {
-            executor = RequestExecutor.create(getUrls(), database, getCertificate(), getTrustStore(), executorService, getConventions());
+            executor = RequestExecutor.create(getUrls(), database, getCertificate(), getTrustStore(), getExecutorService(), getConventions());
         } else {
-            executor = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], database, getCertificate(), getTrustStore(), executorService, getConventions());
+            executor = RequestExecutor.createForSingleNodeWithConfigurationUpdates(getUrls()[0], database, getCertificate(), getTrustStore(), getExecutorService(), getConventions());
         }
 
         requestExecutors.put(database, executor);
@@ -270,7 +356,7 @@ public class DocumentStore extends DocumentStoreBase {
     }
 
     protected IDatabaseChanges createDatabaseChanges(String database) {
-        return new DatabaseChanges(getRequestExecutor(database), database, executorService, () -> _databaseChanges.remove(database));
+        return new DatabaseChanges(getRequestExecutor(database), database, getLongRunningExecutorService(), () -> _databaseChanges.remove(database));
     }
 
     public Exception getLastDatabaseChangesStateException() {
@@ -330,6 +416,25 @@ public class DocumentStore extends DocumentStoreBase {
         lazy.getValue(); // force evaluation
     }
 
+    @Override
+    public SecondLevelDocumentCache getSecondLevelCache(String database) {
+        int size = getConventions().getSecondLevelCacheSize();
+        if (size == 0) {
+            return null;
+        }
+
+        assertInitialized();
+
+        String databaseName = ObjectUtils.firstNonNull(database, getDatabase());
+        Lazy<SecondLevelDocumentCache> lazy = _secondLevelCaches.get(databaseName);
+
+        if (lazy == null) {
+            lazy = _secondLevelCaches.computeIfAbsent(databaseName, db -> new Lazy<>(() -> SecondLevelDocumentCache.create(this, databaseName, size)));
+        }
+
+        return lazy.getValue();
+    }
+
     private final List<EventHandler<VoidArgs>> afterClose = new ArrayList<>();
 
     private final List<EventHandler<VoidArgs>> beforeClose = new ArrayList<>();
@@ -383,4 +488,16 @@ public class DocumentStore extends DocumentStoreBase {
 
         return new BulkInsertOperation(ObjectUtils.firstNonNull(database, getDatabase()), this);
     }
+
+    @Override
+    public ParallelBulkInsertOperation parallelBulkInsert(int parallelism) {
+        return parallelBulkInsert(null, parallelism);
+    }
+
+    @Override
+    public ParallelBulkInsertOperation parallelBulkInsert(String database, int parallelism) {
+        assertInitialized();
+
+        return new ParallelBulkInsertOperation(ObjectUtils.firstNonNull(database, getDatabase()), this, parallelism);
+    }
 }
@@ -24,6 +24,7 @@ import java.security.KeyStore;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  *  Contains implementation of some IDocumentStore operations shared by DocumentStore implementations
@@ -72,6 +73,18 @@ public abstract class DocumentStoreBase implements IDocumentStore {
     @Override
     public abstract CleanCloseable disableAggressiveCaching(String database);
 
+    /**
+     * Store level document cache of given database, shared by all sessions.
+     * @param database Database name
+     * @return cache or null when it is disabled (see DocumentConventions.setSecondLevelCacheSize)
+     */
+    public abstract SecondLevelDocumentCache getSecondLevelCache(String database);
+
+    /**
+     * @return Executor used for tasks which occupy thread for a long time (connections, stream readers)
+     */
+    public abstract ExecutorService getLongRunningExecutorService();
+
     public abstract String getIdentifier();
 
     public abstract void setIdentifier(String identifier);
@@ -164,6 +177,10 @@ public abstract class DocumentStoreBase implements IDocumentStore {
 
     public abstract BulkInsertOperation bulkInsert(String database);
 
+    public abstract ParallelBulkInsertOperation parallelBulkInsert(int parallelism);
+
+    public abstract ParallelBulkInsertOperation parallelBulkInsert(String database, int parallelism);
+
     private final DocumentSubscriptions _subscriptions;
 
     public DocumentSubscriptions subscriptions() {
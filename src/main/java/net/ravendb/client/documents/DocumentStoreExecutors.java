@@ -0,0 +1,273 @@
+package net.ravendb.client.documents;
+
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread pools used by DocumentStore. Work is split into three kinds:
+ * <ul>
+ *     <li>io - short network tasks: topology and configuration updates, timers, async request processing, bulk insert buffer writes</li>
+ *     <li>callbacks - user code: subscription batch handlers</li>
+ *     <li>long running - tasks which occupy thread for the whole connection lifetime: changes connections, subscription
+ *     connections, bulk insert request streams. Those never go to bounded pool, otherwise they could starve it.</li>
+ * </ul>
+ */
+public class DocumentStoreExecutors implements CleanCloseable {
+
+    private final ExecutorService _io;
+    private final ExecutorService _callbacks;
+    private final ExecutorService _longRunning;
+
+    private DocumentStoreExecutors(ExecutorService io, ExecutorService callbacks, ExecutorService longRunning) {
+        _io = io;
+        _callbacks = callbacks;
+        _longRunning = longRunning;
+    }
+
+    /**
+     * Single unbounded cached thread pool used for all the work (default).
+     * @return executors
+     */
+    public static DocumentStoreExecutors cached() {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        return new DocumentStoreExecutors(executorService, executorService, executorService);
+    }
+
+    /**
+     * Bounded pools with back-pressure: when pool queue is full, task is executed by submitting thread.
+     * @param ioThreads Maximum number of threads used for io work
+     * @param callbackThreads Maximum number of threads used for user callbacks
+     * @param queueCapacity Maximum number of tasks waiting in each pool queue
+     * @return executors
+     */
+    public static DocumentStoreExecutors bounded(int ioThreads, int callbackThreads, int queueCapacity) {
+        if (ioThreads < 1 || callbackThreads < 1) {
+            throw new IllegalArgumentException("Number of threads must be greater than 0");
+        }
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+
+        return new DocumentStoreExecutors(
+                createBoundedPool("RavenDB-IO", ioThreads, queueCapacity),
+                createBoundedPool("RavenDB-Callbacks", callbackThreads, queueCapacity),
+                Executors.newCachedThreadPool(new NamedThreadFactory("RavenDB-LongRunning")));
+    }
+
+    /**
+     * Virtual thread per task executor, used for all the work.
+     * Requires JDK with virtual threads support, see isVirtualThreadsSupported.
+     * @return executors
+     */
+    public static DocumentStoreExecutors virtualThreads() {
+        ExecutorService executorService = new CountingExecutorService(createVirtualThreadPerTaskExecutor());
+        return new DocumentStoreExecutors(executorService, executorService, executorService);
+    }
+
+    /**
+     * Uses provided executors. All of them will be shut down when store is closed.
+     * @param io Executor for io work
+     * @param callbacks Executor for user callbacks
+     * @param longRunning Executor for long running tasks, it must not limit number of concurrently running tasks
+     * @return executors
+     */
+    public static DocumentStoreExecutors custom(ExecutorService io, ExecutorService callbacks, ExecutorService longRunning) {
+        if (io == null || callbacks == null || longRunning == null) {
+            throw new IllegalArgumentException("Executors cannot be null");
+        }
+
+        return new DocumentStoreExecutors(io, callbacks, longRunning);
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public ExecutorService getIoExecutor() {
+        return _io;
+    }
+
+    public ExecutorService getCallbackExecutor() {
+        return _callbacks;
+    }
+
+    public ExecutorService getLongRunningExecutor() {
+        return _longRunning;
+    }
+
+    public ExecutorStatistics getIoStatistics() {
+        return ExecutorStatistics.of(_io);
+    }
+
+    public ExecutorStatistics getCallbackStatistics() {
+        return ExecutorStatistics.of(_callbacks);
+    }
+
+    public ExecutorStatistics getLongRunningStatistics() {
+        return ExecutorStatistics.of(_longRunning);
+    }
+
+    @Override
+    public void close() {
+        _io.shutdown();
+        _callbacks.shutdown();
+        _longRunning.shutdown();
+    }
+
+    private static ExecutorService createBoundedPool(String name, int threads, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name), new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService createVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM: " + System.getProperty("java.version"));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create virtual thread executor: " + e.getMessage(), e);
+        }
+    }
+
+    public static class ExecutorStatistics {
+        private final int activeThreads;
+        private final int poolSize;
+        private final int queueDepth;
+        private final long completedTasks;
+
+        public ExecutorStatistics(int activeThreads, int poolSize, int queueDepth, long completedTasks) {
+            this.activeThreads = activeThreads;
+            this.poolSize = poolSize;
+            this.queueDepth = queueDepth;
+            this.completedTasks = completedTasks;
+        }
+
+        static ExecutorStatistics of(ExecutorService executorService) {
+            if (executorService instanceof ThreadPoolExecutor) {
+                ThreadPoolExecutor executor = (ThreadPoolExecutor) executorService;
+                return new ExecutorStatistics(executor.getActiveCount(), executor.getPoolSize(), executor.getQueue().size(), executor.getCompletedTaskCount());
+            }
+
+            if (executorService instanceof CountingExecutorService) {
+                CountingExecutorService executor = (CountingExecutorService) executorService;
+                int active = executor.activeTasks.get();
+                return new ExecutorStatistics(active, active, 0, executor.completedTasks.get());
+            }
+
+            return new ExecutorStatistics(-1, -1, -1, -1);
+        }
+
+        /**
+         * @return Number of threads executing tasks, -1 if unknown
+         */
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        /**
+         * @return Number of threads in pool, -1 if unknown
+         */
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        /**
+         * @return Number of tasks waiting for a thread, -1 if unknown
+         */
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        /**
+         * @return Number of completed tasks, -1 if unknown
+         */
+        public long getCompletedTasks() {
+            return completedTasks;
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String _name;
+        private final AtomicInteger _counter = new AtomicInteger();
+
+        public NamedThreadFactory(String name) {
+            _name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, _name + "-" + _counter.incrementAndGet());
+            return thread;
+        }
+    }
+
+    /**
+     * Virtual thread executor doesn't expose statistics, so we count tasks on our own.
+     */
+    private static class CountingExecutorService extends AbstractExecutorService {
+        private final ExecutorService _inner;
+        private final AtomicInteger activeTasks = new AtomicInteger();
+        private final AtomicLong completedTasks = new AtomicLong();
+
+        public CountingExecutorService(ExecutorService inner) {
+            _inner = inner;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            activeTasks.incrementAndGet();
+            try {
+                _inner.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        activeTasks.decrementAndGet();
+                        completedTasks.incrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                activeTasks.decrementAndGet();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            _inner.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return _inner.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return _inner.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return _inner.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return _inner.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -197,6 +197,21 @@ public interface IDocumentStore extends IDisposalNotification {
 
     BulkInsertOperation bulkInsert(String database);
 
+    /**
+     * Opens bulk insert which accepts store calls from many threads and sends documents over multiple streams
+     * @param parallelism Number of concurrent bulk insert streams
+     * @return parallel bulk insert operation
+     */
+    ParallelBulkInsertOperation parallelBulkInsert(int parallelism);
+
+    /**
+     * Opens bulk insert which accepts store calls from many threads and sends documents over multiple streams
+     * @param database Database name
+     * @param parallelism Number of concurrent bulk insert streams
+     * @return parallel bulk insert operation
+     */
+    ParallelBulkInsertOperation parallelBulkInsert(String database, int parallelism);
+
     DocumentSubscriptions subscriptions();
 
     String getDatabase();
@@ -0,0 +1,381 @@
+package net.ravendb.client.documents;
+
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
+import net.ravendb.client.documents.session.IMetadataDictionary;
+import net.ravendb.client.exceptions.documents.bulkinsert.BulkInsertAbortedException;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.ExceptionsUtils;
+import net.ravendb.client.primitives.Reference;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bulk insert which accepts store calls from many threads.
+ * Documents are distributed over a number of independent bulk insert operations (each one with its own
+ * /bulk_insert stream), each operation is fed by a dedicated worker which performs entity serialization.
+ */
+public class ParallelBulkInsertOperation implements CleanCloseable {
+
+    private static final PendingDocument CLOSE_MARKER = new PendingDocument(null, null, null);
+
+    private static class PendingDocument {
+        public final Object entity;
+        public final String id;
+        public final IMetadataDictionary metadata;
+
+        public PendingDocument(Object entity, String id, IMetadataDictionary metadata) {
+            this.entity = entity;
+            this.id = id;
+            this.metadata = metadata;
+        }
+    }
+
+    private static class Lane {
+        public final BulkInsertOperation operation;
+        public final BlockingQueue<PendingDocument> queue;
+        public CompletableFuture<Void> worker;
+
+        public Lane(BulkInsertOperation operation, int queueCapacity) {
+            this.operation = operation;
+            this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final ExecutorService _executorService;
+    private final GenerateEntityIdOnTheClient _generateEntityIdOnTheClient;
+    private final List<Lane> _lanes;
+    private final AtomicLong _nextLane = new AtomicLong();
+    private final AtomicReference<Exception> _error = new AtomicReference<>();
+
+    private volatile boolean _started;
+    private volatile boolean _closed;
+    private volatile boolean _aborted;
+    private boolean _workersStopped;
+
+    // producers enqueue under read lock, workers are stopped under write lock, so no document is queued after close marker
+    private final ReentrantReadWriteLock _stopLock = new ReentrantReadWriteLock();
+
+    private boolean useCompression = false;
+
+    public ParallelBulkInsertOperation(String database, DocumentStore store, int parallelism) {
+        this(database, store, parallelism, 1024);
+    }
+
+    /**
+     * @param database Database name
+     * @param store Document store
+     * @param parallelism Number of concurrent bulk insert streams (and serialization workers)
+     * @param queueCapacity Maximum number of pending documents per stream, store calls block when queue is full
+     */
+    public ParallelBulkInsertOperation(String database, DocumentStore store, int parallelism, int queueCapacity) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0");
+        }
+
+        _executorService = store.getLongRunningExecutorService();
+
+        RequestExecutor requestExecutor = store.getRequestExecutor(database);
+        _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(requestExecutor.getConventions(),
+                entity -> requestExecutor.getConventions().generateDocumentId(database, entity));
+
+        _lanes = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            _lanes.add(new Lane(new BulkInsertOperation(database, store), queueCapacity));
+        }
+    }
+
+    public boolean isUseCompression() {
+        return useCompression;
+    }
+
+    public void setUseCompression(boolean useCompression) {
+        if (_started) {
+            throw new IllegalStateException("Compression must be configured before first store call.");
+        }
+        this.useCompression = useCompression;
+    }
+
+    public int getParallelism() {
+        return _lanes.size();
+    }
+
+    /**
+     * @return Number of bytes written to all bulk insert request streams
+     */
+    public long getBytesSent() {
+        return _lanes.stream().mapToLong(x -> x.operation.getBytesSent()).sum();
+    }
+
+    /**
+     * @return Number of flushes to all bulk insert request streams
+     */
+    public long getNumberOfFlushes() {
+        return _lanes.stream().mapToLong(x -> x.operation.getNumberOfFlushes()).sum();
+    }
+
+    /**
+     * @return Total time workers spent waiting for background writes to complete
+     */
+    public Duration getWriteWaitTime() {
+        return _lanes.stream().map(x -> x.operation.getWriteWaitTime()).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public String store(Object entity) {
+        return store(entity, (IMetadataDictionary) null);
+    }
+
+    public String store(Object entity, IMetadataDictionary metadata) {
+        String id;
+        if (metadata == null || !metadata.containsKey(Constants.Documents.Metadata.ID)) {
+            id = getId(entity);
+        } else {
+            id = (String) metadata.get(Constants.Documents.Metadata.ID);
+        }
+
+        store(entity, id, metadata);
+
+        return id;
+    }
+
+    public void store(Object entity, String id) {
+        store(entity, id, null);
+    }
+
+    public void store(Object entity, String id, IMetadataDictionary metadata) {
+        if (_closed) {
+            throw new IllegalStateException("Bulk insert was already closed.");
+        }
+
+        BulkInsertOperation.verifyValidId(id);
+
+        throwIfFailed();
+
+        PendingDocument document = new PendingDocument(entity, id, metadata);
+
+        _stopLock.readLock().lock();
+        try {
+            if (_workersStopped) {
+                throw new IllegalStateException("Bulk insert was already closed.");
+            }
+
+            ensureStarted();
+
+            Lane lane = _lanes.get((int) (_nextLane.getAndIncrement() % _lanes.size()));
+
+            // waiting producer rechecks state, so it isn't blocked forever by worker which stopped
+            while (!lane.queue.offer(document, 100, TimeUnit.MILLISECONDS)) {
+                throwIfFailed();
+
+                if (lane.worker.isDone()) {
+                    throw new BulkInsertAbortedException("Bulk insert worker was stopped.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkInsertAbortedException("Interrupted while waiting to store document with id " + id, e);
+        } finally {
+            _stopLock.readLock().unlock();
+        }
+
+        // worker could fail while we were waiting for free slot in the queue
+        throwIfFailed();
+    }
+
+    private void ensureStarted() {
+        if (_started) {
+            return;
+        }
+
+        synchronized (this) {
+            if (_started) {
+                return;
+            }
+
+            for (Lane lane : _lanes) {
+                lane.operation.setUseCompression(useCompression);
+                lane.worker = CompletableFuture.runAsync(() -> processLane(lane), _executorService);
+            }
+
+            _started = true;
+        }
+    }
+
+    private void processLane(Lane lane) {
+        while (true) {
+            PendingDocument document;
+            try {
+                document = lane.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                _error.compareAndSet(null, e);
+                return;
+            }
+
+            if (document == CLOSE_MARKER) {
+                return;
+            }
+
+            if (_error.get() != null || _aborted) {
+                // keep draining queue, so producers waiting on a full queue are released
+                continue;
+            }
+
+            try {
+                lane.operation.store(document.entity, document.id, document.metadata);
+            } catch (Exception e) {
+                _error.compareAndSet(null, e);
+            }
+        }
+    }
+
+    private void throwIfFailed() {
+        Exception error = _error.get();
+        if (error != null) {
+            throw new BulkInsertAbortedException("Failed to execute parallel bulk insert", error);
+        }
+
+        if (_aborted) {
+            throw new BulkInsertAbortedException("Bulk insert was aborted.");
+        }
+    }
+
+    /**
+     * Signals workers to stop and waits until they finish, so lane operations are no longer used by them.
+     * Pending documents are stored, unless bulk insert was aborted.
+     * @return Errors of workers
+     */
+    private List<Exception> stopWorkers() {
+        List<Exception> errors = new ArrayList<>();
+
+        // waits for producers which are enqueuing documents
+        _stopLock.writeLock().lock();
+        try {
+            if (_workersStopped) {
+                return errors;
+            }
+
+            _workersStopped = true;
+
+            if (!_started) {
+                return errors;
+            }
+        } finally {
+            _stopLock.writeLock().unlock();
+        }
+
+        for (Lane lane : _lanes) {
+            try {
+                while (!lane.queue.offer(CLOSE_MARKER, 100, TimeUnit.MILLISECONDS)) {
+                    if (lane.worker.isDone()) {
+                        break;
+                    }
+
+                    if (_aborted) {
+                        lane.queue.clear();
+                    }
+                }
+
+                lane.worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors.add(e);
+            } catch (Exception e) {
+                errors.add(ExceptionsUtils.unwrapException(e));
+            }
+        }
+
+        return errors;
+    }
+
+    public void abort() {
+        _aborted = true;
+
+        for (Lane lane : _lanes) {
+            lane.queue.clear();
+        }
+
+        stopWorkers();
+
+        BulkInsertAbortedException abortException = null;
+
+        for (Lane lane : _lanes) {
+            try {
+                lane.operation.abort();
+            } catch (BulkInsertAbortedException e) {
+                if (abortException == null) {
+                    abortException = e;
+                } else {
+                    abortException.addSuppressed(e);
+                }
+            }
+        }
+
+        if (abortException != null) {
+            throw abortException;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+
+        _closed = true;
+
+        List<Exception> errors = stopWorkers();
+
+        for (Lane lane : _lanes) {
+            try {
+                lane.operation.close();
+            } catch (Exception e) {
+                errors.add(e);
+            }
+        }
+
+        Exception storeError = _error.get();
+        if (storeError != null) {
+            errors.add(0, storeError);
+        }
+
+        if (errors.isEmpty() || _aborted) {
+            return;
+        }
+
+        BulkInsertAbortedException exception = new BulkInsertAbortedException("Failed to execute parallel bulk insert", errors.get(0));
+        for (int i = 1; i < errors.size(); i++) {
+            exception.addSuppressed(errors.get(i));
+        }
+
+        throw exception;
+    }
+
+    private String getId(Object entity) {
+        Reference<String> idRef = new Reference<>();
+        if (_generateEntityIdOnTheClient.tryGetIdFromInstance(entity, idRef)) {
+            return idRef.value;
+        }
+
+        idRef.value = _generateEntityIdOnTheClient.generateDocumentKeyForStorage(entity);
+
+        _generateEntityIdOnTheClient.trySetIdentity(entity, idRef.value); // set id property if it was null
+        return idRef.value;
+    }
+}
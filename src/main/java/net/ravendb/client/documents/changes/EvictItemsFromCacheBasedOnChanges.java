@@ -1,8 +1,10 @@
 package net.ravendb.client.documents.changes;
 
 import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.http.HttpCache;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.commons.lang3.StringUtils;
 
 public class EvictItemsFromCacheBasedOnChanges implements CleanCloseable, IObserver<DatabaseChange> {
 
@@ -26,19 +28,51 @@ public class EvictItemsFromCacheBasedOnChanges implements CleanCloseable, IObser
 
     @Override
     public void onNext(DatabaseChange value) {
+        HttpCache cache = _requestExecutor.getCache();
+
         if (value instanceof DocumentChange) {
             DocumentChange documentChange = (DocumentChange) value;
             if (documentChange.getType() == DocumentChangeTypes.PUT || documentChange.getType() == DocumentChangeTypes.DELETE) {
-                _requestExecutor.getCache().generation.incrementAndGet();
+                if (documentChange.getId() == null || documentChange.getCollectionName() == null) {
+                    cache.generation.incrementAndGet();
+                    return;
+                }
+
+                cache.invalidate(HttpCache.documentDependency(documentChange.getId()));
+                cache.invalidate(HttpCache.collectionDependency(documentChange.getCollectionName()));
             }
         } else if (value instanceof IndexChange) {
             IndexChange indexChange = (IndexChange) value;
             if (indexChange.getType() == IndexChangeTypes.BATCH_COMPLETED || indexChange.getType() == IndexChangeTypes.INDEX_REMOVED) {
-                _requestExecutor.getCache().generation.incrementAndGet();
+                if (indexChange.getName() == null) {
+                    cache.generation.incrementAndGet();
+                    return;
+                }
+
+                cache.invalidate(HttpCache.indexDependency(indexChange.getName()));
+
+                // dynamic queries are cached by collection, they can become non stale after auto index batch
+                String collection = getAutoIndexCollection(indexChange.getName());
+                if (collection != null) {
+                    cache.invalidate(HttpCache.collectionDependency(collection));
+                }
             }
         }
     }
 
+    /**
+     * @param indexName Index name
+     * @return Collection of auto index (named Auto/Collection/By...), or null
+     */
+    private static String getAutoIndexCollection(String indexName) {
+        if (!StringUtils.startsWithIgnoreCase(indexName, "Auto/")) {
+            return null;
+        }
+
+        int end = indexName.indexOf('/', "Auto/".length());
+        return end > "Auto/".length() ? indexName.substring("Auto/".length(), end) : null;
+    }
+
     @Override
     public void onError(Exception error) {
     }
@@ -7,6 +7,7 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class GetConflictsCommand extends RavenCommand<GetConflictsResult> {
 
@@ -38,4 +39,13 @@ public class GetConflictsCommand extends RavenCommand<GetConflictsResult> {
         result = mapper.readValue(response, resultClass);
     }
 
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            throwInvalidResponse();
+        }
+
+        result = mapper.readValue(response, resultClass);
+    }
+
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.ravendb.client.documents.queries.HashCalculator;
 import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.HttpCache;
 import net.ravendb.client.http.RavenCommand;
 import net.ravendb.client.http.ServerNode;
 import net.ravendb.client.json.ContentProviderHttpEntity;
@@ -15,6 +16,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -76,6 +78,35 @@ public class GetDocumentsCommand extends RavenCommand<GetDocumentsResult> {
         _metadataOnly = metadataOnly;
     }
 
+    @Override
+    public String[] getCacheDependencies() {
+        if (cacheDependencies != null) {
+            return cacheDependencies;
+        }
+
+        // included documents aren't known upfront
+        if (_includes != null && _includes.length > 0) {
+            return null;
+        }
+
+        if (_id != null) {
+            return new String[] { HttpCache.documentDependency(_id) };
+        }
+
+        if (_ids != null) {
+            String[] dependencies = new String[_ids.length];
+            for (int i = 0; i < _ids.length; i++) {
+                if (_ids[i] == null) {
+                    return null;
+                }
+                dependencies[i] = HttpCache.documentDependency(_ids[i]);
+            }
+            return dependencies;
+        }
+
+        return null;
+    }
+
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         StringBuilder pathBuilder = new StringBuilder(node.getUrl());
@@ -210,6 +241,16 @@ public class GetDocumentsCommand extends RavenCommand<GetDocumentsResult> {
         result = mapper.readValue(response, resultClass);
     }
 
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            result = null;
+            return;
+        }
+
+        result = mapper.readValue(response, resultClass);
+    }
+
     @Override
     public boolean isReadRequest() {
         return true;
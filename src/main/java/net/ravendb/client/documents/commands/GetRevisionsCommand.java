@@ -9,6 +9,7 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 public class GetRevisionsCommand extends RavenCommand<JsonArrayResult> {
 
@@ -103,6 +104,16 @@ public class GetRevisionsCommand extends RavenCommand<JsonArrayResult> {
         result = mapper.readValue(response, JsonArrayResult.class);
     }
 
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            result = null;
+            return;
+        }
+
+        result = mapper.readValue(response, JsonArrayResult.class);
+    }
+
     @Override
     public boolean isReadRequest() {
         return true;
@@ -14,6 +14,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.entity.ContentType;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 @SuppressWarnings("ALL")
 public class QueryCommand extends RavenCommand<QueryResult> {
@@ -86,6 +87,19 @@ public class QueryCommand extends RavenCommand<QueryResult> {
         }
     }
 
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            result = null;
+            return;
+        }
+
+        result = mapper.readValue(response, QueryResult.class);
+        if (fromCache) {
+            result.setDurationInMs(-1);
+        }
+    }
+
     @SuppressWarnings("SameReturnValue")
     @Override
     public boolean isReadRequest() {
@@ -137,6 +137,15 @@ public class BatchCommand extends RavenCommand<JsonArrayResult> implements Clean
         result = mapper.readValue(response, JsonArrayResult.class);
     }
 
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            throw new IllegalStateException("Got null response from the server after doing a batch, something is very wrong. Probably a garbled response.");
+        }
+
+        result = mapper.readValue(response, JsonArrayResult.class);
+    }
+
     private void appendOptions(StringBuilder sb) {
         if (_options == null) {
             return;
@@ -34,6 +34,7 @@ public class MultiGetCommand extends RavenCommand<List<GetResponse>> {
     private final List<GetRequest> _commands;
 
     private String _baseUrl;
+    private HttpCache.Position _cachePosition;
 
     @SuppressWarnings("unchecked")
     public MultiGetCommand(HttpCache cache, List<GetRequest> commands) {
@@ -46,6 +47,8 @@ public class MultiGetCommand extends RavenCommand<List<GetResponse>> {
     @Override
     public HttpRequestBase createRequest(ServerNode node, Reference<String> url) {
         _baseUrl = node.getUrl() + "/databases/" + node.getDatabase();
+        // responses are cached as of the state before request was sent
+        _cachePosition = _cache.getPosition();
 
         HttpPost request = new HttpPost();
         ObjectMapper mapper = JsonExtensions.getDefaultMapper();
@@ -62,7 +65,7 @@ public class MultiGetCommand extends RavenCommand<List<GetResponse>> {
                     String cacheKey = getCacheKey(command, new Reference<>());
 
                     Reference<String> cachedChangeVector = new Reference<>();
-                    try (CleanCloseable item = _cache.get(cacheKey, cachedChangeVector, new Reference<>())) {
+                    try (CleanCloseable item = _cache.get(cacheKey, cachedChangeVector)) {
                         Map<String, String> headers = new HashMap<>();
                         if (cachedChangeVector.value != null) {
                             headers.put("If-None-Match", "\"" + cachedChangeVector.value + "\"");
@@ -272,7 +275,7 @@ public class MultiGetCommand extends RavenCommand<List<GetResponse>> {
             return;
         }
 
-        _cache.set(cacheKey, changeVector, result);
+        _cache.set(cacheKey, changeVector, result, null, _cachePosition);
     }
 
     @Override
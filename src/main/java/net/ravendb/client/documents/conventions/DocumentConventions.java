@@ -2,16 +2,20 @@ package net.ravendb.client.documents.conventions;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.operations.configuration.ClientConfiguration;
+import net.ravendb.client.documents.session.ChangeTrackingMode;
 import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.HttpCacheMode;
 import net.ravendb.client.http.ReadBalanceBehavior;
 import net.ravendb.client.primitives.Reference;
 import net.ravendb.client.primitives.Tuple;
 import net.ravendb.client.util.Inflector;
 import net.ravendb.client.util.ReflectionUtil;
+import net.ravendb.client.util.TcpConnectionOptions;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.beans.IntrospectionException;
@@ -20,6 +24,7 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -31,7 +36,7 @@ public class DocumentConventions {
         defaultConventions.freeze();
     }
 
-    private static final Map<Class, String> _cachedDefaultTypeCollectionNames = new HashMap<>();
+    private static final Map<Class, String> _cachedDefaultTypeCollectionNames = new ConcurrentHashMap<>();
 
     private final List<Tuple<Class, IValueForQueryConverter<Object>>> _listOfQueryValueToObjectConverters = new ArrayList<>();
 
@@ -39,7 +44,9 @@ public class DocumentConventions {
 
     private boolean _frozen;
     private ClientConfiguration _originalConfiguration;
-    private final Map<Class, Field> _idPropertyCache = new HashMap<>();
+    private final Map<Class, Field> _idPropertyCache = new ConcurrentHashMap<>();
+    private final Map<String, Optional<Class<?>>> _javaClassCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> _entityReaderCache = new ConcurrentHashMap<>();
     private boolean _saveEnumsAsIntegers;
     private String _identityPartsSeparator;
     private boolean _disableTopologyUpdates;
@@ -55,12 +62,33 @@ public class DocumentConventions {
     private Function<Class, String> _findJavaClassName;
     private BiFunction<String, ObjectNode, String> _findJavaClass;
 
+    private static final BiFunction<String, ObjectNode, String> FIND_JAVA_CLASS_FROM_METADATA = (String id, ObjectNode doc) -> {
+        JsonNode metadata = doc.get(Constants.Documents.Metadata.KEY);
+        if (metadata != null) {
+            TextNode javaType = (TextNode) metadata.get(Constants.Documents.Metadata.RAVEN_JAVA_TYPE);
+            if (javaType != null) {
+                return javaType.asText();
+            }
+        }
+
+        return null;
+    };
+
     private boolean _useOptimisticConcurrency;
     private boolean _throwIfQueryPageSizeIsNotSet;
     private int _maxNumberOfRequestsPerSession;
 
     private ReadBalanceBehavior _readBalanceBehavior;
     private int _maxHttpCacheSize;
+    private HttpCacheMode _httpCacheMode;
+    private boolean _compressHttpCache;
+    private boolean _coalesceConcurrentReads;
+    private ChangeTrackingMode _changeTrackingMode;
+    private int _secondLevelCacheSize;
+    private int _streamPrefetchDocuments;
+    private long _streamPrefetchBytes;
+    private int _maxStreamReconnectAttempts;
+    private TcpConnectionOptions _tcpConnectionOptions;
     private ObjectMapper _entityMapper;
     private Boolean _useCompression;
 
@@ -69,17 +97,7 @@ public class DocumentConventions {
         _findIdentityProperty = q -> q.getName().equals("id");
         _identityPartsSeparator = "/";
         _findIdentityPropertyNameFromCollectionName = entityName -> "Id";
-        _findJavaClass = (String id, ObjectNode doc) -> {
-            JsonNode metadata = doc.get(Constants.Documents.Metadata.KEY);
-            if (metadata != null) {
-                TextNode javaType = (TextNode) metadata.get(Constants.Documents.Metadata.RAVEN_JAVA_TYPE);
-                if (javaType != null) {
-                    return javaType.asText();
-                }
-            }
-
-            return null;
-        };
+        _findJavaClass = FIND_JAVA_CLASS_FROM_METADATA;
         _findJavaClassName = type -> ReflectionUtil.getFullNameWithoutVersionInformation(type);
         _transformClassCollectionNameToDocumentIdPrefix = collectionName -> defaultTransformCollectionNameToDocumentIdPrefix(collectionName);
 
@@ -87,6 +105,10 @@ public class DocumentConventions {
 
         _maxNumberOfRequestsPerSession = 30;
         _maxHttpCacheSize = 128 * 1024 * 1024;
+        _httpCacheMode = HttpCacheMode.STRING;
+        _changeTrackingMode = ChangeTrackingMode.FULL;
+        _maxStreamReconnectAttempts = 5;
+        _tcpConnectionOptions = new TcpConnectionOptions();
 
         _entityMapper = JsonExtensions.getDefaultEntityMapper();
     }
@@ -107,14 +129,40 @@ public class DocumentConventions {
         _useCompression = useCompression;
     }
 
+    /**
+     * Entity mapper has to be configured (modules, features) before conventions are frozen by documentStore.initialize(),
+     * later changes are not visible to cached entity readers (see getEntityReader).
+     * @return entity mapper
+     */
     public ObjectMapper getEntityMapper() {
         return _entityMapper;
     }
 
     public void setEntityMapper(ObjectMapper entityMapper) {
+        assertNotFrozen();
         _entityMapper = entityMapper;
     }
 
+    /**
+     * Gets reader for given class created from entity mapper. Once conventions are frozen readers are cached,
+     * so deserializer lookup is done only once per class. Reader captures mapper configuration at creation time.
+     * @param clazz Class of entity
+     * @return object reader
+     */
+    public ObjectReader getEntityReader(Class<?> clazz) {
+        if (!_frozen) {
+            // mapper can still be configured
+            return _entityMapper.readerFor(clazz);
+        }
+
+        ObjectReader reader = _entityReaderCache.get(clazz);
+        if (reader != null) {
+            return reader;
+        }
+
+        return _entityReaderCache.computeIfAbsent(clazz, c -> _entityMapper.readerFor(c));
+    }
+
     public ReadBalanceBehavior getReadBalanceBehavior() {
         return _readBalanceBehavior;
     }
@@ -133,6 +181,188 @@ public class DocumentConventions {
         this._maxHttpCacheSize = maxHttpCacheSize;
     }
 
+    /**
+     * Storage used by http cache. Byte based modes keep raw UTF-8 responses with accurate size accounting
+     * and LRU eviction, instead of soft-referenced Strings.
+     * @return http cache mode
+     */
+    public HttpCacheMode getHttpCacheMode() {
+        return _httpCacheMode;
+    }
+
+    /**
+     * Storage used by http cache. Byte based modes keep raw UTF-8 responses with accurate size accounting
+     * and LRU eviction, instead of soft-referenced Strings.
+     * @param httpCacheMode value to set
+     */
+    public void setHttpCacheMode(HttpCacheMode httpCacheMode) {
+        assertNotFrozen();
+        _httpCacheMode = httpCacheMode;
+    }
+
+    /**
+     * Whether cached payloads should be deflate-compressed. Applies only to byte based http cache modes.
+     * @return true if cached payloads are compressed
+     */
+    public boolean isCompressHttpCache() {
+        return _compressHttpCache;
+    }
+
+    /**
+     * Whether cached payloads should be deflate-compressed. Applies only to byte based http cache modes.
+     * @param compressHttpCache value to set
+     */
+    public void setCompressHttpCache(boolean compressHttpCache) {
+        assertNotFrozen();
+        _compressHttpCache = compressHttpCache;
+    }
+
+    /**
+     * Whether concurrent cacheable read requests for the same url should share single http request.
+     * Waiting requests are served from http cache once the first request completes.
+     * @return true if concurrent reads are coalesced
+     */
+    public boolean isCoalesceConcurrentReads() {
+        return _coalesceConcurrentReads;
+    }
+
+    /**
+     * Whether concurrent cacheable read requests for the same url should share single http request.
+     * Waiting requests are served from http cache once the first request completes.
+     * @param coalesceConcurrentReads value to set
+     */
+    public void setCoalesceConcurrentReads(boolean coalesceConcurrentReads) {
+        assertNotFrozen();
+        _coalesceConcurrentReads = coalesceConcurrentReads;
+    }
+
+    /**
+     * How sessions detect modified entities on saveChanges, hasChanges and whatChanged.
+     * @return change tracking mode
+     */
+    public ChangeTrackingMode getChangeTrackingMode() {
+        return _changeTrackingMode;
+    }
+
+    /**
+     * How sessions detect modified entities on saveChanges, hasChanges and whatChanged.
+     * @param changeTrackingMode value to set
+     */
+    public void setChangeTrackingMode(ChangeTrackingMode changeTrackingMode) {
+        assertNotFrozen();
+        _changeTrackingMode = changeTrackingMode;
+    }
+
+    /**
+     * Maximum number of documents kept in store level cache shared by sessions (see SecondLevelDocumentCache).
+     * Cache is kept up to date using changes API. 0 disables the cache (default).
+     * @return max number of cached documents
+     */
+    public int getSecondLevelCacheSize() {
+        return _secondLevelCacheSize;
+    }
+
+    /**
+     * Maximum number of documents kept in store level cache shared by sessions (see SecondLevelDocumentCache).
+     * Cache is kept up to date using changes API. 0 disables the cache (default).
+     * @param secondLevelCacheSize value to set
+     */
+    public void setSecondLevelCacheSize(int secondLevelCacheSize) {
+        assertNotFrozen();
+        if (secondLevelCacheSize < 0) {
+            throw new IllegalArgumentException("Second level cache size cannot be negative");
+        }
+        _secondLevelCacheSize = secondLevelCacheSize;
+    }
+
+    /**
+     * Maximum number of documents parsed ahead by background reader when results are streamed
+     * (session.advanced().stream), so processing of results overlaps with network reads and parsing.
+     * 0 disables prefetching, unless byte limit is set (default).
+     * @return max number of prefetched documents
+     */
+    public int getStreamPrefetchDocuments() {
+        return _streamPrefetchDocuments;
+    }
+
+    /**
+     * Maximum number of documents parsed ahead by background reader when results are streamed
+     * (session.advanced().stream), so processing of results overlaps with network reads and parsing.
+     * 0 disables prefetching, unless byte limit is set (default).
+     * @param streamPrefetchDocuments value to set
+     */
+    public void setStreamPrefetchDocuments(int streamPrefetchDocuments) {
+        assertNotFrozen();
+        if (streamPrefetchDocuments < 0) {
+            throw new IllegalArgumentException("Stream prefetch documents cannot be negative");
+        }
+        _streamPrefetchDocuments = streamPrefetchDocuments;
+    }
+
+    /**
+     * Maximum size (in bytes of response json) of documents parsed ahead by background reader when results are streamed.
+     * At least one document is always prefetched. 0 means no byte limit (default).
+     * @return max size of prefetched documents
+     */
+    public long getStreamPrefetchBytes() {
+        return _streamPrefetchBytes;
+    }
+
+    /**
+     * Maximum size (in bytes of response json) of documents parsed ahead by background reader when results are streamed.
+     * At least one document is always prefetched. 0 means no byte limit (default).
+     * @param streamPrefetchBytes value to set
+     */
+    public void setStreamPrefetchBytes(long streamPrefetchBytes) {
+        assertNotFrozen();
+        if (streamPrefetchBytes < 0) {
+            throw new IllegalArgumentException("Stream prefetch bytes cannot be negative");
+        }
+        _streamPrefetchBytes = streamPrefetchBytes;
+    }
+
+    /**
+     * Maximum number of consecutive attempts to reopen resumable stream (session.advanced().resumableStream)
+     * after connection failure.
+     * @return max number of reconnect attempts
+     */
+    public int getMaxStreamReconnectAttempts() {
+        return _maxStreamReconnectAttempts;
+    }
+
+    /**
+     * Maximum number of consecutive attempts to reopen resumable stream (session.advanced().resumableStream)
+     * after connection failure.
+     * @param maxStreamReconnectAttempts value to set
+     */
+    public void setMaxStreamReconnectAttempts(int maxStreamReconnectAttempts) {
+        assertNotFrozen();
+        if (maxStreamReconnectAttempts < 0) {
+            throw new IllegalArgumentException("Max stream reconnect attempts cannot be negative");
+        }
+        _maxStreamReconnectAttempts = maxStreamReconnectAttempts;
+    }
+
+    /**
+     * Socket settings of TCP connections (subscriptions).
+     * @return copy of TCP connection options
+     */
+    public TcpConnectionOptions getTcpConnectionOptions() {
+        return new TcpConnectionOptions(_tcpConnectionOptions);
+    }
+
+    /**
+     * Socket settings of TCP connections (subscriptions).
+     * @param tcpConnectionOptions options to set, they are copied
+     */
+    public void setTcpConnectionOptions(TcpConnectionOptions tcpConnectionOptions) {
+        assertNotFrozen();
+        if (tcpConnectionOptions == null) {
+            throw new IllegalArgumentException("TcpConnectionOptions cannot be null");
+        }
+        _tcpConnectionOptions = new TcpConnectionOptions(tcpConnectionOptions);
+    }
+
     public int getMaxNumberOfRequestsPerSession() {
         return _maxNumberOfRequestsPerSession;
     }
@@ -404,6 +634,35 @@ public class DocumentConventions {
         return _findJavaClass.apply(id, document);
     }
 
+    /**
+     * Whether java class is found using document metadata only (default), so document with metadata
+     * can be converted to entity without building whole document tree.
+     * @return true if default FindJavaClass is used
+     */
+    public boolean isFindJavaClassFromMetadata() {
+        return _findJavaClass == FIND_JAVA_CLASS_FROM_METADATA;
+    }
+
+    /**
+     * Resolves class by name (as returned by getJavaClass). Results, including unknown names, are cached.
+     * @param javaClassName Class name
+     * @return class or null if class can't be loaded
+     */
+    public Class<?> resolveJavaClass(String javaClassName) {
+        Optional<Class<?>> clazz = _javaClassCache.get(javaClassName);
+        if (clazz != null) {
+            return clazz.orElse(null);
+        }
+
+        return _javaClassCache.computeIfAbsent(javaClassName, name -> {
+            try {
+                return Optional.of(Class.forName(name));
+            } catch (ClassNotFoundException | LinkageError e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
     /**
      * Get the Java class name to be stored in the entity metadata
      * @param entityType Entity type
@@ -437,6 +696,15 @@ public class DocumentConventions {
         cloned._maxNumberOfRequestsPerSession = _maxNumberOfRequestsPerSession;
         cloned._readBalanceBehavior = _readBalanceBehavior;
         cloned._maxHttpCacheSize = _maxHttpCacheSize;
+        cloned._httpCacheMode = _httpCacheMode;
+        cloned._compressHttpCache = _compressHttpCache;
+        cloned._coalesceConcurrentReads = _coalesceConcurrentReads;
+        cloned._changeTrackingMode = _changeTrackingMode;
+        cloned._secondLevelCacheSize = _secondLevelCacheSize;
+        cloned._streamPrefetchDocuments = _streamPrefetchDocuments;
+        cloned._streamPrefetchBytes = _streamPrefetchBytes;
+        cloned._maxStreamReconnectAttempts = _maxStreamReconnectAttempts;
+        cloned._tcpConnectionOptions = _tcpConnectionOptions;
         cloned._entityMapper = _entityMapper;
         cloned._useCompression = _useCompression;
         return cloned;
@@ -472,7 +740,9 @@ public class DocumentConventions {
                     .map(x -> getField(clazz, x.getName()))
                     .orElse(null);
 
-            _idPropertyCache.put(clazz, idField);
+            if (idField != null) {
+                _idPropertyCache.put(clazz, idField);
+            }
 
             return idField;
         } catch (IntrospectionException e) {
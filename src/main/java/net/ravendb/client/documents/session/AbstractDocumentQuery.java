@@ -21,6 +21,7 @@ import net.ravendb.client.documents.queries.suggestions.SuggestionWithTerms;
 import net.ravendb.client.documents.session.operations.QueryOperation;
 import net.ravendb.client.documents.session.operations.lazy.LazyQueryOperation;
 import net.ravendb.client.documents.session.tokens.*;
+import net.ravendb.client.http.HttpCache;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.EventHelper;
 import net.ravendb.client.primitives.Reference;
@@ -31,6 +32,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 /**
@@ -105,6 +107,8 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
 
     protected boolean disableEntitiesTracking;
 
+    protected boolean parallelMaterialization;
+
     protected boolean disableCaching;
 
     //TBD 4.1 protected boolean showQueryTimings;
@@ -160,7 +164,7 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         this.declareToken = declareToken;
         this.loadTokens = loadTokens;
         theSession = session;
-        _addAfterQueryExecutedListener(this::updateStatsAndHighlightings);
+        _addAfterQueryExecutedListener(new UpdateStatsAndHighlightings(this));
         _conventions = session == null ? new DocumentConventions() : session.getConventions();
     }
 
@@ -190,7 +194,27 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
     protected QueryOperation initializeQueryOperation() {
         IndexQuery indexQuery = getIndexQuery();
 
-        return new QueryOperation(theSession, indexName, indexQuery, fieldsToFetchToken, disableEntitiesTracking, false, false);
+        QueryOperation queryOperation = new QueryOperation(theSession, indexName, indexQuery, fieldsToFetchToken, disableEntitiesTracking, false, false);
+        queryOperation.setParallelMaterialization(parallelMaterialization || theSession.isParallelMaterialization());
+        queryOperation.setCacheDependencies(getCacheDependencies());
+        return queryOperation;
+    }
+
+    private String[] getCacheDependencies() {
+        // included and loaded documents can come from any collection
+        if ((includes != null && !includes.isEmpty()) || declareToken != null || (loadTokens != null && !loadTokens.isEmpty())) {
+            return null;
+        }
+
+        if (indexName != null) {
+            return new String[] { HttpCache.indexDependency(indexName) };
+        }
+
+        if (collectionName != null && !Constants.Documents.Metadata.ALL_DOCUMENTS_COLLECTION.equalsIgnoreCase(collectionName)) {
+            return new String[] { HttpCache.collectionDependency(collectionName) };
+        }
+
+        return null;
     }
 
     public IndexQuery getIndexQuery() {
@@ -1151,6 +1175,22 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         //TBD 4.1 Highlightings.Update(queryResult);
     }
 
+    /**
+     * Internal listener, it doesn't read query results, so they can be streamed (see enableResultsStreaming)
+     */
+    private static class UpdateStatsAndHighlightings implements Consumer<QueryResult> {
+        private final AbstractDocumentQuery<?, ?> _query;
+
+        UpdateStatsAndHighlightings(AbstractDocumentQuery<?, ?> query) {
+            _query = query;
+        }
+
+        @Override
+        public void accept(QueryResult queryResult) {
+            _query.updateStatsAndHighlightings(queryResult);
+        }
+    }
+
     private void buildSelect(StringBuilder writer) {
         if (selectTokens.isEmpty()) {
             return;
@@ -1544,6 +1584,10 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         disableCaching = true;
     }
 
+    public void _parallelMaterialization() {
+        parallelMaterialization = true;
+    }
+
     //TBD 4.1 public void _showTimings()
     //TBD 4.1 protected List<HighlightedField> HighlightedFields = new List<HighlightedField>();
     //TBD 4.1 protected string[] HighlighterPreTags = new string[0];
@@ -1687,15 +1731,55 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
     }
 
     protected void initSync() {
+        initSync(false);
+    }
+
+    private void initSync(boolean streamResults) {
         if (queryOperation != null) {
             return;
         }
 
+        initQueryOperation();
+        if (streamResults) {
+            enableResultsStreaming();
+        }
+        executeActualQuery();
+    }
+
+    /**
+     * Results of no tracking queries and projections are converted to entities while response is read, unless somebody
+     * else needs raw results: user defined after query executed listeners or includes registration in tracking sessions.
+     * Tracked documents and single field projections need json anyway, so such queries use the regular path.
+     */
+    private void enableResultsStreaming() {
+        if (!afterQueryExecutedCallback.stream().allMatch(x -> x instanceof UpdateStatsAndHighlightings)) {
+            return;
+        }
+
+        if (ObjectNode.class.equals(clazz)) {
+            return;
+        }
+
+        if (fieldsToFetchToken == null) {
+            if (!disableEntitiesTracking || !_conventions.isFindJavaClassFromMetadata()) {
+                return;
+            }
+        } else if (fieldsToFetchToken.projections != null && fieldsToFetchToken.projections.length == 1) {
+            return;
+        }
+
+        if (!disableEntitiesTracking && includes != null && !includes.isEmpty()) {
+            return;
+        }
+
+        queryOperation.enableResultsStreaming(clazz);
+    }
+
+    private void initQueryOperation() {
         BeforeQueryEventArgs beforeQueryEventArgs = new BeforeQueryEventArgs(theSession, new DocumentQueryCustomizationDelegate(this));
         theSession.onBeforeQueryInvoke(beforeQueryEventArgs);
 
         queryOperation = initializeQueryOperation();
-        executeActualQuery();
     }
 
     private void executeActualQuery() {
@@ -1716,7 +1800,41 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
         return EnumerableUtils.toList(iterator());
     }
 
+    public CompletableFuture<List<T>> toListAsync() {
+        if (queryOperation != null) {
+            return CompletableFuture.completedFuture(queryOperation.complete(clazz));
+        }
+
+        initQueryOperation();
+        enableResultsStreaming();
+
+        CompletableFuture<Void> execution;
+        // context is thread bound and executeAsync captures it on the calling thread,
+        // so it is restored here rather than on the thread which completes the request
+        CleanCloseable context = queryOperation.enterQueryContext();
+        try {
+            QueryCommand command = queryOperation.createRequest();
+            execution = theSession.getRequestExecutor().executeAsync(command, theSession.sessionInfo)
+                    .thenRun(() -> queryOperation.setResult(command.getResult()));
+        } finally {
+            // null unless query waits for non stale results
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        return execution.thenApply(x -> {
+            invokeAfterQueryExecuted(queryOperation.getCurrentQueryResults());
+            return queryOperation.complete(clazz);
+        });
+    }
+
     public QueryResult getQueryResult() {
+        if (queryOperation != null && queryOperation.isResultsStreamed()) {
+            // streamed results lack raw documents, query is executed again on the regular path
+            queryOperation = null;
+        }
+
         initSync();
 
         return queryOperation.getCurrentQueryResults().createSnapshot();
@@ -1776,7 +1894,7 @@ public abstract class AbstractDocumentQuery<T, TSelf extends AbstractDocumentQue
             _take(take);
         }
 
-        initSync();
+        initSync(true);
 
         return queryOperation.complete(clazz);
     }
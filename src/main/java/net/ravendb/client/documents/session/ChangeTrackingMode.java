@@ -0,0 +1,20 @@
+package net.ravendb.client.documents.session;
+
+public enum ChangeTrackingMode {
+    /**
+     * Every tracked entity is serialized and compared with the loaded document on saveChanges, hasChanges and whatChanged
+     */
+    FULL,
+
+    /**
+     * Hash of the serialized entity is stored when entity is loaded. Entities with unchanged hash are skipped
+     * without building and comparing json trees.
+     */
+    FINGERPRINT,
+
+    /**
+     * Only new entities, entities with modified metadata and entities marked using markDirty are considered as changed.
+     * Untouched entities are never serialized.
+     */
+    EXPLICIT
+}
@@ -2,6 +2,7 @@ package net.ravendb.client.documents.session;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.HashCode;
 import net.ravendb.client.Constants;
 
 /**
@@ -26,6 +27,12 @@ public class DocumentInfo {
     private boolean newDocument;
     private String collection;
 
+    private HashCode fingerprint;
+    private boolean dirty;
+
+    private boolean shared;
+    private boolean documentShared;
+
     /**
      * Gets the id
      * @return Document id
@@ -89,6 +96,10 @@ public class DocumentInfo {
     }
 
     public void setDocument(ObjectNode document) {
+        if (document != this.document) {
+            // new document instance belongs to this session, only metadata can still be shared
+            documentShared = false;
+        }
         this.document = document;
     }
 
@@ -116,6 +127,83 @@ public class DocumentInfo {
         this.collection = collection;
     }
 
+    /**
+     * Hash of serialized entity taken when entity was loaded or saved, used by ChangeTrackingMode.FINGERPRINT
+     * @return entity fingerprint or null if not computed
+     */
+    public HashCode getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Hash of serialized entity taken when entity was loaded or saved, used by ChangeTrackingMode.FINGERPRINT
+     * @param fingerprint sets the value
+     */
+    public void setFingerprint(HashCode fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Whether entity was explicitly marked as modified, used by ChangeTrackingMode.EXPLICIT
+     * @return true if entity was marked as modified
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Whether entity was explicitly marked as modified, used by ChangeTrackingMode.EXPLICIT
+     * @param dirty sets the value
+     */
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    /**
+     * Whether document and metadata instances are shared with other sessions (see SecondLevelDocumentCache).
+     * Shared instances are never modified, call ensureWritable before changing them.
+     * @return true if document is shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Whether document and metadata instances are shared with other sessions (see SecondLevelDocumentCache).
+     * Shared instances are never modified, call ensureWritable before changing them.
+     * @param shared sets the value
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+        this.documentShared = shared;
+    }
+
+    /**
+     * Copy on write: when document is shared, replaces document and metadata with private copies.
+     * Document which was already replaced by session isn't copied again.
+     */
+    public void ensureWritable() {
+        if (!shared) {
+            return;
+        }
+
+        if (documentShared && document != null) {
+            boolean metadataInDocument = metadata != null && document.get(Constants.Documents.Metadata.KEY) == metadata;
+            document = document.deepCopy();
+
+            if (metadataInDocument) {
+                metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
+            } else if (metadata != null) {
+                metadata = metadata.deepCopy();
+            }
+        } else if (metadata != null) {
+            metadata = metadata.deepCopy();
+        }
+
+        shared = false;
+        documentShared = false;
+    }
+
     public IMetadataDictionary getMetadataInstance() {
         return metadataInstance;
     }
@@ -218,6 +218,12 @@ public class DocumentQuery<T> extends AbstractDocumentQuery<T, DocumentQuery<T>>
         return this;
     }
 
+    @Override
+    public IDocumentQuery<T> parallelMaterialization() {
+        _parallelMaterialization();
+        return this;
+    }
+
     @Override
     public IDocumentQuery<T> noCaching() {
         _noCaching();
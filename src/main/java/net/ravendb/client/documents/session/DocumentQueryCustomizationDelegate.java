@@ -69,6 +69,12 @@ public class DocumentQueryCustomizationDelegate implements IDocumentQueryCustomi
         return this;
     }
 
+    @Override
+    public IDocumentQueryCustomization parallelMaterialization() {
+        query._parallelMaterialization();
+        return this;
+    }
+
     @Override
     public IDocumentQueryCustomization randomOrdering() {
         query._randomOrdering();
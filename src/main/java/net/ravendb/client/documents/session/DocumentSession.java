@@ -20,6 +20,7 @@ import net.ravendb.client.documents.commands.multiGet.MultiGetCommand;
 import net.ravendb.client.documents.indexes.AbstractIndexCreationTask;
 import net.ravendb.client.documents.linq.IDocumentQueryGenerator;
 import net.ravendb.client.documents.operations.PatchRequest;
+import net.ravendb.client.documents.queries.IndexQuery;
 import net.ravendb.client.documents.queries.Query;
 import net.ravendb.client.documents.session.loaders.ILoaderWithInclude;
 import net.ravendb.client.documents.session.loaders.MultiLoaderWithInclude;
@@ -33,14 +34,17 @@ import net.ravendb.client.primitives.Reference;
 import net.ravendb.client.primitives.Tuple;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.util.EntityUtils;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class DocumentSession extends InMemoryDocumentSessionOperations implements IAdvancedSessionOperations, IDocumentSessionImpl, IDocumentQueryGenerator {
 
@@ -110,6 +114,20 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
         }
     }
 
+    @Override
+    public CompletableFuture<Void> saveChangesAsync() {
+        BatchOperation saveChangeOperation = new BatchOperation(this);
+
+        BatchCommand command = saveChangeOperation.createRequest();
+        if (command == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return _requestExecutor.executeAsync(command, sessionInfo)
+                .thenRun(() -> saveChangeOperation.setResult(command.getResult()))
+                .whenComplete((result, error) -> command.close());
+    }
+
     /**
      * Check if document exists without loading it
      */
@@ -304,6 +322,29 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
         return loadOperation.getDocument(clazz);
     }
 
+    @Override
+    public <T> CompletableFuture<T> loadAsync(Class<T> clazz, String id) {
+        if (id == null) {
+            return CompletableFuture.completedFuture(Defaults.defaultValue(clazz));
+        }
+
+        LoadOperation loadOperation = new LoadOperation(this);
+
+        loadOperation.byId(id);
+
+        GetDocumentsCommand command = loadOperation.createRequest();
+
+        if (command == null) {
+            return CompletableFuture.completedFuture(loadOperation.getDocument(clazz));
+        }
+
+        return _requestExecutor.executeAsync(command, sessionInfo)
+                .thenApply(x -> {
+                    loadOperation.setResult(command.getResult());
+                    return loadOperation.getDocument(clazz);
+                });
+    }
+
     public <T> Map<String, T> load(Class<T> clazz, String... ids) {
         if (ids == null) {
             throw new IllegalArgumentException("Ids cannot be null");
@@ -751,6 +792,172 @@ public class DocumentSession extends InMemoryDocumentSessionOperations implement
         return new StreamIterator<>(clazz, result, null, null);
     }
 
+    @Override
+    public <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, String startsWith) {
+        return resumableStream(clazz, startsWith, null, 0, Integer.MAX_VALUE, null);
+    }
+
+    @Override
+    public <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, String startsWith, String matches, int start, int pageSize, String startAfter) {
+        return resumableStream(clazz, StreamCheckpoint.forDocuments(startsWith, matches, start, pageSize, null, startAfter));
+    }
+
+    @Override
+    public <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, StreamCheckpoint checkpoint) {
+        return new ResumableStreamIterator<>(checkpoint, () -> {
+            StreamOperation streamOperation = new StreamOperation(this);
+
+            StreamCommand command = streamOperation.createRequest(checkpoint.getStartsWith(), checkpoint.getMatches(),
+                    checkpoint.getNextStart(), checkpoint.getNextPageSize(), checkpoint.getExclude(), checkpoint.getNextStartAfter());
+            getRequestExecutor().execute(command, sessionInfo);
+
+            CloseableIterator<ObjectNode> result = streamOperation.setResult(command.getResult());
+            return new StreamIterator<>(clazz, result, null, null);
+        });
+    }
+
+    @Override
+    public <T> IResumableStreamIterator<T> resumableStream(IDocumentQuery<T> query) {
+        return resumableStream(query, StreamCheckpoint.forQuery());
+    }
+
+    @Override
+    public <T> IResumableStreamIterator<T> resumableStream(IDocumentQuery<T> query, StreamCheckpoint checkpoint) {
+        return new ResumableStreamIterator<>(checkpoint, () -> {
+            IndexQuery indexQuery = query.getIndexQuery();
+
+            // results returned before the failure are skipped on the server
+            int returnedResults = (int) checkpoint.getReturnedResults();
+            indexQuery.setStart(indexQuery.getStart() + returnedResults);
+            if (indexQuery.isPageSizeSet()) {
+                indexQuery.setPageSize(Math.max(0, indexQuery.getPageSize() - returnedResults));
+            }
+
+            StreamOperation streamOperation = new StreamOperation(this);
+            QueryStreamCommand command = streamOperation.createRequest(indexQuery);
+
+            getRequestExecutor().execute(command, sessionInfo);
+
+            CloseableIterator<ObjectNode> result = streamOperation.setResult(command.getResult());
+            return yieldResults((AbstractDocumentQuery) query, result);
+        });
+    }
+
+    private class ResumableStreamIterator<T> implements IResumableStreamIterator<T> {
+
+        private final StreamCheckpoint _checkpoint;
+        private final Supplier<CloseableIterator<StreamResult<T>>> _open;
+        private final int _maxReconnectAttempts;
+
+        private CloseableIterator<StreamResult<T>> _current;
+        // inner iterators advance the parser in hasNext, so its result is remembered until next is called
+        private boolean _hasPending;
+        private boolean _completed;
+        private int _failedAttempts;
+        private int _reconnects;
+        private boolean _closed;
+
+        public ResumableStreamIterator(StreamCheckpoint checkpoint, Supplier<CloseableIterator<StreamResult<T>>> open) {
+            _checkpoint = checkpoint;
+            _open = open;
+            _maxReconnectAttempts = getConventions().getMaxStreamReconnectAttempts();
+        }
+
+        @Override
+        public StreamCheckpoint getCheckpoint() {
+            return _checkpoint;
+        }
+
+        @Override
+        public int getNumberOfReconnects() {
+            return _reconnects;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (true) {
+                if (_hasPending) {
+                    return true;
+                }
+
+                if (_closed || _completed || _checkpoint.isPageSizeReached()) {
+                    return false;
+                }
+
+                try {
+                    if (_current == null) {
+                        _current = _open.get();
+                    }
+
+                    _hasPending = _current.hasNext();
+                    _completed = !_hasPending;
+                    return _hasPending;
+                } catch (RuntimeException e) {
+                    handleFailure(e);
+                }
+            }
+        }
+
+        @Override
+        public StreamResult<T> next() {
+            while (true) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                try {
+                    _hasPending = false;
+                    StreamResult<T> result = _current.next();
+                    _checkpoint.advance(result.getId());
+                    _failedAttempts = 0;
+                    return result;
+                } catch (RuntimeException e) {
+                    handleFailure(e);
+                }
+            }
+        }
+
+        private void handleFailure(RuntimeException e) {
+            closeCurrent();
+
+            // only broken connections are retried, server errors are not going to change on retry
+            if (ExceptionUtils.indexOfType(e, IOException.class) < 0 || _failedAttempts >= _maxReconnectAttempts) {
+                throw e;
+            }
+
+            _failedAttempts++;
+            _reconnects++;
+
+            try {
+                Thread.sleep(Math.min(100L << _failedAttempts, 5_000));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw e;
+            }
+        }
+
+        private void closeCurrent() {
+            if (_current == null) {
+                return;
+            }
+
+            try {
+                _current.close();
+            } catch (RuntimeException ignored) {
+                // connection is already broken
+            }
+
+            _current = null;
+            _hasPending = false;
+        }
+
+        @Override
+        public void close() {
+            _closed = true;
+            closeCurrent();
+        }
+    }
+
     private class StreamIterator<T> implements CloseableIterator<StreamResult<T>> {
 
         private final Class<T> _clazz;
@@ -1,25 +1,37 @@
 package net.ravendb.client.documents.session;
 
+import net.ravendb.client.primitives.CaseInsensitiveHashMap;
+
 import java.util.*;
 
 public class DocumentsById implements Iterable<Map.Entry<String, DocumentInfo>> {
 
-    private final Map<String, DocumentInfo> _inner;
+    private final CaseInsensitiveHashMap<DocumentInfo> _inner;
 
     public DocumentsById() {
-        this._inner = new TreeMap<>(String::compareToIgnoreCase);
+        this._inner = new CaseInsensitiveHashMap<>();
     }
 
     public DocumentInfo getValue(String id) {
         return _inner.get(id);
     }
 
+    /**
+     * @param id Document id
+     * @param hash Hash of id computed using CaseInsensitiveHashMap.hash
+     * @return Document info or null
+     */
+    public DocumentInfo getValue(String id, int hash) {
+        return _inner.get(id, hash);
+    }
+
     public void add(DocumentInfo info) {
-        if (_inner.containsKey(info.getId())) {
+        int hash = CaseInsensitiveHashMap.hash(info.getId());
+        if (_inner.containsKey(info.getId(), hash)) {
             return;
         }
 
-        _inner.put(info.getId(), info);
+        _inner.put(info.getId(), hash, info);
     }
 
     @SuppressWarnings("UnusedReturnValue")
@@ -1,10 +1,23 @@
 package net.ravendb.client.documents.session;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.util.HashMap;
 import java.util.Map;
@@ -45,6 +58,41 @@ public class EntityToJson {
         return jsonNode;
     }
 
+    /**
+     * Computes hash of serialized entity. Entity is streamed directly into hash function, without building json tree.
+     * @param entity Entity to compute fingerprint for
+     * @return entity fingerprint
+     */
+    public HashCode computeFingerprint(Object entity) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+
+        try (OutputStream hashStream = new HashingOutputStream(hasher)) {
+            _session.getConventions().getEntityMapper().writeValue(hashStream, entity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to compute fingerprint of entity: " + e.getMessage(), e);
+        }
+
+        return hasher.hash();
+    }
+
+    private static class HashingOutputStream extends OutputStream {
+        private final Hasher _hasher;
+
+        public HashingOutputStream(Hasher hasher) {
+            _hasher = hasher;
+        }
+
+        @Override
+        public void write(int b) {
+            _hasher.putByte((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            _hasher.putBytes(b, off, len);
+        }
+    }
+
     public static ObjectNode convertEntityToJson(Object entity, DocumentConventions conventions) {
         return convertEntityToJson(entity, conventions, null);
     }
@@ -76,7 +124,8 @@ public class EntityToJson {
 
         if (documentInfo.getMetadata() != null && documentInfo.getMetadata().size() > 0) {
             setMetadata = true;
-            documentInfo.getMetadata().fieldNames().forEachRemaining(property -> metadataNode.set(property, documentInfo.getMetadata().get(property).deepCopy()));
+            // metadata values are never modified in place (only replaced), so they can be shared with new document
+            documentInfo.getMetadata().fields().forEachRemaining(property -> metadataNode.set(property.getKey(), property.getValue()));
         } else if (documentInfo.getMetadataInstance() != null) {
             setMetadata = true;
             for (Map.Entry<String, Object> entry : documentInfo.getMetadataInstance().entrySet()) {
@@ -95,6 +144,102 @@ public class EntityToJson {
         }
     }
 
+    /**
+     * Writes entity (without identity property and with given metadata) directly to generator,
+     * without building intermediate ObjectNode. Produces the same json as convertEntityToJson.
+     * @param generator Target generator
+     * @param writer Writer created from conventions entity mapper
+     * @param entity Entity to write
+     * @param conventions Conventions
+     * @param metadata Metadata to write, or null to skip @metadata
+     * @throws IOException when write fails
+     */
+    public static void writeEntity(JsonGenerator generator, ObjectWriter writer, Object entity,
+                                   DocumentConventions conventions, Map<String, Object> metadata) throws IOException {
+        if (entity instanceof ObjectNode) {
+            generator.writeTree((ObjectNode) entity);
+            return;
+        }
+
+        Field identityProperty = conventions.getIdentityProperty(entity.getClass());
+        String identityPropertyName = identityProperty != null ? identityProperty.getName() : null;
+
+        EntityGenerator entityGenerator = new EntityGenerator(generator, writer, identityPropertyName, metadata);
+        writer.writeValue(entityGenerator, entity);
+    }
+
+    private static class ExcludePropertyFilter extends TokenFilter {
+        private final String _excludedProperty;
+
+        public ExcludePropertyFilter(String excludedProperty) {
+            _excludedProperty = excludedProperty;
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return name.equals(_excludedProperty) ? null : TokenFilter.INCLUDE_ALL;
+        }
+    }
+
+    /**
+     * Skips identity property on the root object and appends @metadata just before root object is closed.
+     */
+    private static class EntityGenerator extends FilteringGeneratorDelegate {
+        private final ObjectWriter _writer;
+        private final Map<String, Object> _metadata;
+        private JsonStreamContext _contextBeforeRoot;
+        private int _depth;
+
+        public EntityGenerator(JsonGenerator generator, ObjectWriter writer, String excludedProperty, Map<String, Object> metadata) {
+            super(generator, excludedProperty != null ? new ExcludePropertyFilter(excludedProperty) : TokenFilter.INCLUDE_ALL, true, true);
+            _writer = writer;
+            _metadata = metadata;
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            beforeStartObject();
+            super.writeStartObject();
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            beforeStartObject();
+            super.writeStartObject(forValue);
+        }
+
+        private void beforeStartObject() {
+            if (_depth == 0) {
+                _contextBeforeRoot = delegate.getOutputContext();
+            }
+            _depth++;
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            if (_depth == 1) {
+                if (_metadata != null) {
+                    writeFieldName(Constants.Documents.Metadata.KEY);
+                    writeStartObject();
+                    for (Map.Entry<String, Object> entry : _metadata.entrySet()) {
+                        writeFieldName(entry.getKey());
+                        _writer.writeValue(this, entry.getValue());
+                    }
+                    writeEndObject();
+                }
+
+                if (delegate.getOutputContext() == _contextBeforeRoot) {
+                    // all properties were filtered out, so root object was never started
+                    delegate.writeStartObject();
+                    delegate.writeEndObject();
+                }
+            }
+
+            _depth--;
+            super.writeEndObject();
+        }
+    }
+
     /**
      * Converts a json object to an entity.
      * @param entityType Class of entity
@@ -112,16 +257,15 @@ public class EntityToJson {
             Object defaultValue = InMemoryDocumentSessionOperations.getDefaultValue(entityType);
             Object entity = defaultValue;
 
-            String documentType =_session.getConventions().getJavaClass(id, document);
-            if (documentType != null) {
-                Class type = Class.forName(documentType);
-                if (entityType.isAssignableFrom(type)) {
-                    entity = _session.getConventions().getEntityMapper().treeToValue(document, type);
-                }
+            DocumentConventions conventions = _session.getConventions();
+
+            Class<?> type = resolveDocumentType(id, document, conventions);
+            if (type != null && entityType.isAssignableFrom(type)) {
+                entity = conventions.getEntityReader(type).readValue(document);
             }
 
             if (entity == defaultValue) {
-                entity = _session.getConventions().getEntityMapper().treeToValue(document, entityType);
+                entity = conventions.getEntityReader(entityType).readValue(document);
             }
 
             if (id != null) {
@@ -134,6 +278,20 @@ public class EntityToJson {
         }
     }
 
+    private static Class<?> resolveDocumentType(String id, ObjectNode document, DocumentConventions conventions) throws ClassNotFoundException {
+        String documentType = conventions.getJavaClass(id, document);
+        if (documentType == null) {
+            return null;
+        }
+
+        Class<?> type = conventions.resolveJavaClass(documentType);
+        if (type == null) {
+            throw new ClassNotFoundException(documentType);
+        }
+
+        return type;
+    }
+
     @SuppressWarnings("UnusedReturnValue")
     private static boolean tryRemoveIdentityProperty(ObjectNode document, Class entityType, DocumentConventions conventions) {
         Field identityProperty = conventions.getIdentityProperty(entityType);
@@ -154,16 +312,13 @@ public class EntityToJson {
 
             Object entity = defaultValue;
 
-            String documentType = conventions.getJavaClass(id, document);
-            if (documentType != null) {
-                Class<?> clazz = Class.forName(documentType);
-                if (clazz != null && entityClass.isAssignableFrom(clazz)) {
-                    entity = conventions.getEntityMapper().treeToValue(document, clazz);
-                }
+            Class<?> clazz = resolveDocumentType(id, document, conventions);
+            if (clazz != null && entityClass.isAssignableFrom(clazz)) {
+                entity = conventions.getEntityReader(clazz).readValue(document);
             }
 
             if (entity == null) {
-                entity = conventions.getEntityMapper().treeToValue(document, entityClass);
+                entity = conventions.getEntityReader(entityClass).readValue(document);
             }
 
             return entity;
@@ -171,4 +326,36 @@ public class EntityToJson {
             throw new IllegalStateException("Could not convert document " + id + " to entity of type " + entityClass);
         }
     }
+
+    /**
+     * Converts document buffered as token sequence, without building its tree. Java class is resolved using
+     * metadata only, so it should be used only with default FindJavaClass convention.
+     * @param entityClass Requested entity class
+     * @param id Document id
+     * @param document Document tokens
+     * @param metadata Document metadata
+     * @param conventions Conventions
+     * @return entity
+     */
+    public static Object convertToEntity(Class<?> entityClass, String id, TokenBuffer document, ObjectNode metadata, DocumentConventions conventions) {
+        try {
+            Class<?> type = entityClass;
+
+            if (metadata != null) {
+                ObjectNode metadataOnly = JsonExtensions.getDefaultMapper().createObjectNode();
+                metadataOnly.set(Constants.Documents.Metadata.KEY, metadata);
+
+                Class<?> documentType = resolveDocumentType(id, metadataOnly, conventions);
+                if (documentType != null && entityClass.isAssignableFrom(documentType)) {
+                    type = documentType;
+                }
+            }
+
+            try (JsonParser parser = document.asParser()) {
+                return conventions.getEntityReader(type).readValue(parser);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not convert document " + id + " to entity of type " + entityClass, e);
+        }
+    }
 }
@@ -74,6 +74,20 @@ public interface IAdvancedDocumentSessionOperations {
      */
     String storeIdentifier();
 
+    /**
+     * Whether large load and query results are converted to entities in parallel (on fork-join pool).
+     * Results order and identity map semantics are the same as for serial conversion.
+     * @return true if parallel materialization is enabled
+     */
+    boolean isParallelMaterialization();
+
+    /**
+     * Whether large load and query results are converted to entities in parallel (on fork-join pool).
+     * Results order and identity map semantics are the same as for serial conversion.
+     * @param parallelMaterialization Sets the value
+     */
+    void setParallelMaterialization(boolean parallelMaterialization);
+
     /**
      * Gets value indicating whether the session should use optimistic concurrency.
      * When set to true, a check is made so that a change made behind the session back would fail
@@ -179,6 +193,13 @@ public interface IAdvancedDocumentSessionOperations {
      */
     void ignoreChangesFor(Object entity);
 
+    /**
+     * Marks the entity as modified. Required when ChangeTrackingMode.EXPLICIT is used,
+     * in other modes changes are detected automatically.
+     * @param entity Entity to mark
+     */
+    void markDirty(Object entity);
+
     /**
      * Returns all changes for each entity stored within session. Including name of the field/property that changed, its old and new value and change type.
      * @return Document changes
@@ -331,6 +331,60 @@ public interface IAdvancedSessionOperations extends IAdvancedDocumentSessionOper
      */
     <T> CloseableIterator<StreamResult<T>> stream(Class<T> clazz, String startsWith, String matches, int start, int pageSize, String startAfter);
 
+    /**
+     * Stream the results of documents search to the client, reconnecting (to another node if needed) when connection
+     * is broken. Stream continues after last returned document id, see IResumableStreamIterator.getCheckpoint.
+     * Does NOT track the entities in the session, and will not includes changes there when saveChanges() is called
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, String startsWith);
+
+    /**
+     * Stream the results of documents search to the client, reconnecting (to another node if needed) when connection
+     * is broken. Stream continues after last returned document id, see IResumableStreamIterator.getCheckpoint.
+     * Does NOT track the entities in the session, and will not includes changes there when saveChanges() is called
+     * @param clazz Entity class
+     * @param startsWith prefix for which documents should be returned e.g. "products/"
+     * @param matches pipe ('|') separated values for which document ID (after 'idPrefix') should be matched ('?' any single character, '*' any characters)
+     * @param start number of documents that should be skipped
+     * @param pageSize maximum number of documents that will be retrieved
+     * @param startAfter skip document fetching until given ID is found and return documents after that ID (default: null)
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, String startsWith, String matches, int start, int pageSize, String startAfter);
+
+    /**
+     * Continues documents stream from given checkpoint (i.e. restored using StreamCheckpoint.fromToken).
+     * @param clazz Entity class
+     * @param checkpoint Checkpoint of documents stream
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> IResumableStreamIterator<T> resumableStream(Class<T> clazz, StreamCheckpoint checkpoint);
+
+    /**
+     * Stream the results on the query to the client, reconnecting (to another node if needed) when connection
+     * is broken. Already returned results are skipped, so query should have stable ordering.
+     * Does NOT track the entities in the session, and will not includes changes there when saveChanges() is called
+     * @param query Query to stream results for
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> IResumableStreamIterator<T> resumableStream(IDocumentQuery<T> query);
+
+    /**
+     * Continues query stream from given checkpoint. Query has to be the same as the one checkpoint was created for.
+     * @param query Query to stream results for
+     * @param checkpoint Checkpoint of query stream
+     * @param <T> Result class
+     * @return results iterator
+     */
+    <T> IResumableStreamIterator<T> resumableStream(IDocumentQuery<T> query, StreamCheckpoint checkpoint);
+
     /**
      * Returns the results of a query directly into stream
      * @param query Query to use
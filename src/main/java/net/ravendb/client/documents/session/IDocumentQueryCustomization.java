@@ -72,6 +72,13 @@ public interface IDocumentQueryCustomization {
      */
     IDocumentQueryCustomization noTracking();
 
+    /**
+     * Converts large query results to entities in parallel (on fork-join pool).
+     * Results order and identity map semantics are the same as for serial conversion.
+     * @return customization object
+     */
+    IDocumentQueryCustomization parallelMaterialization();
+
     /**
      * Disables tracking for queried entities by Raven's Unit of Work.
      * Usage of this option will prevent holding query results in memory.
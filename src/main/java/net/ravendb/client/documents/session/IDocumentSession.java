@@ -7,6 +7,7 @@ import net.ravendb.client.primitives.CleanCloseable;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for document session
@@ -49,6 +50,13 @@ public interface IDocumentSession extends CleanCloseable {
      */
     void saveChanges();
 
+    /**
+     * Saves all the pending changes to the server without blocking calling thread.
+     * Session must not be used until returned future completes.
+     * @return Future completed when changes are saved
+     */
+    CompletableFuture<Void> saveChangesAsync();
+
     /**
      * Stores entity in session with given id and forces concurrency check with given change-vector.
      * @param entity Entity to store
@@ -91,6 +99,16 @@ public interface IDocumentSession extends CleanCloseable {
      */
     <T> T load(Class<T> clazz, String id);
 
+    /**
+     *  Loads the specified entity with the specified id without blocking calling thread.
+     *  Session must not be used until returned future completes.
+     *  @param <T> entity class
+     *  @param clazz Object class
+     *  @param id Identifier of a entity that will be loaded.
+     *  @return Future with loaded entity
+     */
+    <T> CompletableFuture<T> loadAsync(Class<T> clazz, String id);
+
     /**
      *  Loads the specified entities with the specified ids.
      *  @param <TResult> result class
@@ -1,6 +1,7 @@
 package net.ravendb.client.documents.session;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IEnumerableQuery<T> {
 
@@ -9,4 +10,10 @@ public interface IEnumerableQuery<T> {
      * @return results as list
      */
     List<T> toList();
+
+    /**
+     * Materialize query without blocking calling thread. Session must not be used until returned future completes.
+     * @return future with results as list
+     */
+    CompletableFuture<List<T>> toListAsync();
 }
@@ -47,6 +47,13 @@ public interface IQueryBase<T, TSelf extends IQueryBase<T, TSelf>> {
      */
     TSelf noTracking();
 
+    /**
+     * Converts large query results to entities in parallel (on fork-join pool).
+     * Results order and identity map semantics are the same as for serial conversion.
+     * @return Query instance
+     */
+    TSelf parallelMaterialization();
+
     //TBD 4.1 TSelf showTimings();
 
     /**
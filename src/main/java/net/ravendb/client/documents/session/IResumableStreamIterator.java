@@ -0,0 +1,23 @@
+package net.ravendb.client.documents.session;
+
+import net.ravendb.client.documents.CloseableIterator;
+import net.ravendb.client.documents.commands.StreamResult;
+
+/**
+ * Stream results iterator which reconnects when connection is broken, continuing after last returned result.
+ * @param <T> Result class
+ */
+public interface IResumableStreamIterator<T> extends CloseableIterator<StreamResult<T>> {
+
+    /**
+     * Position after last result returned by next. It can be persisted (see StreamCheckpoint.toToken)
+     * and used to continue the stream later.
+     * @return checkpoint
+     */
+    StreamCheckpoint getCheckpoint();
+
+    /**
+     * @return Number of times stream was reopened after failure
+     */
+    int getNumberOfReconnects();
+}
@@ -117,7 +117,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     }
 
     //Entities whose id we already know do not exists, because they are a missing include, or a missing load, etc.
-    protected final Set<String> _knownMissingIds = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    protected final CaseInsensitiveHashSet _knownMissingIds = new CaseInsensitiveHashSet();
 
     private Map<String, Object> externalState;
 
@@ -140,6 +140,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             case FASTEST_NODE:
                 result = _requestExecutor.getFastestNode();
                 break;
+            case LEAST_LOADED:
+                result = _requestExecutor.getLeastLoadedNode();
+                break;
             default:
                 throw new IllegalArgumentException(_documentStore.getConventions().getReadBalanceBehavior().toString());
         }
@@ -155,7 +158,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
     /**
      * Translate between an ID and its associated entity
      */
-    public final Map<String, DocumentInfo> includedDocumentsById = new TreeMap<>(String::compareToIgnoreCase);
+    public final CaseInsensitiveHashMap<DocumentInfo> includedDocumentsById = new CaseInsensitiveHashMap<>();
 
     /**
      * hold the data required to manage the data for RavenDB's Unit of Work
@@ -164,6 +167,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     protected final DocumentStoreBase _documentStore;
 
+    private final SecondLevelDocumentCache _secondLevelCache;
+
     private final String databaseName;
 
     public String getDatabaseName() {
@@ -179,6 +184,13 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         return _documentStore;
     }
 
+    /**
+     * @return Store level document cache shared by sessions, or null when it is disabled
+     */
+    public SecondLevelDocumentCache getSecondLevelCache() {
+        return _secondLevelCache;
+    }
+
     public RequestExecutor getRequestExecutor() {
         return _requestExecutor;
     }
@@ -251,6 +263,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     private boolean useOptimisticConcurrency;
 
+    private boolean parallelMaterialization;
+
     /**
      * Gets value indicating whether the session should use optimistic concurrency.
      * When set to true, a check is made so that a change made behind the session back would fail
@@ -273,6 +287,14 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         this.useOptimisticConcurrency = useOptimisticConcurrency;
     }
 
+    public boolean isParallelMaterialization() {
+        return parallelMaterialization;
+    }
+
+    public void setParallelMaterialization(boolean parallelMaterialization) {
+        this.parallelMaterialization = parallelMaterialization;
+    }
+
     protected final List<ICommandData> deferredCommands = new ArrayList<>();
 
     final Map<IdTypeAndName, ICommandData> deferredCommandsMap = new HashMap<>();
@@ -311,6 +333,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         this.maxNumberOfRequestsPerSession = requestExecutor.getConventions().getMaxNumberOfRequestsPerSession();
         this.generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_requestExecutor.getConventions(), this::generateId);
         this.entityToJson = new EntityToJson(this);
+        this._secondLevelCache = documentStore.getSecondLevelCache(databaseName);
 
         sessionInfo = new SessionInfo(_clientSessionId);
     }
@@ -449,9 +472,28 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      * @param documentFound Document info
      * @return tracked entity
      */
-    @SuppressWarnings("unchecked")
     public <T> T trackEntity(Class<T> clazz, DocumentInfo documentFound) {
-        return (T) trackEntity(clazz, documentFound.getId(), documentFound.getDocument(), documentFound.getMetadata(), false);
+        return trackEntity(clazz, documentFound, null);
+    }
+
+    /**
+     * Tracks the entity.
+     *
+     * @param <T>                entity class
+     * @param clazz              entity class
+     * @param documentFound      Document info
+     * @param materializedEntity Entity already converted from document off the session thread, or null
+     * @return entity
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T trackEntity(Class<T> clazz, DocumentInfo documentFound, Object materializedEntity) {
+        if (ObjectNode.class.equals(clazz)) {
+            // document itself becomes the entity
+            documentFound.ensureWritable();
+            materializedEntity = null;
+        }
+
+        return (T) trackEntity(clazz, documentFound.getId(), documentFound.getDocument(), documentFound.getMetadata(), false, materializedEntity);
     }
 
     /**
@@ -465,8 +507,23 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      * @return entity
      */
     public Object trackEntity(Class entityType, String id, ObjectNode document, ObjectNode metadata, boolean noTracking) {
+        return trackEntity(entityType, id, document, metadata, noTracking, null);
+    }
+
+    /**
+     * Tracks the entity.
+     *
+     * @param entityType         Entity class
+     * @param id                 Id of document
+     * @param document           raw entity
+     * @param metadata           raw document metadata
+     * @param noTracking         no tracking
+     * @param materializedEntity Entity already converted from document off the session thread (see isEntityMaterialized), or null
+     * @return entity
+     */
+    public Object trackEntity(Class entityType, String id, ObjectNode document, ObjectNode metadata, boolean noTracking, Object materializedEntity) {
         if (StringUtils.isEmpty(id)) {
-            return deserializeFromTransformer(entityType, null, document);
+            return materializedEntity != null ? materializedEntity : deserializeFromTransformer(entityType, null, document);
         }
 
         DocumentInfo docInfo = documentsById.getValue(id);
@@ -475,7 +532,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             // instance, and return that, ignoring anything new.
 
             if (docInfo.getEntity() == null) {
-                docInfo.setEntity(entityToJson.convertToEntity(entityType, id, document));
+                docInfo.setEntity(materializedEntity != null ? materializedEntity : entityToJson.convertToEntity(entityType, id, document));
+                updateFingerprint(docInfo);
             }
 
             if (!noTracking) {
@@ -489,10 +547,11 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         docInfo = includedDocumentsById.get(id);
         if (docInfo != null) {
             if (docInfo.getEntity() == null) {
-                docInfo.setEntity(entityToJson.convertToEntity(entityType, id, document));
+                docInfo.setEntity(materializedEntity != null ? materializedEntity : entityToJson.convertToEntity(entityType, id, document));
             }
 
             if (!noTracking) {
+                updateFingerprint(docInfo);
                 includedDocumentsById.remove(id);
                 documentsById.add(docInfo);
                 documentsByEntity.put(docInfo.getEntity(), docInfo);
@@ -501,7 +560,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return docInfo.getEntity();
         }
 
-        Object entity = entityToJson.convertToEntity(entityType, id, document);
+        Object entity = materializedEntity != null ? materializedEntity : entityToJson.convertToEntity(entityType, id, document);
 
         String changeVector = metadata.get(Constants.Documents.Metadata.CHANGE_VECTOR).asText();
         if (changeVector == null) {
@@ -515,6 +574,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             newDocumentInfo.setMetadata(metadata);
             newDocumentInfo.setEntity(entity);
             newDocumentInfo.setChangeVector(changeVector);
+            updateFingerprint(newDocumentInfo);
 
             documentsById.add(newDocumentInfo);
             documentsByEntity.put(entity, newDocumentInfo);
@@ -523,6 +583,25 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         return entity;
     }
 
+    /**
+     * Whether session already has entity for given document, so trackEntity won't convert it again.
+     *
+     * @param id Document id
+     * @return true if entity was already created
+     */
+    public boolean isEntityMaterialized(String id) {
+        if (StringUtils.isEmpty(id)) {
+            return false;
+        }
+
+        DocumentInfo documentInfo = documentsById.getValue(id);
+        if (documentInfo == null) {
+            documentInfo = includedDocumentsById.get(id);
+        }
+
+        return documentInfo != null && documentInfo.getEntity() != null;
+    }
+
     /**
      * Gets the default value of the specified type.
      *
@@ -573,8 +652,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         String changeVector = null;
         DocumentInfo documentInfo = documentsById.getValue(id);
         if (documentInfo != null) {
-            ObjectNode newObj = entityToJson.convertEntityToJson(documentInfo.getEntity(), documentInfo);
-            if (documentInfo.getEntity() != null && entityChanged(newObj, documentInfo, null)) {
+            if (documentInfo.getEntity() != null && !isEntityUnchanged(documentInfo.getEntity(), documentInfo)
+                    && entityChanged(entityToJson.convertEntityToJson(documentInfo.getEntity(), documentInfo), documentInfo, null)) {
                 throw new IllegalStateException("Can't delete changed entity using identifier. Use delete(Class clazz, T entity) instead.");
             }
 
@@ -758,7 +837,14 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
                 if (propValue == null || propValue instanceof MetadataAsDictionary && (((MetadataAsDictionary) propValue).isDirty())) {
                     dirty = true;
                 }
-                documentInfo.getMetadata().set(prop, mapper.convertValue(propValue, JsonNode.class));
+
+                JsonNode value = mapper.convertValue(propValue, JsonNode.class);
+                if (documentInfo.isShared() && value.equals(documentInfo.getMetadata().get(prop))) {
+                    continue;
+                }
+
+                documentInfo.ensureWritable();
+                documentInfo.getMetadata().set(prop, value);
             }
         }
         return dirty;
@@ -823,6 +909,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
             boolean dirtyMetadata = updateMetadataModifications(entity.getValue());
 
+            if (!dirtyMetadata && isEntityUnchanged(entity.getKey(), entity.getValue())) {
+                continue;
+            }
+
             ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
 
             if ((!entityChanged(document, entity.getValue(), null)) && !dirtyMetadata) {
@@ -856,6 +946,8 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             }
 
             entity.getValue().setDocument(document);
+            entity.getValue().setDirty(false);
+            updateFingerprint(entity.getValue());
 
             String changeVector;
             if (useOptimisticConcurrency) {
@@ -906,6 +998,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
      */
     public boolean hasChanges() {
         for (Map.Entry<Object, DocumentInfo> entity : documentsByEntity.entrySet()) {
+            if (isEntityUnchanged(entity.getKey(), entity.getValue())) {
+                continue;
+            }
+
             ObjectNode document = entityToJson.convertEntityToJson(entity.getKey(), entity.getValue());
             if (entityChanged(document, entity.getValue(), null)) {
                 return true;
@@ -928,6 +1024,10 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
             return false;
         }
 
+        if (isEntityUnchanged(entity, documentInfo)) {
+            return false;
+        }
+
         ObjectNode document = entityToJson.convertEntityToJson(entity, documentInfo);
         return entityChanged(document, documentInfo, null);
     }
@@ -970,12 +1070,53 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     private void getAllEntitiesChanges(Map<String, List<DocumentsChanges>> changes) {
         for (Map.Entry<String, DocumentInfo> pair : documentsById) {
-            updateMetadataModifications(pair.getValue());
+            boolean dirtyMetadata = updateMetadataModifications(pair.getValue());
+            if (!dirtyMetadata && isEntityUnchanged(pair.getValue().getEntity(), pair.getValue())) {
+                continue;
+            }
+
             ObjectNode newObj = entityToJson.convertEntityToJson(pair.getValue().getEntity(), pair.getValue());
             entityChanged(newObj, pair.getValue(), changes);
         }
     }
 
+    /**
+     * Marks the entity as modified. Required when ChangeTrackingMode.EXPLICIT is used,
+     * in other modes changes are detected automatically.
+     *
+     * @param entity entity
+     */
+    public void markDirty(Object entity) {
+        getDocumentInfo(entity).setDirty(true);
+    }
+
+    /**
+     * Returns true only when entity can be treated as unchanged without comparing json documents.
+     * New documents (without loaded document) are never treated as unchanged.
+     */
+    private boolean isEntityUnchanged(Object entity, DocumentInfo documentInfo) {
+        if (entity == null || documentInfo.getDocument() == null) {
+            return false;
+        }
+
+        switch (getConventions().getChangeTrackingMode()) {
+            case FINGERPRINT:
+                return documentInfo.getFingerprint() != null && documentInfo.getFingerprint().equals(entityToJson.computeFingerprint(entity));
+            case EXPLICIT:
+                return !documentInfo.isDirty();
+            default:
+                return false;
+        }
+    }
+
+    private void updateFingerprint(DocumentInfo documentInfo) {
+        if (getConventions().getChangeTrackingMode() != ChangeTrackingMode.FINGERPRINT || documentInfo.getEntity() == null) {
+            return;
+        }
+
+        documentInfo.setFingerprint(entityToJson.computeFingerprint(documentInfo.getEntity()));
+    }
+
     /**
      * Mark the entity as one that should be ignore for change tracking purposes,
      * it still takes part in the session, but is ignored for SaveChanges.
@@ -1148,14 +1289,15 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
     public boolean checkIfIdAlreadyIncluded(String[] ids, Collection<String> includes) {
         for (String id : ids) {
-            if (_knownMissingIds.contains(id)) {
+            int hash = CaseInsensitiveHashMap.hash(id);
+            if (_knownMissingIds.contains(id, hash)) {
                 continue;
             }
 
             // Check if document was already loaded, the check if we've received it through include
-            DocumentInfo documentInfo = documentsById.getValue(id);
+            DocumentInfo documentInfo = documentsById.getValue(id, hash);
             if (documentInfo == null) {
-                documentInfo = includedDocumentsById.get(id);
+                documentInfo = includedDocumentsById.get(id, hash);
                 if (documentInfo == null) {
                     return false;
                 }
@@ -1193,6 +1335,7 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
 
         ObjectNode value = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
         documentInfo.setMetadata(value);
+        documentInfo.setShared(false);
 
         if (documentInfo.getMetadata() != null) {
             JsonNode changeVector = value.get(Constants.Documents.Metadata.CHANGE_VECTOR);
@@ -1208,6 +1351,9 @@ public abstract class InMemoryDocumentSessionOperations implements CleanCloseabl
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException("Unable to refresh entity: " + e.getMessage(), e);
         }
+
+        documentInfo.setDirty(false);
+        updateFingerprint(documentInfo);
     }
 
     @SuppressWarnings("unchecked")
@@ -47,6 +47,12 @@ public class RawDocumentQuery<T> extends AbstractDocumentQuery<T, RawDocumentQue
         return this;
     }
 
+    @Override
+    public IRawDocumentQuery<T> parallelMaterialization() {
+        _parallelMaterialization();
+        return this;
+    }
+
     @Override
     public IRawDocumentQuery<T> noCaching() {
         _noCaching();
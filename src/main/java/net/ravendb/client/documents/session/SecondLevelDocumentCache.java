@@ -0,0 +1,264 @@
+package net.ravendb.client.documents.session;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.changes.*;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHandler;
+import net.ravendb.client.primitives.VoidArgs;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Store level cache of parsed documents shared by all sessions of a database.
+ *
+ * Documents are kept up to date using changes API: entry is evicted when notification with different change
+ * vector arrives for its id. Documents loaded by requests which started before such notification are never
+ * cached, so a slow response can't bring back a stale document. Documents are cached only while changes connection
+ * is established and server confirmed the subscription. When changes connection fails whole cache is cleared, since
+ * notifications could have been lost.
+ *
+ * Cached documents are not copied - the same instance is referenced by every session which loaded it, so they
+ * are treated as immutable. Sessions mark such documents as shared (DocumentInfo.isShared) and copy them on first write.
+ */
+public class SecondLevelDocumentCache implements CleanCloseable, IObserver<DocumentChange> {
+
+    private final Cache<String, CachedDocument> _documents;
+
+    // ids invalidated recently, with generation of invalidation. Used to reject responses to requests
+    // which started before document was modified
+    private final Cache<String, Long> _invalidations;
+
+    private final AtomicLong _generation = new AtomicLong();
+    private final AtomicLong _forgottenInvalidationsGeneration = new AtomicLong();
+
+    private final LongAdder _hits = new LongAdder();
+    private final LongAdder _misses = new LongAdder();
+
+    private volatile boolean _enabled = true;
+
+    private IDatabaseChanges _changes;
+    private EventHandler<VoidArgs> _connectionStatusHandler;
+    private CleanCloseable _documentsSubscription;
+
+    /**
+     * Creates cache which is not connected to changes API, it has to be invalidated manually.
+     * @param maxNumberOfDocuments Maximum number of cached documents, least recently used ones are evicted first
+     */
+    public SecondLevelDocumentCache(int maxNumberOfDocuments) {
+        if (maxNumberOfDocuments < 1) {
+            throw new IllegalArgumentException("Max number of documents must be greater than 0");
+        }
+
+        _documents = CacheBuilder.newBuilder()
+                .maximumSize(maxNumberOfDocuments)
+                .build();
+
+        _invalidations = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(1024, maxNumberOfDocuments / 4))
+                .<String, Long>removalListener(notification -> {
+                    if (notification.getCause() == RemovalCause.SIZE) {
+                        _forgottenInvalidationsGeneration.accumulateAndGet(notification.getValue(), Math::max);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Creates cache kept up to date using changes API of given database.
+     * @param store Document store
+     * @param database Database name
+     * @param maxNumberOfDocuments Maximum number of cached documents
+     * @return cache
+     */
+    public static SecondLevelDocumentCache create(DocumentStore store, String database, int maxNumberOfDocuments) {
+        SecondLevelDocumentCache cache = new SecondLevelDocumentCache(maxNumberOfDocuments);
+        cache._enabled = false;
+
+        IDatabaseChanges changes = store.changes(database);
+        cache._changes = changes;
+
+        // status changes are raised after server confirmed subscriptions of (re)established connection
+        cache._connectionStatusHandler = (sender, event) -> cache.onConnectionStatusChanged(changes.isConnected());
+        changes.addConnectionStatusChanged(cache._connectionStatusHandler);
+
+        cache._documentsSubscription = changes.forAllDocuments().subscribe(cache);
+
+        if (changes.isConnected()) {
+            try {
+                changes.ensureConnectedNow();
+                cache.onConnectionStatusChanged(changes.isConnected());
+            } catch (Exception e) {
+                // cache stays disabled until connection is established again
+            }
+        }
+
+        return cache;
+    }
+
+    private void onConnectionStatusChanged(boolean connected) {
+        if (connected == _enabled) {
+            return;
+        }
+
+        // when enabled, requests which started while notifications weren't received become stale
+        clear();
+        _enabled = connected;
+    }
+
+    /**
+     * @return true if cache accepts documents, cache connected to changes API is enabled only while the connection is established
+     */
+    public boolean isEnabled() {
+        return _enabled;
+    }
+
+    /**
+     * Generation has to be captured before request is sent and passed to put once response arrives.
+     * @return current generation
+     */
+    public long getGeneration() {
+        return _generation.get();
+    }
+
+    /**
+     * @param id Document id
+     * @return Cached document (with metadata) or null. Returned instance is shared and must not be modified
+     */
+    public ObjectNode get(String id) {
+        CachedDocument cached = _documents.getIfPresent(toKey(id));
+        if (cached == null) {
+            _misses.increment();
+            return null;
+        }
+
+        _hits.increment();
+        return cached.document;
+    }
+
+    /**
+     * Adds document received from server.
+     * @param document Document with metadata, it must not be modified after this call
+     * @param requestGeneration Generation captured before request was sent
+     */
+    public void put(ObjectNode document, long requestGeneration) {
+        if (!_enabled) {
+            return;
+        }
+
+        DocumentInfo documentInfo;
+        try {
+            documentInfo = DocumentInfo.getNewDocumentInfo(document);
+        } catch (IllegalStateException e) {
+            return; // not a regular document
+        }
+
+        String key = toKey(documentInfo.getId());
+        if (isStale(key, requestGeneration)) {
+            return;
+        }
+
+        _documents.put(key, new CachedDocument(documentInfo.getChangeVector(), document));
+
+        // invalidation could arrive while we were adding the document
+        if (isStale(key, requestGeneration)) {
+            _documents.invalidate(key);
+        }
+    }
+
+    private boolean isStale(String key, long requestGeneration) {
+        if (requestGeneration < _forgottenInvalidationsGeneration.get()) {
+            return true;
+        }
+
+        Long invalidatedAt = _invalidations.getIfPresent(key);
+        return invalidatedAt != null && invalidatedAt > requestGeneration;
+    }
+
+    /**
+     * Evicts document, it won't be cached again from responses to requests started before this call.
+     * @param id Document id
+     */
+    public void invalidate(String id) {
+        String key = toKey(id);
+        _invalidations.put(key, _generation.incrementAndGet());
+        _documents.invalidate(key);
+    }
+
+    public void clear() {
+        // generation bump makes all in flight requests stale
+        _forgottenInvalidationsGeneration.set(_generation.incrementAndGet());
+        _invalidations.invalidateAll();
+        _documents.invalidateAll();
+    }
+
+    public long getNumberOfDocuments() {
+        return _documents.size();
+    }
+
+    public long getHits() {
+        return _hits.sum();
+    }
+
+    public long getMisses() {
+        return _misses.sum();
+    }
+
+    @Override
+    public void onNext(DocumentChange value) {
+        if (value.getId() == null) {
+            return;
+        }
+
+        if (value.getType() == DocumentChangeTypes.PUT && value.getChangeVector() != null) {
+            CachedDocument cached = _documents.getIfPresent(toKey(value.getId()));
+            if (cached != null && value.getChangeVector().equals(cached.changeVector)) {
+                return; // we already have this version
+            }
+        }
+
+        invalidate(value.getId());
+    }
+
+    @Override
+    public void onError(Exception error) {
+        clear();
+    }
+
+    @Override
+    public void onCompleted() {
+    }
+
+    @Override
+    public void close() {
+        // changes connection is shared and closed by document store
+        if (_documentsSubscription != null) {
+            _documentsSubscription.close();
+        }
+
+        if (_connectionStatusHandler != null) {
+            _changes.removeConnectionStatusChanged(_connectionStatusHandler);
+        }
+
+        clear();
+    }
+
+    private static String toKey(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private static class CachedDocument {
+        private final String changeVector;
+        private final ObjectNode document;
+
+        CachedDocument(String changeVector, ObjectNode document) {
+            this.changeVector = changeVector;
+            this.document = document;
+        }
+    }
+}
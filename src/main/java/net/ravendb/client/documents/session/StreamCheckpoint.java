@@ -0,0 +1,177 @@
+package net.ravendb.client.documents.session;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.extensions.JsonExtensions;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Position of resumable stream (see IAdvancedSessionOperations.resumableStream).
+ *
+ * Documents stream (startsWith) is resumed after last returned id, using startAfter. Query stream is resumed by skipping
+ * number of already returned results, so it should be used only with queries which have stable ordering (i.e. order by).
+ *
+ * Checkpoint can be persisted using toToken and restored using fromToken, so export can be continued by another process.
+ */
+public class StreamCheckpoint {
+
+    private static final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private String startsWith;
+    private String matches;
+    private String exclude;
+    private int start;
+    private int pageSize = Integer.MAX_VALUE;
+    private String startAfter;
+    private String lastId;
+    private long returnedResults;
+
+    public static StreamCheckpoint forDocuments(String startsWith, String matches, int start, int pageSize, String exclude, String startAfter) {
+        StreamCheckpoint checkpoint = new StreamCheckpoint();
+        checkpoint.startsWith = startsWith;
+        checkpoint.matches = matches;
+        checkpoint.start = start;
+        checkpoint.pageSize = pageSize;
+        checkpoint.exclude = exclude;
+        checkpoint.startAfter = startAfter;
+        return checkpoint;
+    }
+
+    public static StreamCheckpoint forQuery() {
+        return new StreamCheckpoint();
+    }
+
+    /**
+     * @param token Token created using toToken
+     * @return checkpoint
+     */
+    public static StreamCheckpoint fromToken(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Token cannot be null");
+        }
+
+        try {
+            return mapper.readValue(Base64.getUrlDecoder().decode(token), StreamCheckpoint.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid stream checkpoint token: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return Url safe string representing this checkpoint
+     */
+    public String toToken() {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(this));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write stream checkpoint: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Records result returned to the consumer.
+     * @param id Id of returned document
+     */
+    public void advance(String id) {
+        lastId = id;
+        returnedResults++;
+    }
+
+    /**
+     * @return Whether all requested results were returned
+     */
+    @JsonIgnore
+    public boolean isPageSizeReached() {
+        return pageSize != Integer.MAX_VALUE && returnedResults >= pageSize;
+    }
+
+    /**
+     * @return Number of documents to skip in the next request
+     */
+    @JsonIgnore
+    public int getNextStart() {
+        return returnedResults == 0 ? start : 0;
+    }
+
+    /**
+     * @return Page size of the next request
+     */
+    @JsonIgnore
+    public int getNextPageSize() {
+        return pageSize == Integer.MAX_VALUE ? pageSize : (int) Math.max(0, pageSize - returnedResults);
+    }
+
+    /**
+     * @return Id after which next request should start
+     */
+    @JsonIgnore
+    public String getNextStartAfter() {
+        return lastId != null ? lastId : startAfter;
+    }
+
+    public String getStartsWith() {
+        return startsWith;
+    }
+
+    public void setStartsWith(String startsWith) {
+        this.startsWith = startsWith;
+    }
+
+    public String getMatches() {
+        return matches;
+    }
+
+    public void setMatches(String matches) {
+        this.matches = matches;
+    }
+
+    public String getExclude() {
+        return exclude;
+    }
+
+    public void setExclude(String exclude) {
+        this.exclude = exclude;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public void setStart(int start) {
+        this.start = start;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getStartAfter() {
+        return startAfter;
+    }
+
+    public void setStartAfter(String startAfter) {
+        this.startAfter = startAfter;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(String lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getReturnedResults() {
+        return returnedResults;
+    }
+
+    public void setReturnedResults(long returnedResults) {
+        this.returnedResults = returnedResults;
+    }
+}
@@ -3,11 +3,13 @@ package net.ravendb.client.documents.session.operations;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.commands.batches.BatchCommand;
+import net.ravendb.client.documents.commands.batches.ICommandData;
 import net.ravendb.client.documents.session.AfterSaveChangesEventArgs;
 import net.ravendb.client.documents.session.DocumentInfo;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
 import net.ravendb.client.json.JsonArrayResult;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class BatchOperation {
@@ -20,6 +22,7 @@ public class BatchOperation {
 
     private List<Object> _entities;
     private int _sessionCommandsCount;
+    private List<String> _modifiedIds;
 
     public BatchCommand createRequest() {
         InMemoryDocumentSessionOperations.SaveChangesData result = _session.prepareForSaveChanges();
@@ -34,6 +37,15 @@ public class BatchOperation {
 
         _entities = result.getEntities();
 
+        if (_session.getSecondLevelCache() != null) {
+            _modifiedIds = new ArrayList<>(result.getSessionCommands().size());
+            for (ICommandData command : result.getSessionCommands()) {
+                if (command.getId() != null) {
+                    _modifiedIds.add(command.getId());
+                }
+            }
+        }
+
         return new BatchCommand(_session.getConventions(), result.getSessionCommands(), result.getOptions());
     }
 
@@ -43,6 +55,13 @@ public class BatchOperation {
             return;
         }
 
+        if (_modifiedIds != null) {
+            // don't wait for changes notifications, other sessions of this store should see our writes right away
+            for (String id : _modifiedIds) {
+                _session.getSecondLevelCache().invalidate(id);
+            }
+        }
+
         for (int i = 0; i < _sessionCommandsCount; i++) {
             ObjectNode batchResult = (ObjectNode) result.getResults().get(i);
             if (batchResult == null) {
@@ -71,6 +90,8 @@ public class BatchOperation {
                 throw new IllegalStateException("PUT response is invalid. @id is missing on " + documentInfo.getId());
             }
 
+            documentInfo.ensureWritable();
+
             batchResult.fieldNames().forEachRemaining(propertyName -> {
                 if ("Type".equals(propertyName)) {
                     return;
@@ -7,6 +7,8 @@ import net.ravendb.client.documents.commands.GetDocumentsCommand;
 import net.ravendb.client.documents.commands.GetDocumentsResult;
 import net.ravendb.client.documents.session.DocumentInfo;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.IncludesUtil;
+import net.ravendb.client.documents.session.SecondLevelDocumentCache;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -20,12 +22,24 @@ public class LoadOperation {
     private String[] _ids;
     private String[] _includes;
     private final List<String> _idsToCheckOnServer = new ArrayList<>();
+    private final List<String> _idsServedFromCache = new ArrayList<>();
+
+    private final SecondLevelDocumentCache _secondLevelCache;
+    private final long _cacheGeneration;
 
     public LoadOperation(InMemoryDocumentSessionOperations _session) {
         this._session = _session;
+        this._secondLevelCache = _session.getSecondLevelCache();
+        this._cacheGeneration = _secondLevelCache != null ? _secondLevelCache.getGeneration() : 0;
     }
 
     public GetDocumentsCommand createRequest() {
+        if (_includes != null && _includes.length > 0 && !_idsServedFromCache.isEmpty() && !tryServeIncludesFromCache()) {
+            // we can't resolve includes of cached documents, server has to send them
+            _idsToCheckOnServer.addAll(_idsServedFromCache);
+            _idsServedFromCache.clear();
+        }
+
         if (_idsToCheckOnServer.size() == 0) {
             return null;
         }
@@ -56,10 +70,66 @@ public class LoadOperation {
             return this;
         }
 
+        if (tryServeFromCache(id)) {
+            _idsServedFromCache.add(id);
+            return this;
+        }
+
         _idsToCheckOnServer.add(id);
         return this;
     }
 
+    private boolean tryServeFromCache(String id) {
+        if (_secondLevelCache == null) {
+            return false;
+        }
+
+        ObjectNode document = _secondLevelCache.get(id);
+        if (document == null) {
+            return false;
+        }
+
+        DocumentInfo documentInfo = DocumentInfo.getNewDocumentInfo(document);
+        documentInfo.setShared(true);
+        _session.documentsById.add(documentInfo);
+        return true;
+    }
+
+    private boolean tryServeIncludesFromCache() {
+        for (String id : _idsServedFromCache) {
+            DocumentInfo documentInfo = _session.documentsById.getValue(id);
+            if (documentInfo == null) {
+                return false;
+            }
+
+            for (String include : _includes) {
+                final boolean[] hasAll = {true}; //using fake array here to force final keyword on variable
+
+                IncludesUtil.include(documentInfo.getDocument(), include, includedId -> {
+                    if (!hasAll[0] || _session.isLoaded(includedId)) {
+                        return;
+                    }
+
+                    ObjectNode included = _secondLevelCache.get(includedId);
+                    if (included == null) {
+                        hasAll[0] = false;
+                        return;
+                    }
+
+                    DocumentInfo includedInfo = DocumentInfo.getNewDocumentInfo(included);
+                    includedInfo.setShared(true);
+                    _session.includedDocumentsById.put(includedInfo.getId(), includedInfo);
+                });
+
+                if (!hasAll[0]) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
     public LoadOperation withIncludes(String[] includes) {
         _includes = includes;
         return this;
@@ -91,6 +161,10 @@ public class LoadOperation {
     }
 
     private <T> T getDocument(Class<T> clazz, String id) {
+        return getDocument(clazz, id, null);
+    }
+
+    private <T> T getDocument(Class<T> clazz, String id, Object materializedEntity) {
         if (id == null) {
             return Defaults.defaultValue(clazz);
         }
@@ -99,34 +173,67 @@ public class LoadOperation {
             return Defaults.defaultValue(clazz);
         }
 
-        DocumentInfo doc = _session.documentsById.getValue(id);
+        DocumentInfo doc = findDocument(id);
         if (doc != null) {
-            return _session.trackEntity(clazz, doc);
+            return _session.trackEntity(clazz, doc, materializedEntity);
         }
 
+        return Defaults.defaultValue(clazz);
+    }
 
-        doc = _session.includedDocumentsById.get(id);
+    private DocumentInfo findDocument(String id) {
+        DocumentInfo doc = _session.documentsById.getValue(id);
         if (doc != null) {
-            return _session.trackEntity(clazz, doc);
+            return doc;
         }
 
-        return Defaults.defaultValue(clazz);
+        return _session.includedDocumentsById.get(id);
     }
 
     public <T> Map<String, T> getDocuments(Class<T> clazz) {
         Map<String, T> finalResults = new TreeMap<>(String::compareToIgnoreCase);
 
-        for (String id : _ids) {
+        Object[] materialized = null;
+        if (ParallelEntityMaterializer.shouldMaterialize(_session.isParallelMaterialization(), _ids.length) && !ObjectNode.class.equals(clazz)) {
+            materialized = materializeInParallel(clazz);
+        }
+
+        for (int i = 0; i < _ids.length; i++) {
+            String id = _ids[i];
             if (id == null) {
                 continue;
             }
 
-            finalResults.put(id, getDocument(clazz, id));
+            finalResults.put(id, getDocument(clazz, id, materialized != null ? materialized[i] : null));
         }
 
         return finalResults;
 
     }
+
+    /**
+     * Converts documents which don't have entities yet on fork-join pool, without touching session state.
+     */
+    private Object[] materializeInParallel(Class<?> clazz) {
+        ObjectNode[] documents = new ObjectNode[_ids.length];
+        Set<String> seen = new TreeSet<>(String::compareToIgnoreCase);
+
+        for (int i = 0; i < _ids.length; i++) {
+            String id = _ids[i];
+            if (id == null || !seen.add(id) || _session.isDeleted(id)) {
+                continue; // duplicated ids will get entity created for first occurrence
+            }
+
+            DocumentInfo doc = findDocument(id);
+            if (doc != null && doc.getEntity() == null) {
+                documents[i] = doc.getDocument();
+            }
+        }
+
+        return ParallelEntityMaterializer.materialize(_ids.length, i -> documents[i] != null
+                ? _session.getEntityToJson().convertToEntity(clazz, _ids[i], documents[i])
+                : null);
+    }
     public void setResult(GetDocumentsResult result) {
         if (result == null) {
             return;
@@ -141,6 +248,28 @@ public class LoadOperation {
 
             DocumentInfo newDocumentInfo = DocumentInfo.getNewDocumentInfo((ObjectNode) document);
             _session.documentsById.add(newDocumentInfo);
+
+            if (_secondLevelCache != null) {
+                _secondLevelCache.put((ObjectNode) document, _cacheGeneration);
+                newDocumentInfo.setShared(true);
+            }
+        }
+
+        if (_secondLevelCache != null && result.getIncludes() != null) {
+            Iterator<Map.Entry<String, JsonNode>> includes = result.getIncludes().fields();
+            while (includes.hasNext()) {
+                Map.Entry<String, JsonNode> include = includes.next();
+                if (include.getValue() == null || !include.getValue().isObject()) {
+                    continue;
+                }
+
+                _secondLevelCache.put((ObjectNode) include.getValue(), _cacheGeneration);
+
+                DocumentInfo includedInfo = _session.includedDocumentsById.get(include.getKey());
+                if (includedInfo != null && includedInfo.getDocument() == include.getValue()) {
+                    includedInfo.setShared(true);
+                }
+            }
         }
 
         _session.registerMissingIncludes(result.getResults(), result.getIncludes(), _includes);
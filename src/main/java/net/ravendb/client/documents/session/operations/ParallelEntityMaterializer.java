@@ -0,0 +1,37 @@
+package net.ravendb.client.documents.session.operations;
+
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Converts documents to entities on fork-join pool. Converters must not touch session state - entities
+ * are registered in session afterwards, on calling thread and in results order, so identity map semantics
+ * are the same as for serial materialization.
+ */
+class ParallelEntityMaterializer {
+
+    /**
+     * For smaller results cost of fork-join tasks is higher than the gain
+     */
+    static final int MIN_NUMBER_OF_RESULTS = 128;
+
+    private ParallelEntityMaterializer() {
+    }
+
+    static boolean shouldMaterialize(boolean enabled, int numberOfResults) {
+        return enabled && numberOfResults >= MIN_NUMBER_OF_RESULTS;
+    }
+
+    /**
+     * @param numberOfResults Number of results
+     * @param converter Converts result with given index, returns null when result should be converted serially
+     * @return converted results
+     */
+    static Object[] materialize(int numberOfResults, IntFunction<Object> converter) {
+        Object[] results = new Object[numberOfResults];
+        IntStream.range(0, numberOfResults)
+                .parallel()
+                .forEach(i -> results[i] = converter.apply(i));
+        return results;
+    }
+}
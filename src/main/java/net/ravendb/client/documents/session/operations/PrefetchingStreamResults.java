@@ -0,0 +1,187 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.CloseableIterator;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Reads stream results on background thread into a bounded queue, so consumer processing overlaps with
+ * network reads and parsing. Reader waits when queue holds max number of documents or max number of bytes
+ * (at least one document is always queued).
+ */
+class PrefetchingStreamResults implements CloseableIterator<ObjectNode> {
+
+    private static class PrefetchedDocument {
+        final ObjectNode document;
+        final long size;
+
+        PrefetchedDocument(ObjectNode document, long size) {
+            this.document = document;
+            this.size = size;
+        }
+    }
+
+    private final CloseableIterator<ObjectNode> _inner;
+    private final LongSupplier _position;
+    private final int _maxDocuments;
+    private final long _maxBytes;
+
+    private final ReentrantLock _lock = new ReentrantLock();
+    private final Condition _notEmpty = _lock.newCondition();
+    private final Condition _notFull = _lock.newCondition();
+    private final ArrayDeque<PrefetchedDocument> _queue = new ArrayDeque<>();
+
+    private long _queuedBytes;
+    private boolean _completed;
+    private Throwable _error;
+    private volatile boolean _closed;
+
+    private final CompletableFuture<Void> _reader;
+
+    /**
+     * @param inner Stream results, used only by background reader
+     * @param position Current position of inner parser in bytes, used to compute sizes of documents
+     * @param maxDocuments Maximum number of queued documents, 0 - no limit
+     * @param maxBytes Maximum size of queued documents, 0 - no limit
+     * @param executorService Executor for background reader
+     */
+    PrefetchingStreamResults(CloseableIterator<ObjectNode> inner, LongSupplier position, int maxDocuments, long maxBytes,
+                             ExecutorService executorService) {
+        _inner = inner;
+        _position = position;
+        _maxDocuments = maxDocuments > 0 ? maxDocuments : Integer.MAX_VALUE;
+        _maxBytes = maxBytes > 0 ? maxBytes : Long.MAX_VALUE;
+
+        _reader = CompletableFuture.runAsync(this::readAhead, executorService);
+    }
+
+    private void readAhead() {
+        Throwable error = null;
+
+        try {
+            while (!_closed && _inner.hasNext()) {
+                long start = _position.getAsLong();
+                ObjectNode document = _inner.next();
+                long size = Math.max(0, _position.getAsLong() - start);
+
+                if (!enqueue(new PrefetchedDocument(document, size))) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = new IllegalStateException("Stream reader was interrupted", e);
+        } catch (Throwable e) {
+            // errors (i.e. OutOfMemoryError) are passed to the consumer as well
+            error = e;
+        } finally {
+            // consumer waits for completion, so it has to be posted no matter how reader ended
+            _lock.lock();
+            try {
+                _completed = true;
+                _error = _closed ? null : error;
+                _notEmpty.signalAll();
+            } finally {
+                _lock.unlock();
+            }
+        }
+    }
+
+    private boolean enqueue(PrefetchedDocument document) throws InterruptedException {
+        _lock.lock();
+        try {
+            while (!_closed && !_queue.isEmpty()
+                    && (_queue.size() >= _maxDocuments || _queuedBytes + document.size > _maxBytes)) {
+                _notFull.await();
+            }
+
+            if (_closed) {
+                return false;
+            }
+
+            _queue.add(document);
+            _queuedBytes += document.size;
+            _notEmpty.signal();
+            return true;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        _lock.lock();
+        try {
+            while (_queue.isEmpty() && !_completed) {
+                _notEmpty.await();
+            }
+
+            if (!_queue.isEmpty()) {
+                return true;
+            }
+
+            if (_error instanceof Error) {
+                throw (Error) _error;
+            }
+
+            if (_error != null) {
+                throw (RuntimeException) _error;
+            }
+
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for stream results", e);
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public ObjectNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        _lock.lock();
+        try {
+            PrefetchedDocument document = _queue.poll();
+            _queuedBytes -= document.size;
+            _notFull.signal();
+            return document.document;
+        } finally {
+            _lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+
+        _lock.lock();
+        try {
+            _closed = true;
+            _queue.clear();
+            _queuedBytes = 0;
+            _notFull.signalAll();
+        } finally {
+            _lock.unlock();
+        }
+
+        // closing the response interrupts reader blocked on network read
+        try {
+            _inner.close();
+        } finally {
+            _reader.exceptionally(e -> null).join();
+        }
+    }
+}
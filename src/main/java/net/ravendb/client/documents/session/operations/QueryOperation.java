@@ -2,6 +2,7 @@ package net.ravendb.client.documents.session.operations;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.ValueNode;
 import com.google.common.base.Defaults;
@@ -21,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +38,9 @@ public class QueryOperation {
     private final FieldsToFetchToken _fieldsToFetch;
     private Stopwatch _sp;
     private boolean _disableEntitiesTracking;
+    private boolean _parallelMaterialization;
+    private Class<?> _streamedResultClass;
+    private String[] _cacheDependencies;
     private static final Log logger = LogFactory.getLog(QueryOperation.class);
 
     public QueryOperation(InMemoryDocumentSessionOperations session, String indexName, IndexQuery indexQuery,
@@ -56,13 +61,42 @@ public class QueryOperation {
 
         logQuery();
 
-        return new QueryCommand(_session.getConventions(), _indexQuery, _metadataOnly, _indexEntriesOnly);
+        QueryCommand command = _streamedResultClass != null && !_metadataOnly && !_indexEntriesOnly
+                ? new StreamingQueryCommand(_session.getConventions(), _indexQuery, _streamedResultClass, _fieldsToFetch, _disableEntitiesTracking)
+                : new QueryCommand(_session.getConventions(), _indexQuery, _metadataOnly, _indexEntriesOnly);
+
+        command.setCacheDependencies(_cacheDependencies);
+        return command;
+    }
+
+    /**
+     * @param cacheDependencies Index or collection cached query results depend on, null - results depend on everything
+     */
+    public void setCacheDependencies(String[] cacheDependencies) {
+        _cacheDependencies = cacheDependencies;
+    }
+
+    /**
+     * Results will be converted to entities of given class while response is read, json is kept only
+     * for documents which session tracks. Resulting QueryResult contains only such documents, so it should
+     * be enabled only when results are consumed by complete.
+     * @param clazz Class of entities which will be passed to complete
+     */
+    public void enableResultsStreaming(Class<?> clazz) {
+        _streamedResultClass = clazz;
     }
 
     public QueryResult getCurrentQueryResults() {
         return _currentQueryResults;
     }
 
+    /**
+     * @return true if current results were streamed, so their raw results contain only documents which session tracks
+     */
+    public boolean isResultsStreamed() {
+        return _currentQueryResults instanceof StreamedQueryResult;
+    }
+
     public void setResult(QueryResult queryResult) {
         ensureIsAcceptableAndSaveResult(queryResult);
     }
@@ -101,25 +135,31 @@ public class QueryOperation {
     }
 
     public <T> List<T> complete(Class<T> clazz) {
+        if (_currentQueryResults instanceof StreamedQueryResult && clazz.equals(_streamedResultClass)) {
+            return completeStreamed(clazz, (StreamedQueryResult) _currentQueryResults);
+        }
+
         QueryResult queryResult = _currentQueryResults.createSnapshot();
 
         if (!_disableEntitiesTracking) {
             _session.registerIncludes(queryResult.getIncludes());
         }
 
-        ArrayList<T> list = new ArrayList<>();
+        ArrayNode results = queryResult.getResults();
+        ArrayList<T> list = new ArrayList<>(results.size());
+
+        Object[] materialized = null;
+        if (ParallelEntityMaterializer.shouldMaterialize(_parallelMaterialization, results.size())) {
+            materialized = materializeInParallel(clazz, results);
+        }
 
         try {
-            for (JsonNode document : queryResult.getResults()) {
+            for (int i = 0; i < results.size(); i++) {
+                JsonNode document = results.get(i);
                 ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
-                JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
-
-                String id = null;
-                if (idNode != null && idNode.isTextual()) {
-                    id = idNode.asText();
-                }
 
-                list.add(deserialize(clazz, id, (ObjectNode) document, metadata, _fieldsToFetch, _disableEntitiesTracking, _session));
+                list.add(deserialize(clazz, getId(metadata), (ObjectNode) document, metadata, _fieldsToFetch, _disableEntitiesTracking, _session,
+                        materialized != null ? materialized[i] : null));
             }
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
@@ -133,11 +173,95 @@ public class QueryOperation {
     }
 
     @SuppressWarnings("unchecked")
-    public static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session) throws JsonProcessingException {
+    private <T> List<T> completeStreamed(Class<T> clazz, StreamedQueryResult queryResult) {
+        if (!_disableEntitiesTracking) {
+            _session.registerIncludes(queryResult.getIncludes());
+        }
+
+        List<StreamedQueryResult.Item> items = queryResult.getItems();
+        ArrayList<T> list = new ArrayList<>(items.size());
+
+        try {
+            for (StreamedQueryResult.Item item : items) {
+                if (!item.isMaterialized()) {
+                    list.add(deserialize(clazz, item.id, item.document, item.metadata, _fieldsToFetch, _disableEntitiesTracking, _session));
+                } else if (isProjection(item.metadata)) {
+                    list.add((T) item.entity);
+                } else {
+                    // documents are materialized only for no tracking queries, session still returns its own instance if it has one
+                    list.add((T) _session.trackEntity(clazz, item.id, null, item.metadata, true, item.entity));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+        }
+
+        if (!_disableEntitiesTracking) {
+            _session.registerMissingIncludes(queryResult.getResults(), queryResult.getIncludes(), queryResult.getIncludedPaths());
+        }
+
+        return list;
+    }
+
+    private static String getId(ObjectNode metadata) {
+        JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
+        if (idNode != null && idNode.isTextual()) {
+            return idNode.asText();
+        }
 
+        return null;
+    }
+
+    private static boolean isProjection(ObjectNode metadata) {
         JsonNode projection = metadata.get("@projection");
-        if (projection == null || !projection.asBoolean()) {
-            return (T)session.trackEntity(clazz, id, document, metadata, disableEntitiesTracking);
+        return projection != null && projection.asBoolean();
+    }
+
+    /**
+     * Converts results to entities on fork-join pool, without touching session state. Results which
+     * session already has entities for are skipped, they are resolved by trackEntity.
+     */
+    private Object[] materializeInParallel(Class<?> clazz, ArrayNode results) {
+        boolean[] skip = new boolean[results.size()];
+        for (int i = 0; i < results.size(); i++) {
+            ObjectNode metadata = (ObjectNode) results.get(i).get(Constants.Documents.Metadata.KEY);
+            skip[i] = ObjectNode.class.equals(clazz) || !isProjection(metadata) && _session.isEntityMaterialized(getId(metadata));
+        }
+
+        return ParallelEntityMaterializer.materialize(results.size(), i -> {
+            if (skip[i]) {
+                return null;
+            }
+
+            ObjectNode document = (ObjectNode) results.get(i);
+            ObjectNode metadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
+            String id = getId(metadata);
+
+            try {
+                if (isProjection(metadata)) {
+                    return deserialize(clazz, id, document, metadata, _fieldsToFetch, true, _session);
+                }
+
+                return _session.getEntityToJson().convertToEntity(clazz, StringUtils.isEmpty(id) ? null : id, document);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    public static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session) throws JsonProcessingException {
+        return deserialize(clazz, id, document, metadata, fieldsToFetch, disableEntitiesTracking, session, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T deserialize(Class<T> clazz, String id, ObjectNode document, ObjectNode metadata, FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking, InMemoryDocumentSessionOperations session, Object materialized) throws JsonProcessingException {
+
+        if (!isProjection(metadata)) {
+            return (T)session.trackEntity(clazz, id, document, metadata, disableEntitiesTracking, materialized);
+        }
+
+        if (materialized != null) {
+            return (T) materialized;
         }
 
         if (fieldsToFetch != null && fieldsToFetch.projections != null && fieldsToFetch.projections.length == 1) { // we only select a single field
@@ -167,7 +291,14 @@ public class QueryOperation {
             }
         }
 
-        T result = session.getConventions().getEntityMapper().treeToValue(document, clazz);
+        T result;
+        try {
+            result = session.getConventions().getEntityReader(clazz).readValue(document);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read json: " + e.getMessage(), e);
+        }
 
         if (StringUtils.isNotEmpty(id)) {
             // we need to make an additional check, since it is possible that a value was explicitly stated
@@ -193,6 +324,14 @@ public class QueryOperation {
         this._disableEntitiesTracking = disableEntitiesTracking;
     }
 
+    public boolean isParallelMaterialization() {
+        return _parallelMaterialization;
+    }
+
+    public void setParallelMaterialization(boolean parallelMaterialization) {
+        this._parallelMaterialization = parallelMaterialization;
+    }
+
     public void ensureIsAcceptableAndSaveResult(QueryResult result) {
         if (result == null) {
             throw new IndexDoesNotExistException("Could not find index " + _indexName);
@@ -226,10 +365,18 @@ public class QueryOperation {
                 parameters.append(") ");
             }
 
-            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + result.getResults().size() + isStale + "results (total index results: " + result.getTotalResults() + ")");
+            logger.info("Query " + _indexQuery.getQuery() + " " + parameters.toString() + "returned " + getNumberOfResults(result) + isStale + "results (total index results: " + result.getTotalResults() + ")");
         }
     }
 
+    private static int getNumberOfResults(QueryResult result) {
+        if (result instanceof StreamedQueryResult) {
+            return ((StreamedQueryResult) result).getItems().size();
+        }
+
+        return result.getResults().size();
+    }
+
     public static void ensureIsAcceptable(QueryResult result, boolean waitForNonStaleResults, Stopwatch duration, InMemoryDocumentSessionOperations session) {
         if (waitForNonStaleResults && result.isStale()) {
             duration.stop();
@@ -4,9 +4,11 @@ import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import net.ravendb.client.documents.CloseableIterator;
+import net.ravendb.client.documents.DocumentStoreBase;
 import net.ravendb.client.documents.commands.QueryStreamCommand;
 import net.ravendb.client.documents.commands.StreamCommand;
 import net.ravendb.client.documents.commands.StreamResultResponse;
+import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.queries.IndexQuery;
 import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
 import net.ravendb.client.documents.session.StreamQueryStatistics;
@@ -96,7 +98,16 @@ public class StreamOperation {
                 throw new IllegalStateException("Expected results array start");
             }
 
-            return new YieldStreamResults(response, parser);
+            YieldStreamResults results = new YieldStreamResults(response, parser);
+
+            DocumentConventions conventions = _session.getConventions();
+            if (conventions.getStreamPrefetchDocuments() > 0 || conventions.getStreamPrefetchBytes() > 0) {
+                return new PrefetchingStreamResults(results, () -> parser.getCurrentLocation().getByteOffset(),
+                        conventions.getStreamPrefetchDocuments(), conventions.getStreamPrefetchBytes(),
+                        ((DocumentStoreBase) _session.getDocumentStore()).getLongRunningExecutorService());
+            }
+
+            return results;
         } catch (IOException e) {
             throw new RuntimeException("Unable to stream result: " + e.getMessage(), e);
         }
@@ -0,0 +1,38 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.queries.QueryResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query result read by StreamingQueryCommand. Results which session doesn't need as json were converted
+ * to entities while response was parsed, so getResults contains only the documents which were kept as ObjectNode.
+ */
+class StreamedQueryResult extends QueryResult {
+
+    private final List<Item> _items = new ArrayList<>();
+
+    List<Item> getItems() {
+        return _items;
+    }
+
+    static class Item {
+        final String id;
+        final ObjectNode metadata;
+        final ObjectNode document;
+        final Object entity;
+
+        Item(String id, ObjectNode metadata, ObjectNode document, Object entity) {
+            this.id = id;
+            this.metadata = metadata;
+            this.document = document;
+            this.entity = entity;
+        }
+
+        boolean isMaterialized() {
+            return document == null;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package net.ravendb.client.documents.session.operations;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.commands.QueryCommand;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.tokens.FieldsToFetchToken;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Query command which converts results to entities directly from response parser, without building
+ * ObjectNode for every result. Json is kept only for results which session needs it for:
+ * tracked documents and single field projections.
+ *
+ * Each result is buffered as a token sequence only while it is converted, so peak memory is proportional to a single result
+ * instead of the whole page.
+ */
+class StreamingQueryCommand extends QueryCommand {
+
+    private final DocumentConventions _conventions;
+    private final Class<?> _clazz;
+    private final FieldsToFetchToken _fieldsToFetch;
+    private final boolean _disableEntitiesTracking;
+    private final Field _identityProperty;
+    private final GenerateEntityIdOnTheClient _generateEntityIdOnTheClient;
+
+    StreamingQueryCommand(DocumentConventions conventions, IndexQuery indexQuery, Class<?> clazz,
+                          FieldsToFetchToken fieldsToFetch, boolean disableEntitiesTracking) {
+        super(conventions, indexQuery, false, false);
+
+        _conventions = conventions;
+        _clazz = clazz;
+        _fieldsToFetch = fieldsToFetch;
+        _disableEntitiesTracking = disableEntitiesTracking;
+        _identityProperty = conventions.getIdentityProperty(clazz);
+        _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(conventions, null);
+    }
+
+    @Override
+    public void setResponse(String response, boolean fromCache) throws IOException {
+        if (response == null) {
+            result = null;
+            return;
+        }
+
+        try (JsonParser parser = mapper.getFactory().createParser(response)) {
+            result = read(parser);
+        }
+
+        if (fromCache) {
+            result.setDurationInMs(-1);
+        }
+    }
+
+    @Override
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        if (response == null) {
+            result = null;
+            return;
+        }
+
+        try (JsonParser parser = mapper.getFactory().createParser(response)) {
+            result = read(parser);
+        }
+
+        if (fromCache) {
+            result.setDurationInMs(-1);
+        }
+    }
+
+    StreamedQueryResult read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Expected start of query result object, but got: " + parser.getCurrentToken());
+        }
+
+        ObjectNode header = mapper.createObjectNode();
+        ArrayNode documents = mapper.createArrayNode();
+        List<StreamedQueryResult.Item> items = new ArrayList<>();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if (!"Results".equals(name) || token != JsonToken.START_ARRAY) {
+                header.set(name, mapper.readTree(parser));
+                continue;
+            }
+
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                StreamedQueryResult.Item item = readResult(parser);
+                if (!item.isMaterialized()) {
+                    documents.add(item.document);
+                }
+                items.add(item);
+            }
+        }
+
+        StreamedQueryResult queryResult = mapper.treeToValue(header, StreamedQueryResult.class);
+        queryResult.setResults(documents);
+        queryResult.getItems().addAll(items);
+
+        return queryResult;
+    }
+
+    private StreamedQueryResult.Item readResult(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+
+        ObjectNode metadata = null;
+        boolean hasIdentityValue = false;
+
+        try (JsonParser fields = buffer.asParser()) {
+            fields.nextToken();
+
+            while (fields.nextToken() == JsonToken.FIELD_NAME) {
+                String name = fields.getCurrentName();
+                fields.nextToken();
+
+                if (Constants.Documents.Metadata.KEY.equals(name) && fields.getCurrentToken() == JsonToken.START_OBJECT) {
+                    metadata = mapper.readTree(fields);
+                    continue;
+                }
+
+                if (_identityProperty != null && _identityProperty.getName().equals(name)) {
+                    hasIdentityValue = true;
+                }
+
+                fields.skipChildren();
+            }
+        }
+
+        if (metadata == null || !canMaterialize(metadata)) {
+            try (JsonParser tree = buffer.asParser()) {
+                ObjectNode document = mapper.readTree(tree);
+                ObjectNode documentMetadata = (ObjectNode) document.get(Constants.Documents.Metadata.KEY);
+                return new StreamedQueryResult.Item(getId(documentMetadata), documentMetadata, document, null);
+            }
+        }
+
+        String id = getId(metadata);
+        Object entity = isProjection(metadata)
+                ? readProjection(buffer, id, hasIdentityValue)
+                : readDocument(buffer, id, metadata);
+
+        return new StreamedQueryResult.Item(id, metadata, null, entity);
+    }
+
+    private boolean canMaterialize(ObjectNode metadata) {
+        if (ObjectNode.class.equals(_clazz)) {
+            return false;
+        }
+
+        if (!isProjection(metadata)) {
+            // tracked documents need json to detect changes
+            return _disableEntitiesTracking && _conventions.isFindJavaClassFromMetadata();
+        }
+
+        // single field projections are extracted from json
+        return _fieldsToFetch == null || _fieldsToFetch.projections == null || _fieldsToFetch.projections.length != 1;
+    }
+
+    private Object readProjection(TokenBuffer buffer, String id, boolean hasIdentityValue) throws IOException {
+        Object entity;
+        try (JsonParser parser = buffer.asParser()) {
+            entity = _conventions.getEntityReader(_clazz).readValue(parser);
+        }
+
+        // identity property explicitly stated in projection is not overridden
+        if (StringUtils.isNotEmpty(id) && _identityProperty != null && !hasIdentityValue) {
+            _generateEntityIdOnTheClient.trySetIdentity(entity, id);
+        }
+
+        return entity;
+    }
+
+    /**
+     * The same conversion as EntityToJson.convertToEntity, java class is resolved using metadata only.
+     */
+    private Object readDocument(TokenBuffer buffer, String id, ObjectNode metadata) {
+        if (StringUtils.isEmpty(id)) {
+            id = null;
+        }
+
+        try {
+            Class<?> type = _clazz;
+
+            ObjectNode metadataOnly = mapper.createObjectNode();
+            metadataOnly.set(Constants.Documents.Metadata.KEY, metadata);
+
+            String documentType = _conventions.getJavaClass(id, metadataOnly);
+            if (documentType != null) {
+                Class<?> resolvedType = _conventions.resolveJavaClass(documentType);
+                if (resolvedType == null) {
+                    throw new ClassNotFoundException(documentType);
+                }
+
+                if (_clazz.isAssignableFrom(resolvedType)) {
+                    type = resolvedType;
+                }
+            }
+
+            Object entity;
+            try (JsonParser parser = buffer.asParser()) {
+                entity = _conventions.getEntityReader(type).readValue(parser);
+            }
+
+            if (id != null) {
+                _generateEntityIdOnTheClient.trySetIdentity(entity, id);
+            }
+
+            return entity;
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not convert document " + id + " to entity of type " + _clazz.getName(), e);
+        }
+    }
+
+    private static String getId(ObjectNode metadata) {
+        if (metadata == null) {
+            return null;
+        }
+
+        JsonNode idNode = metadata.get(Constants.Documents.Metadata.ID);
+        if (idNode != null && idNode.isTextual()) {
+            return idNode.asText();
+        }
+
+        return null;
+    }
+
+    private static boolean isProjection(ObjectNode metadata) {
+        JsonNode projection = metadata.get("@projection");
+        return projection != null && projection.asBoolean();
+    }
+}
@@ -342,6 +342,23 @@ public class DocumentSubscriptions implements AutoCloseable {
         return getSubscriptionWorkerForRevisions(clazz, new SubscriptionWorkerOptions(subscriptionName), database);
     }
 
+    /**
+     * Creates group which runs many subscription workers without dedicated threads. Connections are read by a shared
+     * event loop and batches of all subscriptions in the group are processed by at most maxConcurrentHandlers handlers,
+     * subscriptions with pending batches take turns.
+     * @param maxConcurrentHandlers Maximum number of batches processed at once
+     * @return Group which creates subscription workers
+     */
+    public SubscriptionWorkerGroup createWorkerGroup(int maxConcurrentHandlers) {
+        _store.assertInitialized();
+
+        SubscriptionWorkerGroup group = new SubscriptionWorkerGroup(_store, maxConcurrentHandlers);
+        group.onClosed = sender -> _subscriptions.remove(sender);
+        _subscriptions.put(group, true);
+
+        return group;
+    }
+
     /**
      * It downloads a list of all existing subscriptions in a database.
      * @param start Range start
@@ -1,19 +1,24 @@
 package net.ravendb.client.documents.subscriptions;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import net.ravendb.client.Constants;
 import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.documents.identity.GenerateEntityIdOnTheClient;
 import net.ravendb.client.documents.session.EntityToJson;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.documents.session.IMetadataDictionary;
 import net.ravendb.client.documents.session.SessionOptions;
+import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.http.RequestExecutor;
 import net.ravendb.client.json.MetadataAsDictionary;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,9 +26,13 @@ public class SubscriptionBatch<T> {
 
     /**
      * Represents a single item in a subscription batch results. This class should be used only inside the subscription's Run delegate, using it outside this scope might cause unexpected behavior.
+     *
+     * Result and raw result are created on first access, so handlers which inspect only id or metadata don't pay for deserialization.
      */
     public static class Item<T> {
         private T _result;
+        private boolean _hasResult;
+        private SubscriptionBatch<T> _batch;
         private String exceptionMessage;
         private String id;
         private String changeVector;
@@ -48,17 +57,33 @@ public class SubscriptionBatch<T> {
             if (exceptionMessage != null) {
                 throwItemProcessException();
             }
+
+            if (!_hasResult) {
+                _result = _batch.convertToEntity(this);
+                _hasResult = true;
+            }
+
             return _result;
         }
 
         void setResult(T result) {
             _result = result;
+            _hasResult = true;
         }
 
+        private TokenBuffer rawTokens;
         private ObjectNode rawResult;
         private ObjectNode rawMetadata;
 
         public ObjectNode getRawResult() {
+            if (rawResult == null && rawTokens != null) {
+                try (JsonParser parser = rawTokens.asParser()) {
+                    rawResult = JsonExtensions.getDefaultMapper().readTree(parser);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to read document " + id, e);
+                }
+            }
+
             return rawResult;
         }
 
@@ -122,16 +147,18 @@ public class SubscriptionBatch<T> {
         _generateEntityIdOnTheClient = new GenerateEntityIdOnTheClient(_requestExecutor.getConventions(), entity -> { throw new IllegalStateException("Shouldn't be generating new ids here"); });
     }
 
-    @SuppressWarnings("unchecked")
     String initialize(List<SubscriptionConnectionServerMessage> batch) {
         _items.clear();
         String lastReceivedChangeVector = null;
 
         for (SubscriptionConnectionServerMessage item : batch) {
-            ObjectNode metadata;
-            ObjectNode curDoc = item.getData();
+            // data read by SubscriptionConnectionServerMessageReader is kept as tokens until it is needed
+            TokenBuffer curDocTokens = item.getDataTokens();
+            ObjectNode curDoc = curDocTokens == null ? item.getData() : null;
 
-            metadata = (ObjectNode) curDoc.get(Constants.Documents.Metadata.KEY);
+            ObjectNode metadata = curDocTokens != null
+                    ? item.getDataMetadata()
+                    : (ObjectNode) curDoc.get(Constants.Documents.Metadata.KEY);
             if (metadata == null) {
                 throwRequired("@metadata field");
             }
@@ -152,45 +179,16 @@ public class SubscriptionBatch<T> {
             }
 
             if (_logger.isDebugEnabled()) {
-                _logger.debug("Got " + id + " (change vector: [" + lastReceivedChangeVector + "], size: " + curDoc.size() + ")");
-            }
-
-
-
-            T instance = null;
-
-            if (item.getException() == null) {
-                if (ObjectNode.class.equals(_clazz)) {
-                    instance = (T) curDoc;
-                } else {
-                    if (_revisions) {
-                        // parse outer object manually as Previous/Current has PascalCase
-                        JsonNode previous = curDoc.get("Previous");
-                        JsonNode current = curDoc.get("Current");
-                        Revision<T> revision = new Revision<>();
-                        if (current != null && !current.isNull()) {
-                            revision.setCurrent((T) EntityToJson.convertToEntity(_clazz, id, (ObjectNode) current, _requestExecutor.getConventions()));
-                        }
-                        if (previous != null && !previous.isNull()) {
-                            revision.setPrevious((T) EntityToJson.convertToEntity(_clazz, id, (ObjectNode) previous, _requestExecutor.getConventions()));
-                        }
-                        instance = (T) revision;
-                    } else {
-                        instance = (T) EntityToJson.convertToEntity(_clazz, id, curDoc, _requestExecutor.getConventions());
-                    }
-                }
-
-                if (StringUtils.isNotEmpty(id)) {
-                    _generateEntityIdOnTheClient.trySetIdentity(instance, id);
-                }
+                _logger.debug("Got " + id + " (change vector: [" + lastReceivedChangeVector + "])");
             }
 
-            Item itemToAdd = new Item();
+            Item<T> itemToAdd = new Item<>();
+            itemToAdd._batch = this;
             itemToAdd.changeVector = changeVector;
             itemToAdd.id = id;
+            itemToAdd.rawTokens = curDocTokens;
             itemToAdd.rawResult = curDoc;
             itemToAdd.rawMetadata = metadata;
-            itemToAdd._result = instance;
             itemToAdd.exceptionMessage = item.getException();
 
             _items.add(itemToAdd);
@@ -199,6 +197,52 @@ public class SubscriptionBatch<T> {
         return lastReceivedChangeVector;
     }
 
+    @SuppressWarnings("unchecked")
+    private T convertToEntity(Item<T> item) {
+        DocumentConventions conventions = _requestExecutor.getConventions();
+        String id = item.id;
+
+        T instance;
+
+        if (ObjectNode.class.equals(_clazz)) {
+            instance = (T) item.getRawResult();
+        } else if (_revisions) {
+            // parse outer object manually as Previous/Current has PascalCase
+            ObjectNode curDoc = item.getRawResult();
+            JsonNode previous = curDoc.get("Previous");
+            JsonNode current = curDoc.get("Current");
+            Revision<T> revision = new Revision<>();
+            if (current != null && !current.isNull()) {
+                revision.setCurrent((T) EntityToJson.convertToEntity(_clazz, id, (ObjectNode) current, conventions));
+            }
+            if (previous != null && !previous.isNull()) {
+                revision.setPrevious((T) EntityToJson.convertToEntity(_clazz, id, (ObjectNode) previous, conventions));
+            }
+            instance = (T) revision;
+        } else if (item.rawResult == null && conventions.isFindJavaClassFromMetadata()) {
+            instance = (T) EntityToJson.convertToEntity(_clazz, id, item.rawTokens, item.rawMetadata, conventions);
+        } else {
+            instance = (T) EntityToJson.convertToEntity(_clazz, id, item.getRawResult(), conventions);
+        }
+
+        if (StringUtils.isNotEmpty(id)) {
+            _generateEntityIdOnTheClient.trySetIdentity(instance, id);
+        }
+
+        return instance;
+    }
+
+    /**
+     * @param from Index of first item (inclusive)
+     * @param to Index of last item (exclusive)
+     * @return Batch with given range of items of this batch
+     */
+    SubscriptionBatch<T> partition(int from, int to) {
+        SubscriptionBatch<T> partition = new SubscriptionBatch<>(_clazz, _revisions, _requestExecutor, _store, _dbName, _logger);
+        partition._items.addAll(_items.subList(from, to));
+        return partition;
+    }
+
     private static void throwRequired(String name) {
         throw new IllegalStateException("Document must have a " + name);
     }
@@ -1,8 +1,13 @@
 package net.ravendb.client.documents.subscriptions;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.primitives.UseSharpEnum;
 
+import java.io.IOException;
+
 class SubscriptionConnectionServerMessage {
 
     @UseSharpEnum
@@ -53,6 +58,8 @@ class SubscriptionConnectionServerMessage {
     private MessageType type;
     private ConnectionStatus status;
     private ObjectNode data;
+    private TokenBuffer dataTokens;
+    private ObjectNode dataMetadata;
     private String exception;
     private String message;
 
@@ -73,6 +80,13 @@ class SubscriptionConnectionServerMessage {
     }
 
     public ObjectNode getData() {
+        if (data == null && dataTokens != null) {
+            try (JsonParser parser = dataTokens.asParser()) {
+                data = JsonExtensions.getDefaultMapper().readTree(parser);
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read subscription message data", e);
+            }
+        }
         return data;
     }
 
@@ -80,6 +94,28 @@ class SubscriptionConnectionServerMessage {
         this.data = data;
     }
 
+    /**
+     * @return Data read by SubscriptionConnectionServerMessageReader, without building its tree
+     */
+    TokenBuffer getDataTokens() {
+        return dataTokens;
+    }
+
+    void setDataTokens(TokenBuffer dataTokens) {
+        this.dataTokens = dataTokens;
+    }
+
+    /**
+     * @return Metadata of data read by SubscriptionConnectionServerMessageReader
+     */
+    ObjectNode getDataMetadata() {
+        return dataMetadata;
+    }
+
+    void setDataMetadata(ObjectNode dataMetadata) {
+        this.dataMetadata = dataMetadata;
+    }
+
     public String getException() {
         return exception;
     }
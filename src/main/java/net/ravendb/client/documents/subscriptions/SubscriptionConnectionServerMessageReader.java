@@ -0,0 +1,101 @@
+package net.ravendb.client.documents.subscriptions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.Constants;
+import net.ravendb.client.extensions.JsonExtensions;
+
+import java.io.IOException;
+
+/**
+ * Reads subscription server messages directly from connection parser. Document sent in Data field is only
+ * copied as a token sequence (its metadata is read while copying), so tree and entity are built
+ * only when subscriber asks for them.
+ */
+class SubscriptionConnectionServerMessageReader {
+
+    private static final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private SubscriptionConnectionServerMessageReader() {
+    }
+
+    /**
+     * @param parser Connection parser
+     * @return next message or null if end of input was reached
+     * @throws IOException on read error
+     */
+    static SubscriptionConnectionServerMessage read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("Expected start of subscription message, but got: " + token);
+        }
+
+        SubscriptionConnectionServerMessage message = new SubscriptionConnectionServerMessage();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            token = parser.nextToken();
+
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (name) {
+                case "Type":
+                    message.setType(mapper.readValue(parser, SubscriptionConnectionServerMessage.MessageType.class));
+                    break;
+                case "Status":
+                    message.setStatus(mapper.readValue(parser, SubscriptionConnectionServerMessage.ConnectionStatus.class));
+                    break;
+                case "Data":
+                    if (token == JsonToken.START_OBJECT) {
+                        readData(parser, message);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "Exception":
+                    message.setException(parser.getValueAsString());
+                    break;
+                case "Message":
+                    message.setMessage(parser.getValueAsString());
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        return message;
+    }
+
+    private static void readData(JsonParser parser, SubscriptionConnectionServerMessage message) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(parser);
+        tokens.writeStartObject();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            tokens.writeFieldName(name);
+
+            if (Constants.Documents.Metadata.KEY.equals(name) && token == JsonToken.START_OBJECT) {
+                ObjectNode metadata = mapper.readTree(parser);
+                message.setDataMetadata(metadata);
+                mapper.writeTree(tokens, metadata);
+            } else {
+                tokens.copyCurrentStructure(parser);
+            }
+        }
+
+        tokens.writeEndObject();
+        message.setDataTokens(tokens);
+    }
+}
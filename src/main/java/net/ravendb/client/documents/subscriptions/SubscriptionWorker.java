@@ -3,6 +3,7 @@ package net.ravendb.client.documents.subscriptions;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.exceptions.AllTopologyNodesDownException;
@@ -18,16 +19,18 @@ import net.ravendb.client.serverwide.tcp.TcpConnectionHeaderMessage;
 import net.ravendb.client.serverwide.tcp.TcpConnectionHeaderResponse;
 import net.ravendb.client.serverwide.tcp.TcpNegotiateParameters;
 import net.ravendb.client.serverwide.tcp.TcpNegotiation;
+import net.ravendb.client.util.ITcpConnection;
+import net.ravendb.client.util.TcpChannelConnection;
+import net.ravendb.client.util.TcpConnectionOptions;
 import net.ravendb.client.util.TcpUtils;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import java.io.IOException;
-import java.net.Socket;
 import java.security.GeneralSecurityException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -45,10 +48,16 @@ public class SubscriptionWorker<T> implements CleanCloseable {
     private final CancellationTokenSource _processingCts = new CancellationTokenSource();
     private final SubscriptionWorkerOptions _options;
     private Consumer<SubscriptionBatch<T>> _subscriber;
-    private Socket _tcpClient;
-    private JsonParser _parser;
+    private volatile ITcpConnection _tcpClient;
+    private final Object _tcpClientLock = new Object();
     private boolean _disposed;
     private CompletableFuture<Void> _subscriptionTask;
+    private final SubscriptionWorkerMetrics _metrics;
+
+    // used when worker is run by SubscriptionWorkerGroup
+    private final ArrayDeque<Runnable> _pendingTasks = new ArrayDeque<>();
+    private boolean _scheduled;
+    private volatile Timer _reconnectTimer;
 
     private List<Consumer<SubscriptionBatch<T>>> afterAcknowledgment;
     private List<Consumer<Exception>> onSubscriptionConnectionRetry;
@@ -81,6 +90,7 @@ public class SubscriptionWorker<T> implements CleanCloseable {
         _store = documentStore;
         _dbName = ObjectUtils.firstNonNull(dbName, documentStore.getDatabase());
         _logger = LogFactory.getLog(SubscriptionWorker.class);
+        _metrics = new SubscriptionWorkerMetrics(options.getSubscriptionName());
 
         afterAcknowledgment = new ArrayList<>();
         onSubscriptionConnectionRetry = new ArrayList<>();
@@ -103,6 +113,10 @@ public class SubscriptionWorker<T> implements CleanCloseable {
 
             closeTcpClient(); // we disconnect immediately
 
+            if (isMultiplexed()) {
+                stopMultiplexed();
+            }
+
             if (_subscriptionTask != null && waitForSubscriptionTask) {
                 try {
                     _subscriptionTask.get();
@@ -139,9 +153,25 @@ public class SubscriptionWorker<T> implements CleanCloseable {
             throw new IllegalStateException("The subscription is already running");
         }
 
+        _metrics.onStarted();
+
+        if (isMultiplexed()) {
+            _subscriptionTask = new CompletableFuture<>();
+            enqueue(this::connectMultiplexed);
+            return _subscriptionTask;
+        }
+
         return _subscriptionTask = runSubscriptionAsync();
     }
 
+    /**
+     * @return Processing statistics of this worker
+     */
+    public SubscriptionWorkerMetricsSnapshot getMetrics() {
+        ITcpConnection tcpClient = _tcpClient;
+        return _metrics.snapshot(tcpClient != null && tcpClient.isConnected());
+    }
+
     private ServerNode _redirectNode;
     private RequestExecutor _subscriptionLocalRequestExecutor;
 
@@ -160,7 +190,7 @@ public class SubscriptionWorker<T> implements CleanCloseable {
     }
 
 
-    private Socket connectToServer() throws IOException, GeneralSecurityException {
+    private ITcpConnection connectToServer() throws IOException, GeneralSecurityException {
         GetTcpInfoCommand command = new GetTcpInfoCommand("Subscription/" + _dbName, _dbName);
 
         RequestExecutor requestExecutor = _store.getRequestExecutor(_dbName);
@@ -179,10 +209,14 @@ public class SubscriptionWorker<T> implements CleanCloseable {
             requestExecutor.execute(command);
         }
 
-        _tcpClient = TcpUtils.connect(command.getResult().getUrl(), command.getResult().getCertificate(), _store.getCertificate());
-        _tcpClient.setTcpNoDelay(true);
-        _tcpClient.setSendBufferSize(32 * 1024);
-        _tcpClient.setReceiveBufferSize(4096);
+        TcpConnectionOptions tcpConnectionOptions = _store.getConventions().getTcpConnectionOptions();
+        if (isMultiplexed()) {
+            // group reads connections on event loop
+            tcpConnectionOptions.setNonBlocking(true);
+        }
+
+        _tcpClient = TcpUtils.connect(command.getResult().getUrl(), command.getResult().getCertificate(), _store.getCertificate(),
+                tcpConnectionOptions, _store::getTcpEventLoop);
 
         String databaseName = ObjectUtils.firstNonNull(_dbName, _store.getDatabase());
 
@@ -217,18 +251,14 @@ public class SubscriptionWorker<T> implements CleanCloseable {
         return _tcpClient;
     }
 
-    private void ensureParser() throws IOException {
-        if (_parser == null) {
-            _parser = JsonExtensions.getDefaultMapper().getFactory().createParser(_tcpClient.getInputStream());
-            _parser.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
-        }
-    }
-
     private int readServerResponseAndGetVersion(String url) {
         try {
             //Reading reply from server
-            ensureParser();
-            TreeNode response = _parser.readValueAsTree();
+            JsonParser parser = _tcpClient.nextMessage();
+            if (parser == null) {
+                throw new IllegalStateException("Connection to " + url + " was closed during TCP negotiation");
+            }
+            TreeNode response = parser.readValueAsTree();
             TcpConnectionHeaderResponse reply = JsonExtensions.getDefaultMapper().treeToValue(response, TcpConnectionHeaderResponse.class);
 
             switch (reply.getStatus()) {
@@ -303,10 +333,10 @@ public class SubscriptionWorker<T> implements CleanCloseable {
         try {
             _processingCts.getToken().throwIfCancellationRequested();
 
-            try (Socket socket = connectToServer()) {
+            try (ITcpConnection connection = connectToServer()) {
                 _processingCts.getToken().throwIfCancellationRequested();
 
-                Socket tcpClientCopy = _tcpClient;
+                ITcpConnection tcpClientCopy = _tcpClient;
 
                 SubscriptionConnectionServerMessage connectionStatus = readNextObject(tcpClientCopy);
                 if (_processingCts.getToken().isCancellationRequested()) {
@@ -336,7 +366,7 @@ public class SubscriptionWorker<T> implements CleanCloseable {
                                 } catch (IOException e) {
                                     throw new RuntimeException(e);
                                 }
-                            }, _store.getExecutorService());
+                            }, _store.getLongRunningExecutorService());
 
                     try {
                         notifiedSubscriber.get();
@@ -352,32 +382,14 @@ public class SubscriptionWorker<T> implements CleanCloseable {
                     }
 
                     List<SubscriptionConnectionServerMessage> incomingBatch = readFromServer.get();
+                    long receivedAt = System.nanoTime();
 
                     _processingCts.getToken().throwIfCancellationRequested();
 
+                    _metrics.onBatchReceived();
                     String lastReceivedChangeVector = batch.initialize(incomingBatch);
 
-                    notifiedSubscriber = CompletableFuture.runAsync(() -> {
-                        try {
-                            _subscriber.accept(batch);
-                        } catch (Exception ex) {
-                            if (_logger.isDebugEnabled()) {
-                                _logger.debug("Subscription " + _options.getSubscriptionName() + ". Subscriber threw an exception on document batch", ex);
-                            }
-
-                            if (!_options.isIgnoreSubscriberErrors()) {
-                                throw new SubscriberErrorException("Subscriber threw an exception in subscription " + _options.getSubscriptionName(), ex);
-                            }
-                        }
-
-                        try {
-                            if (tcpClientCopy != null) {
-                                sendAck(lastReceivedChangeVector, tcpClientCopy);
-                            }
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
-                    }, _store.getExecutorService());
+                    notifiedSubscriber = notifySubscriber(batch, lastReceivedChangeVector, tcpClientCopy, receivedAt);
                 }
             }
 
@@ -392,7 +404,80 @@ public class SubscriptionWorker<T> implements CleanCloseable {
         }
     }
 
-    private List<SubscriptionConnectionServerMessage> readSingleSubscriptionBatchFromServer(Socket socket, SubscriptionBatch<T> batch) throws IOException {
+    private CompletableFuture<Void> notifySubscriber(SubscriptionBatch<T> batch, String lastReceivedChangeVector, ITcpConnection tcpClientCopy,
+                                                     long receivedAt) {
+        int numberOfItems = batch.getNumberOfItemsInBatch();
+        int parallelism = Math.min(_options.getParallelism(), numberOfItems);
+
+        if (parallelism <= 1) {
+            return CompletableFuture.runAsync(() -> {
+                Exception error = invokeSubscriber(batch);
+                if (error != null && !_options.isIgnoreSubscriberErrors()) {
+                    throw new SubscriberErrorException("Subscriber threw an exception in subscription " + _options.getSubscriptionName(), error);
+                }
+
+                acknowledge(lastReceivedChangeVector, tcpClientCopy, numberOfItems, receivedAt);
+            }, _store.getCallbackExecutorService());
+        }
+
+        // each partition gets its own batch instance, so handlers don't share items list
+        List<CompletableFuture<Exception>> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            SubscriptionBatch<T> partition = batch.partition(i * numberOfItems / parallelism, (i + 1) * numberOfItems / parallelism);
+            partitions.add(CompletableFuture.supplyAsync(() -> invokeSubscriber(partition), _store.getCallbackExecutorService()));
+        }
+
+        // ack is sent when all partitions are processed, without blocking callback executor thread
+        return CompletableFuture.allOf(partitions.toArray(new CompletableFuture<?>[0]))
+                .thenRun(() -> {
+                    SubscriberErrorException error = null;
+
+                    for (CompletableFuture<Exception> partition : partitions) {
+                        Exception partitionError = partition.join();
+                        if (partitionError == null || _options.isIgnoreSubscriberErrors()) {
+                            continue;
+                        }
+
+                        if (error == null) {
+                            error = new SubscriberErrorException("Subscriber threw an exception in subscription " + _options.getSubscriptionName(), partitionError);
+                        } else {
+                            error.addSuppressed(partitionError);
+                        }
+                    }
+
+                    if (error != null) {
+                        throw error;
+                    }
+
+                    acknowledge(lastReceivedChangeVector, tcpClientCopy, numberOfItems, receivedAt);
+                });
+    }
+
+    private Exception invokeSubscriber(SubscriptionBatch<T> batch) {
+        try {
+            _subscriber.accept(batch);
+            return null;
+        } catch (Exception ex) {
+            if (_logger.isDebugEnabled()) {
+                _logger.debug("Subscription " + _options.getSubscriptionName() + ". Subscriber threw an exception on document batch", ex);
+            }
+
+            return ex;
+        }
+    }
+
+    private void acknowledge(String lastReceivedChangeVector, ITcpConnection tcpClientCopy, int numberOfItems, long receivedAt) {
+        try {
+            if (tcpClientCopy != null) {
+                sendAck(lastReceivedChangeVector, tcpClientCopy);
+                _metrics.onBatchAcknowledged(numberOfItems, receivedAt);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private List<SubscriptionConnectionServerMessage> readSingleSubscriptionBatchFromServer(ITcpConnection socket, SubscriptionBatch<T> batch) throws IOException {
         List<SubscriptionConnectionServerMessage> incomingBatch = new ArrayList<>();
         boolean endOfBatch = false;
         while (!endOfBatch && !_processingCts.getToken().isCancellationRequested()) {
@@ -437,8 +522,8 @@ public class SubscriptionWorker<T> implements CleanCloseable {
         throw new IllegalStateException("Connected terminated by server. Exception: " + ObjectUtils.firstNonNull(receivedMessage.getException(), "None"));
     }
 
-    private SubscriptionConnectionServerMessage readNextObject(Socket socket) throws IOException {
-        if (_processingCts.getToken().isCancellationRequested() || !_tcpClient.isConnected()) {
+    private SubscriptionConnectionServerMessage readNextObject(ITcpConnection socket) throws IOException {
+        if (_processingCts.getToken().isCancellationRequested() || !socket.isConnected()) {
             return null;
         }
 
@@ -446,11 +531,15 @@ public class SubscriptionWorker<T> implements CleanCloseable {
             return null;
         }
 
-        TreeNode response = _parser.readValueAsTree();
-        return JsonExtensions.getDefaultMapper().treeToValue(response, SubscriptionConnectionServerMessage.class);
+        JsonParser parser = socket.nextMessage();
+        if (parser == null) {
+            return null;
+        }
+
+        return SubscriptionConnectionServerMessageReader.read(parser);
     }
 
-    private void sendAck(String lastReceivedChangeVector, Socket networkStream) throws IOException {
+    private void sendAck(String lastReceivedChangeVector, ITcpConnection networkStream) throws IOException {
         SubscriptionConnectionClientMessage msg = new SubscriptionConnectionClientMessage();
         msg.setChangeVector(lastReceivedChangeVector);
         msg.setType(SubscriptionConnectionClientMessage.MessageType.ACKNOWLEDGE);
@@ -496,7 +585,242 @@ public class SubscriptionWorker<T> implements CleanCloseable {
                     }
                 }
             }
-        }, _store.getExecutorService());
+        }, _store.getLongRunningExecutorService());
+    }
+
+    /**
+     * Secured connections can't be read by event loop, so such workers use dedicated thread even in a group.
+     * It is decided before connecting, so subscription is opened only once.
+     */
+    private boolean isMultiplexed() {
+        return group != null && _store.getCertificate() == null;
+    }
+
+    void enqueue(Runnable task) {
+        synchronized (_pendingTasks) {
+            _pendingTasks.add(task);
+
+            if (_scheduled) {
+                return;
+            }
+
+            _scheduled = true;
+        }
+
+        group.schedule(this);
+    }
+
+    /**
+     * Runs the oldest pending task, called by the group
+     * @return true if worker has more pending tasks
+     */
+    boolean runNextTask() {
+        Runnable task;
+        synchronized (_pendingTasks) {
+            task = _pendingTasks.poll();
+        }
+
+        if (task != null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                if (_logger.isDebugEnabled()) {
+                    _logger.debug("Subscription " + _options.getSubscriptionName() + ". Task failed", e);
+                }
+            }
+        }
+
+        synchronized (_pendingTasks) {
+            if (!_pendingTasks.isEmpty()) {
+                return true;
+            }
+
+            _scheduled = false;
+            return false;
+        }
+    }
+
+    private void connectMultiplexed() {
+        if (_processingCts.getToken().isCancellationRequested()) {
+            return;
+        }
+
+        ITcpConnection tcpClient;
+        try {
+            closeTcpClient();
+            if (_logger.isInfoEnabled()) {
+                _logger.info("Subscription " + _options.getSubscriptionName() + ". Connecting to server...");
+            }
+
+            tcpClient = connectToServer();
+        } catch (Exception e) {
+            closeTcpClient();
+            onMultiplexedFailure(e);
+            return;
+        }
+
+        ((TcpChannelConnection) tcpClient).setListener(new MultiplexedConnectionListener(tcpClient));
+    }
+
+    private void processMultiplexedBatch(ITcpConnection tcpClient, SubscriptionBatch<T> batch,
+                                         List<SubscriptionConnectionServerMessage> incomingBatch, long receivedAt) {
+        if (_tcpClient != tcpClient || _processingCts.getToken().isCancellationRequested()) {
+            return;
+        }
+
+        _metrics.onBatchDequeued(receivedAt);
+
+        try {
+            String lastReceivedChangeVector = batch.initialize(incomingBatch);
+
+            Exception error = invokeSubscriber(batch);
+            if (error != null && !_options.isIgnoreSubscriberErrors()) {
+                throw new SubscriberErrorException("Subscriber threw an exception in subscription " + _options.getSubscriptionName(), error);
+            }
+
+            acknowledge(lastReceivedChangeVector, tcpClient, batch.getNumberOfItemsInBatch(), receivedAt);
+        } catch (Exception e) {
+            onConnectionFailure(tcpClient, e);
+        }
+    }
+
+    private void onConnectionFailure(ITcpConnection tcpClient, Exception ex) {
+        if (!detachTcpClient(tcpClient)) {
+            // failure was already handled or worker was closed
+            return;
+        }
+
+        tcpClient.close();
+        onMultiplexedFailure(ex);
+    }
+
+    private void onMultiplexedFailure(Exception ex) {
+        try {
+            if (_processingCts.getToken().isCancellationRequested()) {
+                completeMultiplexed(_disposed ? null : ex);
+                return;
+            }
+
+            if (_logger.isInfoEnabled()) {
+                _logger.info("Subscription " + _options.getSubscriptionName() + ". Pulling task threw the following exception", ex);
+            }
+
+            if (shouldTryToReconnect(ex)) {
+                _reconnectTimer = new Timer(() -> {
+                    if (_processingCts.getToken().isCancellationRequested()) {
+                        return;
+                    }
+
+                    EventHelper.invoke(onSubscriptionConnectionRetry, ex);
+                    enqueue(this::connectMultiplexed);
+                }, _options.getTimeToWaitBeforeConnectionRetry(), _store.getExecutorService());
+            } else {
+                if (_logger.isErrorEnabled()) {
+                    _logger.error("Connection to subscription " + _options.getSubscriptionName() + " have been shut down because of an error", ex);
+                }
+
+                completeMultiplexed(ExceptionsUtils.unwrapException(ex));
+            }
+        } catch (Exception e) {
+            completeMultiplexed(ExceptionsUtils.unwrapException(e));
+        }
+    }
+
+    private void completeMultiplexed(Throwable error) {
+        if (error == null) {
+            _subscriptionTask.complete(null);
+        } else {
+            _subscriptionTask.completeExceptionally(error);
+        }
+    }
+
+    private void stopMultiplexed() {
+        Timer reconnectTimer = _reconnectTimer;
+        if (reconnectTimer != null) {
+            reconnectTimer.close();
+        }
+
+        if (_subscriptionTask != null) {
+            _subscriptionTask.complete(null);
+        }
+    }
+
+    /**
+     * Reads messages of a single connection on event loop thread, work is queued to the group
+     */
+    private class MultiplexedConnectionListener implements TcpChannelConnection.Listener {
+
+        private final ITcpConnection _connection;
+        private final SubscriptionBatch<T> _batch;
+        private List<SubscriptionConnectionServerMessage> _incomingBatch = new ArrayList<>();
+        private boolean _accepted;
+
+        MultiplexedConnectionListener(ITcpConnection connection) {
+            _connection = connection;
+            _batch = new SubscriptionBatch<>(_clazz, _revisions, _subscriptionLocalRequestExecutor, _store, _dbName, _logger);
+        }
+
+        @Override
+        public void onMessage(TokenBuffer message) {
+            if (_tcpClient != _connection) {
+                return;
+            }
+
+            try {
+                SubscriptionConnectionServerMessage receivedMessage;
+                try (JsonParser parser = message.asParser()) {
+                    receivedMessage = SubscriptionConnectionServerMessageReader.read(parser);
+                }
+
+                if (!_accepted) {
+                    if (receivedMessage.getType() != SubscriptionConnectionServerMessage.MessageType.CONNECTION_STATUS
+                            || receivedMessage.getStatus() != SubscriptionConnectionServerMessage.ConnectionStatus.ACCEPTED) {
+                        assertConnectionState(receivedMessage);
+                    }
+
+                    _accepted = true;
+                    lastConnectionFailure = null;
+                    return;
+                }
+
+                switch (receivedMessage.getType()) {
+                    case DATA:
+                        _incomingBatch.add(receivedMessage);
+                        break;
+                    case END_OF_BATCH:
+                        List<SubscriptionConnectionServerMessage> incomingBatch = _incomingBatch;
+                        long receivedAt = System.nanoTime();
+                        _incomingBatch = new ArrayList<>();
+
+                        _metrics.onBatchReceived();
+                        enqueue(() -> processMultiplexedBatch(_connection, _batch, incomingBatch, receivedAt));
+                        break;
+                    case CONFIRM:
+                        enqueue(() -> {
+                            if (_tcpClient == _connection) {
+                                EventHelper.invoke(afterAcknowledgment, _batch);
+                            }
+                        });
+                        break;
+                    case CONNECTION_STATUS:
+                        assertConnectionState(receivedMessage);
+                        break;
+                    case ERROR:
+                        throwSubscriptionError(receivedMessage);
+                        break;
+                    default:
+                        throwInvalidServerResponse(receivedMessage);
+                        break;
+                }
+            } catch (Exception e) {
+                onConnectionFailure(_connection, e);
+            }
+        }
+
+        @Override
+        public void onClosed(Exception error) {
+            onConnectionFailure(_connection, ObjectUtils.firstNonNull(error, new IllegalStateException("Subscription connection was closed")));
+        }
     }
 
     private Date lastConnectionFailure;
@@ -559,16 +883,31 @@ public class SubscriptionWorker<T> implements CleanCloseable {
     }
 
     private void closeTcpClient() {
-        if (_parser != null) {
-            IOUtils.closeQuietly(_parser);
-            _parser = null;
+        ITcpConnection tcpClient = _tcpClient;
+        if (tcpClient != null && detachTcpClient(tcpClient)) {
+            tcpClient.close();
         }
+    }
+
+    /**
+     * Clears current connection, so events of closed connection are ignored
+     * @param tcpClient Connection to detach
+     * @return false if the connection isn't current one
+     */
+    private boolean detachTcpClient(ITcpConnection tcpClient) {
+        synchronized (_tcpClientLock) {
+            if (_tcpClient != tcpClient) {
+                return false;
+            }
 
-        if (_tcpClient != null) {
-            IOUtils.closeQuietly(_tcpClient);
             _tcpClient = null;
         }
+
+        _metrics.onDisconnected();
+        return true;
     }
 
     Consumer<SubscriptionWorker<T>> onClosed = null;
+
+    SubscriptionWorkerGroup group = null;
 }
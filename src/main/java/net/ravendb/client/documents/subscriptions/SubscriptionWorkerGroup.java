@@ -0,0 +1,202 @@
+package net.ravendb.client.documents.subscriptions;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Runs many subscription workers without dedicated threads. Connections are read by the store's TcpEventLoop and
+ * batches are processed on callback executor by at most maxConcurrentHandlers handlers at once.
+ *
+ * Work of every subscription (connecting, processing batch, acknowledgment callbacks) is queued per subscription
+ * and subscriptions with pending work take turns, so single busy subscription can't starve the others.
+ * Each batch is processed by a single handler, SubscriptionWorkerOptions.parallelism is not used.
+ *
+ * Secured (TLS) connections can't be read by event loop, workers of a store with client certificate use a dedicated
+ * reading thread.
+ */
+public class SubscriptionWorkerGroup implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(SubscriptionWorkerGroup.class);
+
+    private final DocumentStore _store;
+    private final int _maxConcurrentHandlers;
+    private final ConcurrentHashMap<SubscriptionWorker<?>, Boolean> _workers = new ConcurrentHashMap<>();
+
+    private final Object _lock = new Object();
+    private final ArrayDeque<SubscriptionWorker<?>> _ready = new ArrayDeque<>();
+    private int _runningHandlers;
+    private volatile boolean _disposed;
+
+    SubscriptionWorkerGroup(DocumentStore store, int maxConcurrentHandlers) {
+        if (maxConcurrentHandlers < 1) {
+            throw new IllegalArgumentException("MaxConcurrentHandlers must be at least 1");
+        }
+
+        _store = store;
+        _maxConcurrentHandlers = maxConcurrentHandlers;
+    }
+
+    /**
+     * @return Maximum number of subscription tasks processed at once
+     */
+    public int getMaxConcurrentHandlers() {
+        return _maxConcurrentHandlers;
+    }
+
+    /**
+     * Creates subscription worker which is run by this group.
+     * @param options Subscription options
+     * @return Subscription object that allows to add/remove subscription handlers.
+     */
+    public SubscriptionWorker<ObjectNode> getSubscriptionWorker(SubscriptionWorkerOptions options) {
+        return getSubscriptionWorker(ObjectNode.class, options, null);
+    }
+
+    /**
+     * Creates subscription worker which is run by this group.
+     * @param clazz Entity class
+     * @param options Subscription options
+     * @param <T> Entity class
+     * @return Subscription object that allows to add/remove subscription handlers.
+     */
+    public <T> SubscriptionWorker<T> getSubscriptionWorker(Class<T> clazz, SubscriptionWorkerOptions options) {
+        return getSubscriptionWorker(clazz, options, null);
+    }
+
+    /**
+     * Creates subscription worker which is run by this group.
+     * @param clazz Entity class
+     * @param options Subscription options
+     * @param database Target database
+     * @param <T> Entity class
+     * @return Subscription object that allows to add/remove subscription handlers.
+     */
+    public <T> SubscriptionWorker<T> getSubscriptionWorker(Class<T> clazz, SubscriptionWorkerOptions options, String database) {
+        return addWorker(clazz, options, false, database);
+    }
+
+    /**
+     * Creates subscription worker for revisions which is run by this group.
+     * @param clazz Entity class
+     * @param options Subscription options
+     * @param database Target database
+     * @param <T> Entity class
+     * @return Subscription object that allows to add/remove subscription handlers.
+     */
+    public <T> SubscriptionWorker<Revision<T>> getSubscriptionWorkerForRevisions(Class<T> clazz, SubscriptionWorkerOptions options, String database) {
+        return addWorker(clazz, options, true, database);
+    }
+
+    private <T> SubscriptionWorker<T> addWorker(Class<?> clazz, SubscriptionWorkerOptions options, boolean withRevisions, String database) {
+        _store.assertInitialized();
+        if (options == null) {
+            throw new IllegalStateException("Cannot open a subscription if options are null");
+        }
+
+        if (_disposed) {
+            throw new IllegalStateException("Subscription worker group was closed");
+        }
+
+        SubscriptionWorker<T> worker = new SubscriptionWorker<>(clazz, options, withRevisions, _store, database);
+        worker.group = this;
+        worker.onClosed = _workers::remove;
+        _workers.put(worker, true);
+
+        return worker;
+    }
+
+    /**
+     * @return Metrics of workers in this group
+     */
+    public List<SubscriptionWorkerMetricsSnapshot> getMetrics() {
+        List<SubscriptionWorkerMetricsSnapshot> metrics = new ArrayList<>(_workers.size());
+        for (SubscriptionWorker<?> worker : _workers.keySet()) {
+            metrics.add(worker.getMetrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * Puts worker with pending tasks at the end of the ready queue
+     * @param worker Worker
+     */
+    void schedule(SubscriptionWorker<?> worker) {
+        synchronized (_lock) {
+            _ready.add(worker);
+        }
+
+        dispatch();
+    }
+
+    private void dispatch() {
+        List<SubscriptionWorker<?>> toRun = new ArrayList<>();
+
+        synchronized (_lock) {
+            while (_runningHandlers < _maxConcurrentHandlers && !_ready.isEmpty()) {
+                toRun.add(_ready.poll());
+                _runningHandlers++;
+            }
+        }
+
+        for (SubscriptionWorker<?> worker : toRun) {
+            try {
+                _store.getCallbackExecutorService().execute(() -> runNextTask(worker));
+            } catch (RuntimeException e) {
+                // executor was shut down together with the store
+                synchronized (_lock) {
+                    _runningHandlers--;
+                }
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Unable to run subscription task: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private void runNextTask(SubscriptionWorker<?> worker) {
+        boolean hasMoreTasks = false;
+        try {
+            hasMoreTasks = worker.runNextTask();
+        } finally {
+            synchronized (_lock) {
+                _runningHandlers--;
+
+                // worker waits for its next turn behind the others
+                if (hasMoreTasks) {
+                    _ready.add(worker);
+                }
+            }
+
+            dispatch();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (_disposed) {
+            return;
+        }
+
+        _disposed = true;
+
+        for (SubscriptionWorker<?> worker : _workers.keySet()) {
+            worker.close(false);
+        }
+
+        if (onClosed != null) {
+            onClosed.accept(this);
+        }
+    }
+
+    Consumer<SubscriptionWorkerGroup> onClosed = null;
+}
@@ -0,0 +1,79 @@
+package net.ravendb.client.documents.subscriptions;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects processing statistics of a single subscription worker
+ */
+class SubscriptionWorkerMetrics {
+
+    private final String _subscriptionName;
+
+    private long _startedAt;
+    private long _batchesProcessed;
+    private long _itemsProcessed;
+    private int _pendingBatches;
+    private long _lastBatchLag;
+    private long _maxBatchLag;
+    private long _totalBatchLag;
+    private long _queuedBatches;
+    private long _totalQueueTime;
+    private long _lastAcknowledgedAt;
+
+    SubscriptionWorkerMetrics(String subscriptionName) {
+        _subscriptionName = subscriptionName;
+    }
+
+    synchronized void onStarted() {
+        _startedAt = System.nanoTime();
+    }
+
+    synchronized void onBatchReceived() {
+        _pendingBatches++;
+    }
+
+    synchronized void onBatchDequeued(long receivedAt) {
+        _queuedBatches++;
+        _totalQueueTime += System.nanoTime() - receivedAt;
+    }
+
+    synchronized void onBatchAcknowledged(int numberOfItems, long receivedAt) {
+        long lag = System.nanoTime() - receivedAt;
+
+        _pendingBatches = Math.max(0, _pendingBatches - 1);
+        _batchesProcessed++;
+        _itemsProcessed += numberOfItems;
+        _lastBatchLag = lag;
+        _maxBatchLag = Math.max(_maxBatchLag, lag);
+        _totalBatchLag += lag;
+        _lastAcknowledgedAt = System.currentTimeMillis();
+    }
+
+    synchronized void onDisconnected() {
+        // batches which weren't acknowledged will be sent again
+        _pendingBatches = 0;
+    }
+
+    synchronized SubscriptionWorkerMetricsSnapshot snapshot(boolean connected) {
+        SubscriptionWorkerMetricsSnapshot snapshot = new SubscriptionWorkerMetricsSnapshot();
+        snapshot.setSubscriptionName(_subscriptionName);
+        snapshot.setConnected(connected);
+        snapshot.setBatchesProcessed(_batchesProcessed);
+        snapshot.setItemsProcessed(_itemsProcessed);
+        snapshot.setPendingBatches(_pendingBatches);
+        snapshot.setLastBatchLagInMs(TimeUnit.NANOSECONDS.toMillis(_lastBatchLag));
+        snapshot.setMaxBatchLagInMs(TimeUnit.NANOSECONDS.toMillis(_maxBatchLag));
+        snapshot.setAverageBatchLagInMs(_batchesProcessed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(_totalBatchLag / _batchesProcessed));
+        snapshot.setAverageQueueTimeInMs(_queuedBatches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(_totalQueueTime / _queuedBatches));
+
+        long elapsed = _startedAt == 0 ? 0 : System.nanoTime() - _startedAt;
+        snapshot.setItemsPerSecond(elapsed <= 0 ? 0 : _itemsProcessed * (double) TimeUnit.SECONDS.toNanos(1) / elapsed);
+
+        if (_lastAcknowledgedAt != 0) {
+            snapshot.setLastAcknowledgedAt(new Date(_lastAcknowledgedAt));
+        }
+
+        return snapshot;
+    }
+}
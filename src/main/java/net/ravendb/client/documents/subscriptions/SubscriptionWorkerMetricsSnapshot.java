@@ -0,0 +1,127 @@
+package net.ravendb.client.documents.subscriptions;
+
+import java.util.Date;
+
+public class SubscriptionWorkerMetricsSnapshot {
+
+    private String subscriptionName;
+    private boolean connected;
+    private long batchesProcessed;
+    private long itemsProcessed;
+    private int pendingBatches;
+    private long lastBatchLagInMs;
+    private long maxBatchLagInMs;
+    private long averageBatchLagInMs;
+    private long averageQueueTimeInMs;
+    private double itemsPerSecond;
+    private Date lastAcknowledgedAt;
+
+    public String getSubscriptionName() {
+        return subscriptionName;
+    }
+
+    public void setSubscriptionName(String subscriptionName) {
+        this.subscriptionName = subscriptionName;
+    }
+
+    /**
+     * @return Whether worker is currently connected to the server
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public void setConnected(boolean connected) {
+        this.connected = connected;
+    }
+
+    /**
+     * @return Number of acknowledged batches
+     */
+    public long getBatchesProcessed() {
+        return batchesProcessed;
+    }
+
+    public void setBatchesProcessed(long batchesProcessed) {
+        this.batchesProcessed = batchesProcessed;
+    }
+
+    /**
+     * @return Number of items in acknowledged batches
+     */
+    public long getItemsProcessed() {
+        return itemsProcessed;
+    }
+
+    public void setItemsProcessed(long itemsProcessed) {
+        this.itemsProcessed = itemsProcessed;
+    }
+
+    /**
+     * @return Number of batches which were received, but not acknowledged yet
+     */
+    public int getPendingBatches() {
+        return pendingBatches;
+    }
+
+    public void setPendingBatches(int pendingBatches) {
+        this.pendingBatches = pendingBatches;
+    }
+
+    /**
+     * @return Time between receiving the last batch and its acknowledgment
+     */
+    public long getLastBatchLagInMs() {
+        return lastBatchLagInMs;
+    }
+
+    public void setLastBatchLagInMs(long lastBatchLagInMs) {
+        this.lastBatchLagInMs = lastBatchLagInMs;
+    }
+
+    public long getMaxBatchLagInMs() {
+        return maxBatchLagInMs;
+    }
+
+    public void setMaxBatchLagInMs(long maxBatchLagInMs) {
+        this.maxBatchLagInMs = maxBatchLagInMs;
+    }
+
+    public long getAverageBatchLagInMs() {
+        return averageBatchLagInMs;
+    }
+
+    public void setAverageBatchLagInMs(long averageBatchLagInMs) {
+        this.averageBatchLagInMs = averageBatchLagInMs;
+    }
+
+    /**
+     * @return Average time batches waited for a free handler (worker group only)
+     */
+    public long getAverageQueueTimeInMs() {
+        return averageQueueTimeInMs;
+    }
+
+    public void setAverageQueueTimeInMs(long averageQueueTimeInMs) {
+        this.averageQueueTimeInMs = averageQueueTimeInMs;
+    }
+
+    /**
+     * @return Number of processed items per second since the worker was started
+     */
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public void setItemsPerSecond(double itemsPerSecond) {
+        this.itemsPerSecond = itemsPerSecond;
+    }
+
+    public Date getLastAcknowledgedAt() {
+        return lastAcknowledgedAt;
+    }
+
+    public void setLastAcknowledgedAt(Date lastAcknowledgedAt) {
+        this.lastAcknowledgedAt = lastAcknowledgedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package net.ravendb.client.documents.subscriptions;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.Duration;
@@ -16,12 +17,14 @@ public class SubscriptionWorkerOptions {
     private int maxDocsPerBatch;
     private Duration maxErroneousPeriod;
     private boolean closeWhenNoDocsLeft;
+    private int parallelism;
 
     private SubscriptionWorkerOptions() {
         strategy = SubscriptionOpeningStrategy.OPEN_IF_FREE;
         maxDocsPerBatch = 4096;
         timeToWaitBeforeConnectionRetry = Duration.ofSeconds(5);
         maxErroneousPeriod = Duration.ofMinutes(5);
+        parallelism = 1;
     }
 
     /**
@@ -133,4 +136,25 @@ public class SubscriptionWorkerOptions {
     public void setCloseWhenNoDocsLeft(boolean closeWhenNoDocsLeft) {
         this.closeWhenNoDocsLeft = closeWhenNoDocsLeft;
     }
+
+    /**
+     * @return Number of parallel subscriber invocations each batch is partitioned into. Default: 1
+     */
+    @JsonIgnore
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Items of each batch are split into given number of partitions, subscriber is invoked for every partition
+     * in parallel. Batch is acknowledged after all partitions were processed.
+     * @param parallelism Number of parallel subscriber invocations each batch is partitioned into. Default: 1
+     */
+    @JsonIgnore
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+        this.parallelism = parallelism;
+    }
 }
@@ -0,0 +1,176 @@
+package net.ravendb.client.http;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
+import org.eclipse.jetty.client.util.BytesContentProvider;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking http transport used by RequestExecutor.executeAsync. Requests are created by commands
+ * as usual (as Apache HttpRequestBase), sent using Jetty http client and responses are fully buffered
+ * and exposed as CloseableHttpResponse, so the same response handling code can be used for both paths.
+ */
+public class AsyncHttpClient implements CleanCloseable {
+
+    private static final int MAX_RESPONSE_SIZE = Integer.MAX_VALUE - 8;
+
+    private final HttpClient _client;
+
+    /**
+     * @param sslContext Ssl context with client certificate, or null to use jvm trust store
+     * @param useCompression Whether responses should be requested using gzip encoding
+     * @param maxThreads Maximum number of threads used for network I/O
+     */
+    public AsyncHttpClient(SSLContext sslContext, boolean useCompression, int maxThreads) {
+        SslContextFactory sslContextFactory = new SslContextFactory();
+        if (sslContext != null) {
+            sslContextFactory.setSslContext(sslContext);
+            // certificate is used to authenticate, we don't require hostname to match - see RequestExecutor.createClient
+            sslContextFactory.setEndpointIdentificationAlgorithm(null);
+        } else {
+            // the same validation as default Apache client: jvm trust store and hostname verification
+            sslContextFactory.setEndpointIdentificationAlgorithm("HTTPS");
+        }
+
+        QueuedThreadPool threadPool = new QueuedThreadPool(Math.max(4, maxThreads), 2);
+        threadPool.setName("RavenDB-AsyncHttp");
+        threadPool.setDaemon(true);
+
+        _client = new HttpClient(sslContextFactory);
+        _client.setExecutor(threadPool);
+        _client.setFollowRedirects(false);
+        _client.setMaxConnectionsPerDestination(64);
+        _client.setMaxRequestsQueuedPerDestination(64 * 1024);
+        _client.setTCPNoDelay(true);
+
+        if (!useCompression) {
+            _client.getContentDecoderFactories().clear();
+        }
+
+        try {
+            _client.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to start async http client: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends request without blocking calling thread.
+     * @param request Request to send
+     * @return Future completed with buffered response, or with IOException when node couldn't be reached
+     */
+    public CompletableFuture<CloseableHttpResponse> send(HttpRequestBase request) {
+        CompletableFuture<CloseableHttpResponse> result = new CompletableFuture<>();
+
+        Request jettyRequest;
+        try {
+            jettyRequest = toJettyRequest(request);
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        jettyRequest.send(new BufferingResponseListener(MAX_RESPONSE_SIZE) {
+            @Override
+            public void onComplete(Result jettyResult) {
+                if (jettyResult.isFailed()) {
+                    Throwable failure = jettyResult.getFailure();
+                    result.completeExceptionally(failure instanceof IOException ? failure : new IOException(failure.getMessage(), failure));
+                    return;
+                }
+
+                result.complete(toResponse(jettyResult.getResponse(), getContent()));
+            }
+        });
+
+        return result;
+    }
+
+    private Request toJettyRequest(HttpRequestBase request) throws IOException {
+        Request jettyRequest = _client.newRequest(request.getURI())
+                .method(request.getMethod());
+
+        for (Header header : request.getAllHeaders()) {
+            jettyRequest.header(header.getName(), header.getValue());
+        }
+
+        if (request instanceof HttpEntityEnclosingRequest) {
+            HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+            if (entity != null) {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                entity.writeTo(body);
+
+                String contentType = entity.getContentType() != null ? entity.getContentType().getValue() : null;
+                if (entity.getContentEncoding() != null) {
+                    jettyRequest.header(HttpHeaders.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+                }
+
+                jettyRequest.content(new BytesContentProvider(contentType, body.toByteArray()));
+            }
+        }
+
+        return jettyRequest;
+    }
+
+    private static CloseableHttpResponse toResponse(org.eclipse.jetty.client.api.Response jettyResponse, byte[] content) {
+        BufferedHttpResponse response = new BufferedHttpResponse(jettyResponse.getStatus(), jettyResponse.getReason());
+
+        for (HttpField field : jettyResponse.getHeaders()) {
+            // content is already decoded and fully buffered
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(field.getName()) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(field.getName())) {
+                continue;
+            }
+            response.addHeader(field.getName(), field.getValue());
+        }
+
+        ByteArrayEntity entity = new ByteArrayEntity(content);
+        String contentType = jettyResponse.getHeaders().get(HttpHeaders.CONTENT_TYPE);
+        if (contentType != null) {
+            entity.setContentType(contentType);
+        }
+        response.setEntity(entity);
+
+        return response;
+    }
+
+    @Override
+    public void close() {
+        try {
+            _client.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to stop async http client: " + e.getMessage(), e);
+        }
+    }
+
+    private static class BufferedHttpResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        public BufferedHttpResponse(int statusCode, String reason) {
+            super(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode, reason));
+        }
+
+        @Override
+        public void close() {
+            // response is fully buffered, nothing to release
+        }
+    }
+}
@@ -2,29 +2,114 @@ package net.ravendb.client.http;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
+/**
+ * Cache of responses to read requests.
+ *
+ * Items used by aggressive caching can be tagged with dependencies (see documentDependency, collectionDependency
+ * and indexDependency). Tagged item might have been modified only when one of its dependencies was invalidated,
+ * untagged item - when anything was invalidated. Incrementing generation makes all items stale.
+ */
 public class HttpCache implements CleanCloseable {
 
+    /**
+     * Approximate per entry cost (item, key and change vector references, cache entry) used by byte based modes
+     */
+    private static final int ITEM_OVERHEAD = 128;
+
+    private static final int MAX_TRACKED_INVALIDATIONS = 16 * 1024;
+
+    private final HttpCacheMode mode;
+    private final boolean compress;
+
     private Cache<String, HttpCacheItem> items;
 
+    // dependencies invalidated recently, with change sequence of invalidation
+    private final Cache<String, Long> invalidations;
+
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final AtomicLong forgottenInvalidationsSequence = new AtomicLong();
+
+    // incremented whenever item is stored or confirmed by server
+    private final AtomicLong updateSequence = new AtomicLong();
+
+    private final LongAdder numberOfInvalidations = new LongAdder();
+    private final LongAdder numberOfModifiedChecks = new LongAdder();
+    private final LongAdder numberOfNotModifiedChecks = new LongAdder();
+
     public HttpCache(int size) {
-        items = CacheBuilder.newBuilder()
-                .softValues()
-                .maximumWeight(size)
-                .weigher((String k, HttpCacheItem v) -> v.payload != null ?  v.payload.length() + 20 : 20)
+        this(size, HttpCacheMode.STRING, false);
+    }
+
+    public HttpCache(int size, HttpCacheMode mode, boolean compress) {
+        this.mode = mode;
+        this.compress = compress;
+
+        // items older than forgotten invalidation are considered as modified
+        invalidations = CacheBuilder.newBuilder()
+                .maximumSize(MAX_TRACKED_INVALIDATIONS)
+                .<String, Long>removalListener(notification -> {
+                    if (notification.getCause() == RemovalCause.SIZE) {
+                        forgottenInvalidationsSequence.accumulateAndGet(notification.getValue(), Math::max);
+                    }
+                })
                 .build();
+
+        if (mode == HttpCacheMode.STRING) {
+            items = CacheBuilder.newBuilder()
+                    .softValues()
+                    .maximumWeight(size)
+                    .weigher((String k, HttpCacheItem v) -> v.payload != null ?  v.payload.length() + 20 : 20)
+                    .build();
+        } else {
+            // strongly referenced - entries are evicted only by LRU (within each segment) when over byte budget
+            items = CacheBuilder.newBuilder()
+                    .maximumWeight(size)
+                    .weigher((String k, HttpCacheItem v) -> weigh(k, v))
+                    .build();
+        }
+    }
+
+    public HttpCacheMode getMode() {
+        return mode;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    private static int weigh(String key, HttpCacheItem item) {
+        int weight = ITEM_OVERHEAD + 2 * key.length();
+        if (item.changeVector != null) {
+            weight += 2 * item.changeVector.length();
+        }
+        if (item.payloadBuffer != null) {
+            weight += item.payloadBuffer.capacity();
+        }
+        return weight;
     }
 
     @Override
     public void close() {
         items.invalidateAll();
         items = null;
+        invalidations.invalidateAll();
     }
 
     public final AtomicInteger generation = new AtomicInteger();
@@ -33,49 +118,284 @@ public class HttpCache implements CleanCloseable {
         return items.size();
     }
 
+    /**
+     * @return Number of invalidated dependencies
+     */
+    public long getNumberOfInvalidations() {
+        return numberOfInvalidations.sum();
+    }
+
+    /**
+     * @return Number of cached items found to be possibly modified since they were cached
+     */
+    public long getNumberOfModifiedChecks() {
+        return numberOfModifiedChecks.sum();
+    }
+
+    /**
+     * @return Number of cached items found to be unmodified since they were cached
+     */
+    public long getNumberOfNotModifiedChecks() {
+        return numberOfNotModifiedChecks.sum();
+    }
+
+    public static String documentDependency(String id) {
+        return "docs/" + id.toLowerCase(Locale.ROOT);
+    }
+
+    public static String collectionDependency(String collection) {
+        return "collections/" + collection.toLowerCase(Locale.ROOT);
+    }
+
+    public static String indexDependency(String indexName) {
+        return "indexes/" + indexName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Marks items depending on given dependency (and all untagged items) as possibly modified.
+     * @param dependency Dependency created using documentDependency, collectionDependency or indexDependency
+     */
+    public void invalidate(String dependency) {
+        invalidations.put(dependency, changeSequence.incrementAndGet());
+        numberOfInvalidations.increment();
+    }
+
+    /**
+     * @return Current state of the cache, captured before request is sent (see set)
+     */
+    public Position getPosition() {
+        return new Position(generation.get(), changeSequence.get());
+    }
+
+    /**
+     * Items stored or confirmed by server after this call have greater update sequence (see HttpCacheItem.updateSequence)
+     * @return sequence of last item update
+     */
+    public long getUpdateSequence() {
+        return updateSequence.get();
+    }
+
     public void set(String url, String changeVector, String result) {
+        set(url, changeVector, result, null);
+    }
+
+    /**
+     * @param url Cache key
+     * @param changeVector Change vector of response
+     * @param result Response
+     * @param dependencies Dependencies of response, null - response depends on everything
+     */
+    public void set(String url, String changeVector, String result, String[] dependencies) {
+        set(url, changeVector, result, dependencies, null);
+    }
+
+    /**
+     * @param url Cache key
+     * @param changeVector Change vector of response
+     * @param result Response
+     * @param dependencies Dependencies of response, null - response depends on everything
+     * @param position Cache position when request was sent, invalidations after it make the item stale. Null - current position
+     */
+    public void set(String url, String changeVector, String result, String[] dependencies, Position position) {
+        if (mode != HttpCacheMode.STRING) {
+            set(url, changeVector, result.getBytes(StandardCharsets.UTF_8), dependencies, position);
+            return;
+        }
+
+        HttpCacheItem httpCacheItem = newItem(changeVector, dependencies, position);
+        httpCacheItem.payload = result;
+
+        items.put(url, httpCacheItem);
+    }
+
+    private HttpCacheItem newItem(String changeVector, String[] dependencies, Position position) {
+        if (position == null) {
+            position = getPosition();
+        }
+
         HttpCacheItem httpCacheItem = new HttpCacheItem();
         httpCacheItem.changeVector = changeVector;
-        httpCacheItem.payload = result;
         httpCacheItem.cache = this;
-        httpCacheItem.generation = generation.get();
+        httpCacheItem.generation = position.generation;
+        httpCacheItem.changeSequence = position.changeSequence;
+        httpCacheItem.dependencies = dependencies;
+        httpCacheItem.updateSequence = updateSequence.incrementAndGet();
+        return httpCacheItem;
+    }
+
+    /**
+     * Stores raw UTF-8 response. Cache takes ownership of passed array.
+     * @param url Cache key
+     * @param changeVector Change vector of response
+     * @param result Raw UTF-8 payload
+     */
+    public void set(String url, String changeVector, byte[] result) {
+        set(url, changeVector, result, null);
+    }
+
+    /**
+     * Stores raw UTF-8 response. Cache takes ownership of passed array.
+     * @param url Cache key
+     * @param changeVector Change vector of response
+     * @param result Raw UTF-8 payload
+     * @param dependencies Dependencies of response, null - response depends on everything
+     */
+    public void set(String url, String changeVector, byte[] result, String[] dependencies) {
+        set(url, changeVector, result, dependencies, null);
+    }
+
+    /**
+     * Stores raw UTF-8 response. Cache takes ownership of passed array.
+     * @param url Cache key
+     * @param changeVector Change vector of response
+     * @param result Raw UTF-8 payload
+     * @param dependencies Dependencies of response, null - response depends on everything
+     * @param position Cache position when request was sent, invalidations after it make the item stale. Null - current position
+     */
+    public void set(String url, String changeVector, byte[] result, String[] dependencies, Position position) {
+        if (mode == HttpCacheMode.STRING) {
+            set(url, changeVector, new String(result, StandardCharsets.UTF_8), dependencies, position);
+            return;
+        }
+
+        HttpCacheItem httpCacheItem = newItem(changeVector, dependencies, position);
+
+        storePayload(httpCacheItem, result);
 
         items.put(url, httpCacheItem);
     }
 
+    private void storePayload(HttpCacheItem item, byte[] payload) {
+        byte[] data = payload;
+
+        if (compress) {
+            byte[] compressed = deflate(payload);
+            if (compressed.length < payload.length) {
+                data = compressed;
+                item.payloadCompressed = true;
+            }
+        }
+
+        if (mode == HttpCacheMode.DIRECT_BYTES) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+            buffer.put(data);
+            buffer.flip();
+            item.payloadBuffer = buffer;
+        } else {
+            item.payloadBuffer = ByteBuffer.wrap(data);
+        }
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+            try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(output, deflater)) {
+                deflaterStream.write(payload);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to compress cached payload", e);
+        } finally {
+            deflater.end();
+        }
+    }
+
     public ReleaseCacheItem get(String url, Reference<String> changeVectorRef, Reference<String> responseRef) {
+        ReleaseCacheItem releaseCacheItem = get(url, changeVectorRef);
+        responseRef.value = releaseCacheItem.item != null ? releaseCacheItem.item.getPayloadAsString() : null;
+        return releaseCacheItem;
+    }
+
+    /**
+     * Gets cached item without materializing its payload. Use HttpCacheItem.openPayloadStream to read bytes based payload.
+     * @param url Cache key
+     * @param changeVectorRef Change vector of cached item
+     * @return cache item
+     */
+    public ReleaseCacheItem get(String url, Reference<String> changeVectorRef) {
         HttpCacheItem item = items.getIfPresent(url);
         if (item != null) {
             changeVectorRef.value = item.changeVector;
-            responseRef.value = item.payload;
 
             return new ReleaseCacheItem(item);
         }
 
         changeVectorRef.value = null;
-        responseRef.value = null;
         return new ReleaseCacheItem(null);
     }
 
     public void setNotFound(String url) {
-        HttpCacheItem httpCacheItem = new HttpCacheItem();
-        httpCacheItem.changeVector = "404 response";
-        httpCacheItem.cache = this;
-        httpCacheItem.generation = generation.get();
+        setNotFound(url, null);
+    }
 
-        items.put(url, httpCacheItem);
+    public void setNotFound(String url, String[] dependencies) {
+        setNotFound(url, dependencies, null);
+    }
+
+    public void setNotFound(String url, String[] dependencies, Position position) {
+        items.put(url, newItem("404 response", dependencies, position));
+    }
+
+    private boolean mightHaveBeenModified(HttpCacheItem item) {
+        if (item.generation != generation.get()) {
+            return true;
+        }
+
+        if (item.dependencies == null) {
+            return item.changeSequence != changeSequence.get();
+        }
+
+        if (item.changeSequence == changeSequence.get()) {
+            return false;
+        }
+
+        if (item.changeSequence < forgottenInvalidationsSequence.get()) {
+            return true;
+        }
+
+        for (String dependency : item.dependencies) {
+            Long invalidatedAt = invalidations.getIfPresent(dependency);
+            if (invalidatedAt != null && invalidatedAt > item.changeSequence) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Generation and change sequence of the cache at a point in time
+     */
+    public static class Position {
+        private final int generation;
+        private final long changeSequence;
+
+        private Position(int generation, long changeSequence) {
+            this.generation = generation;
+            this.changeSequence = changeSequence;
+        }
     }
 
     public static class ReleaseCacheItem implements CleanCloseable {
         public final HttpCacheItem item;
 
+        // cache state when request was sent, later invalidations aren't confirmed by not modified response
+        private final Position _position;
+
         public ReleaseCacheItem(HttpCacheItem item) {
             this.item = item;
+
+            _position = item != null ? item.cache.getPosition() : null;
         }
 
         public void notModified() {
             if (item != null) {
                 item.lastServerUpdate = LocalDateTime.now();
+                // server confirmed that response was up to date when request was sent
+                item.generation = Math.max(item.generation, _position.generation);
+                item.changeSequence = Math.max(item.changeSequence, _position.changeSequence);
+                item.updateSequence = item.cache.updateSequence.incrementAndGet();
             }
         }
 
@@ -87,7 +407,13 @@ public class HttpCache implements CleanCloseable {
         }
 
         public boolean getMightHaveBeenModified() {
-            return item.generation != item.cache.generation.get();
+            boolean modified = item.cache.mightHaveBeenModified(item);
+            if (modified) {
+                item.cache.numberOfModifiedChecks.increment();
+            } else {
+                item.cache.numberOfNotModifiedChecks.increment();
+            }
+            return modified;
         }
 
         @SuppressWarnings("EmptyMethod")
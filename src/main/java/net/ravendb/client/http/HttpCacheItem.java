@@ -1,13 +1,26 @@
 package net.ravendb.client.http;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.zip.InflaterInputStream;
 
 public class HttpCacheItem {
 
     public String changeVector;
     public String payload;
+    public ByteBuffer payloadBuffer;
+    public boolean payloadCompressed;
     public LocalDateTime lastServerUpdate;
     public int generation;
+    public long changeSequence;
+    public long updateSequence;
+    public String[] dependencies;
 
     public HttpCache cache;
 
@@ -15,4 +28,34 @@ public class HttpCacheItem {
         this.lastServerUpdate = LocalDateTime.now();
     }
 
+    public boolean hasPayload() {
+        return payload != null || payloadBuffer != null;
+    }
+
+    /**
+     * Opens stream over raw UTF-8 payload of this item (or null if item was cached as String or has no payload)
+     * @return payload stream
+     */
+    public InputStream openPayloadStream() {
+        if (payloadBuffer == null) {
+            return null;
+        }
+
+        // duplicate, so concurrent readers don't share position
+        InputStream stream = new ByteBufferBackedInputStream(payloadBuffer.duplicate());
+        return payloadCompressed ? new InflaterInputStream(stream) : stream;
+    }
+
+    public String getPayloadAsString() {
+        if (payloadBuffer == null) {
+            return payload;
+        }
+
+        try (InputStream stream = openPayloadStream()) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read cached payload", e);
+        }
+    }
+
 }
@@ -0,0 +1,16 @@
+package net.ravendb.client.http;
+
+public enum HttpCacheMode {
+    /**
+     * Responses are kept as soft-referenced Strings on the java heap
+     */
+    STRING,
+    /**
+     * Responses are kept as raw UTF-8 bytes in heap byte arrays, evicted by LRU within the configured size
+     */
+    HEAP_BYTES,
+    /**
+     * Responses are kept as raw UTF-8 bytes in direct (off-heap) buffers, evicted by LRU within the configured size
+     */
+    DIRECT_BYTES
+}
@@ -10,10 +10,23 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class NodeSelector implements CleanCloseable {
 
+    /**
+     * Weight of the newest sample in exponentially weighted moving average of node latency
+     */
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.25;
+
+    /**
+     * Latency of node which wasn't used for that long is halved, so slow node gets probed again after it recovers
+     */
+    private static final long LATENCY_DECAY_HALF_LIFE_IN_NANOS = TimeUnit.SECONDS.toNanos(5);
+
     private final ExecutorService executorService;
     private Timer _updateFastestNodeTimer;
     private NodeSelectorState _state;
@@ -36,6 +49,46 @@ public class NodeSelector implements CleanCloseable {
         state.failures[nodeIndex].incrementAndGet();
     }
 
+    /**
+     * Marks start of request sent to given node. Every call must be followed by onRequestFinished.
+     * @param nodeIndex Index of node in topology
+     * @param node Node which request was sent to
+     */
+    public void onRequestStarted(int nodeIndex, ServerNode node) {
+        NodeSelectorState state = _state;
+        if (!state.isSameNode(nodeIndex, node)) {
+            return;
+        }
+
+        state.inFlight[nodeIndex].incrementAndGet();
+    }
+
+    /**
+     * Records latency of finished (successful or failed) request and decrements number of outstanding requests.
+     * @param nodeIndex Index of node in topology
+     * @param node Node which request was sent to
+     * @param durationInNanos Request duration
+     */
+    public void onRequestFinished(int nodeIndex, ServerNode node, long durationInNanos) {
+        NodeSelectorState state = _state;
+        if (!state.isSameNode(nodeIndex, node)) {
+            return; // topology was changed in the meantime, in flight counters were reset
+        }
+
+        state.inFlight[nodeIndex].decrementAndGet();
+
+        AtomicLong latency = state.latencies[nodeIndex];
+        long sample = Math.max(1, durationInNanos);
+        long current;
+        long updated;
+        do {
+            current = latency.get();
+            updated = current == 0 ? sample : current + (long) ((sample - current) * LATENCY_SMOOTHING_FACTOR);
+        } while (!latency.compareAndSet(current, updated));
+
+        state.latencyUpdates[nodeIndex].set(System.nanoTime());
+    }
+
     public boolean onUpdateTopology(Topology topology) {
         return onUpdateTopology(topology, false);
     }
@@ -116,6 +169,58 @@ public class NodeSelector implements CleanCloseable {
         return getPreferredNode();
     }
 
+    /**
+     * Chooses node using "power of two choices": two random healthy members are compared and the one with lower
+     * (decayed latency * (outstanding requests + 1)) wins. Node without any latency samples is always preferred,
+     * so new or recovered nodes are probed immediately.
+     * @return Chosen node
+     */
+    public CurrentIndexAndNode getLeastLoadedNode() {
+        NodeSelectorState state = _state;
+        int len = Math.min(state.nodes.size(), state.failures.length);
+
+        int candidates = 0;
+        for (int i = 0; i < len; i++) {
+            if (state.isAvailableMember(i)) {
+                candidates++;
+            }
+        }
+
+        if (candidates == 0) {
+            return getPreferredNode();
+        }
+
+        int chosen;
+        if (candidates == 1) {
+            chosen = nthAvailableMember(state, 0);
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates);
+            int second = random.nextInt(candidates - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            int firstIndex = nthAvailableMember(state, first);
+            int secondIndex = nthAvailableMember(state, second);
+
+            long now = System.nanoTime();
+            chosen = state.loadScore(secondIndex, now) < state.loadScore(firstIndex, now) ? secondIndex : firstIndex;
+        }
+
+        return new CurrentIndexAndNode(chosen, state.nodes.get(chosen));
+    }
+
+    private static int nthAvailableMember(NodeSelectorState state, int n) {
+        for (int i = 0; i < state.failures.length; i++) {
+            if (state.isAvailableMember(i) && n-- == 0) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("Unable to find available node, topology was changed concurrently.");
+    }
+
     public void restoreNodeIndex(int nodeIndex) {
         NodeSelectorState state = _state;
         if (state.failures.length < nodeIndex) {
@@ -219,6 +324,9 @@ public class NodeSelector implements CleanCloseable {
         public final int[] fastestRecords;
         public int fastest;
         public final AtomicInteger speedTestMode = new AtomicInteger(0);
+        public final AtomicInteger[] inFlight;
+        public final AtomicLong[] latencies;
+        public final AtomicLong[] latencyUpdates;
 
         public NodeSelectorState(Topology topology) {
             this.topology = topology;
@@ -229,6 +337,37 @@ public class NodeSelector implements CleanCloseable {
             }
             this.fastestRecords = new int[topology.getNodes().size()];
 
+            this.inFlight = new AtomicInteger[this.failures.length];
+            this.latencies = new AtomicLong[this.failures.length];
+            this.latencyUpdates = new AtomicLong[this.failures.length];
+            for (int i = 0; i < this.failures.length; i++) {
+                this.inFlight[i] = new AtomicInteger(0);
+                this.latencies[i] = new AtomicLong(0);
+                this.latencyUpdates[i] = new AtomicLong(0);
+            }
+        }
+
+        public boolean isSameNode(int index, ServerNode node) {
+            return index >= 0 && index < failures.length && index < nodes.size() && nodes.get(index) == node;
+        }
+
+        public boolean isAvailableMember(int index) {
+            ServerNode node = nodes.get(index);
+            return failures[index].get() == 0 && node.getServerRole() == ServerNode.Role.MEMBER && StringUtils.isNotEmpty(node.getUrl());
+        }
+
+        public double loadScore(int index, long now) {
+            long latency = latencies[index].get();
+            if (latency == 0) {
+                return 0;
+            }
+
+            long idle = now - latencyUpdates[index].get();
+            if (idle > LATENCY_DECAY_HALF_LIFE_IN_NANOS) {
+                latency >>= Math.min(62, idle / LATENCY_DECAY_HALF_LIFE_IN_NANOS);
+            }
+
+            return (double) latency * (inFlight[index].get() + 1);
         }
     }
 
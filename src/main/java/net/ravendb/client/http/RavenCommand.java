@@ -5,6 +5,7 @@ import net.ravendb.client.extensions.HttpExtensions;
 import net.ravendb.client.extensions.JsonExtensions;
 import net.ravendb.client.primitives.Reference;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpStatus;
@@ -13,6 +14,7 @@ import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.impl.client.CloseableHttpClient;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -27,6 +29,8 @@ public abstract class RavenCommand<TResult> {
     protected RavenCommandResponseType responseType;
     protected boolean canCache;
     protected boolean canCacheAggressively;
+    protected String[] cacheDependencies;
+    protected HttpCache.Position cachePosition;
     protected final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
 
     public abstract boolean isReadRequest();
@@ -59,6 +63,28 @@ public abstract class RavenCommand<TResult> {
         return canCacheAggressively;
     }
 
+    /**
+     * @return Dependencies of cached response (see HttpCache), null - response depends on all documents and indexes
+     */
+    public String[] getCacheDependencies() {
+        return cacheDependencies;
+    }
+
+    public void setCacheDependencies(String[] cacheDependencies) {
+        this.cacheDependencies = cacheDependencies;
+    }
+
+    /**
+     * @return Cache position captured when request was sent, response is cached as of this position
+     */
+    public HttpCache.Position getCachePosition() {
+        return cachePosition;
+    }
+
+    public void setCachePosition(HttpCache.Position cachePosition) {
+        this.cachePosition = cachePosition;
+    }
+
     protected RavenCommand(Class<TResult> resultClass) {
         this.resultClass = resultClass;
         responseType = RavenCommandResponseType.OBJECT;
@@ -76,6 +102,18 @@ public abstract class RavenCommand<TResult> {
         throw new UnsupportedOperationException(responseType.name() + " command must override the setResponse method which expects response with the following type: " + responseType);
     }
 
+    /**
+     * Sets response read from raw UTF-8 stream (http response entity or bytes based http cache).
+     * Default implementation materializes String and calls setResponse(String, boolean),
+     * commands which can parse directly from stream should override this method.
+     * @param response Response stream
+     * @param fromCache Is response taken from cache
+     * @throws IOException When stream can't be read
+     */
+    public void setResponse(InputStream response, boolean fromCache) throws IOException {
+        setResponse(response != null ? IOUtils.toString(response, "UTF-8") : null, fromCache);
+    }
+
     public CloseableHttpResponse send(CloseableHttpClient client, HttpRequestBase request) throws IOException {
         return client.execute(request);
     }
@@ -133,14 +171,21 @@ public abstract class RavenCommand<TResult> {
                     return ResponseDisposeHandling.AUTOMATIC;
                 }
 
-                // we intentionally don't dispose the reader here, we'll be using it
-                // in the command, any associated memory will be released on context reset
-                String json = IOUtils.toString(entity.getContent(), "UTF-8");
-                if (cache != null) //precaution
-                {
-                    cacheResponse(cache, url, response, json);
+                // parse directly from entity stream, if response should be cached
+                // raw bytes are copied into cache buffer in the same pass
+                String changeVector = cache != null ? getChangeVectorToCache(response) : null;
+                ByteArrayOutputStream cacheBuffer = changeVector != null
+                        ? new ByteArrayOutputStream(contentLength > 0 ? contentLength.intValue() : 4096)
+                        : null;
+
+                InputStream content = entity.getContent();
+                InputStream stream = cacheBuffer != null ? new TeeInputStream(content, cacheBuffer) : content;
+
+                setResponse(stream, false);
+
+                if (cacheBuffer != null) {
+                    cache.set(url, changeVector, cacheBuffer.toByteArray(), getCacheDependencies(), getCachePosition());
                 }
-                setResponse(json, false);
                 return ResponseDisposeHandling.AUTOMATIC;
             } else {
                 setResponseRaw(response, entity.getContent());
@@ -155,16 +200,20 @@ public abstract class RavenCommand<TResult> {
     }
 
     protected void cacheResponse(HttpCache cache, String url, CloseableHttpResponse response, String responseJson) {
-        if (!canCache()) {
+        String changeVector = getChangeVectorToCache(response);
+        if (changeVector == null) {
             return;
         }
 
-        String changeVector = HttpExtensions.getEtagHeader(response);
-        if (changeVector == null) {
-            return;
+        cache.set(url, changeVector, responseJson, getCacheDependencies(), getCachePosition());
+    }
+
+    private String getChangeVectorToCache(CloseableHttpResponse response) {
+        if (!canCache()) {
+            return null;
         }
 
-        cache.set(url, changeVector, responseJson);
+        return HttpExtensions.getEtagHeader(response);
     }
 
     protected static void throwInvalidResponse() {
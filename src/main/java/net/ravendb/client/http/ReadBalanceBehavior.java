@@ -6,5 +6,9 @@ import net.ravendb.client.primitives.UseSharpEnum;
 public enum ReadBalanceBehavior {
     NONE,
     ROUND_ROBIN,
-    FASTEST_NODE
+    FASTEST_NODE,
+    /**
+     * Client side only: reads are routed using latency and number of outstanding requests observed for each node
+     */
+    LEAST_LOADED
 }
@@ -12,6 +12,8 @@ import net.ravendb.client.exceptions.database.DatabaseDoesNotExistException;
 import net.ravendb.client.exceptions.security.AuthorizationException;
 import net.ravendb.client.extensions.HttpExtensions;
 import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.metrics.IRequestExecutorMetrics;
+import net.ravendb.client.http.metrics.NoOpRequestExecutorMetrics;
 import net.ravendb.client.primitives.*;
 import net.ravendb.client.primitives.Timer;
 import net.ravendb.client.serverwide.commands.GetDatabaseTopologyCommand;
@@ -64,6 +66,8 @@ public class RequestExecutor implements CleanCloseable {
     private static final ConcurrentMap<String, CloseableHttpClient> globalHttpClientWithCompression = new ConcurrentHashMap<>();
     private static final ConcurrentMap<String, CloseableHttpClient> globalHttpClientWithoutCompression = new ConcurrentHashMap<>();
 
+    private static final ConcurrentMap<String, AsyncHttpClient> globalAsyncHttpClients = new ConcurrentHashMap<>();
+
     private final Semaphore _updateDatabaseTopologySemaphore = new Semaphore(1);
 
     private final Semaphore _updateClientConfigurationSemaphore = new Semaphore(1);
@@ -86,18 +90,45 @@ public class RequestExecutor implements CleanCloseable {
 
     private ServerNode _topologyTakenFromNode;
 
+    private final ConcurrentMap<String, InFlightRead> _inFlightReads = new ConcurrentHashMap<>();
+
+    private static class InFlightRead {
+        public final long startUpdateSequence;
+        public final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        public InFlightRead(long startUpdateSequence) {
+            this.startUpdateSequence = startUpdateSequence;
+        }
+    }
+
     public HttpCache getCache() {
         return cache;
     }
 
     public final ThreadLocal<AggressiveCacheOptions> aggressiveCaching = new ThreadLocal<>();
 
+    private volatile IRequestExecutorMetrics metrics = NoOpRequestExecutorMetrics.INSTANCE;
+
+    public IRequestExecutorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets metrics listener which is notified about request latencies, cache usage, retries and failovers.
+     * @param metrics Metrics listener, null disables metrics
+     */
+    public void setMetrics(IRequestExecutorMetrics metrics) {
+        this.metrics = metrics != null ? metrics : NoOpRequestExecutorMetrics.INSTANCE;
+    }
+
     public Topology getTopology() {
         return _nodeSelector != null ? _nodeSelector.getTopology() : null;
     }
 
     private final CloseableHttpClient httpClient;
 
+    private volatile AsyncHttpClient asyncHttpClient;
+
     public CloseableHttpClient getHttpClient() {
         return httpClient;
     }
@@ -156,7 +187,7 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     protected RequestExecutor(String databaseName, KeyStore certificate, KeyStore trustStore, DocumentConventions conventions, ExecutorService executorService, String[] initialUrls) {
-        cache = new HttpCache(conventions.getMaxHttpCacheSize());
+        cache = new HttpCache(conventions.getMaxHttpCacheSize(), conventions.getHttpCacheMode(), conventions.isCompressHttpCache());
         _executorService = executorService;
         _readBalanceBehavior = conventions.getReadBalanceBehavior();
         _databaseName = databaseName;
@@ -293,6 +324,8 @@ public class RequestExecutor implements CleanCloseable {
 
                 topologyEtag = _nodeSelector.getTopology().getEtag();
 
+                metrics.onTopologyUpdate();
+
             } catch (Exception e) {
                 if (!_disposed) {
                     throw e;
@@ -341,6 +374,8 @@ public class RequestExecutor implements CleanCloseable {
                 return _nodeSelector.getNodeBySessionId(sessionInfo != null ? sessionInfo.getSessionId() : 0);
             case FASTEST_NODE:
                 return _nodeSelector.getFastestNode();
+            case LEAST_LOADED:
+                return _nodeSelector.getLeastLoadedNode();
             default:
                 throw new IllegalArgumentException();
         }
@@ -377,6 +412,289 @@ public class RequestExecutor implements CleanCloseable {
         execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, true, sessionInfo);
     }
 
+    /**
+     * Executes command without blocking calling thread. Network I/O is performed by non-blocking http client,
+     * response processing (and future completion) happens on executor service threads.
+     * @param command Command to execute
+     * @param <TResult> Command result type
+     * @return Future completed when command result is available
+     */
+    public <TResult> CompletableFuture<Void> executeAsync(RavenCommand<TResult> command) {
+        return executeAsync(command, null);
+    }
+
+    /**
+     * Executes command without blocking calling thread. Network I/O is performed by non-blocking http client,
+     * response processing (and future completion) happens on executor service threads.
+     * @param command Command to execute
+     * @param sessionInfo Session info
+     * @param <TResult> Command result type
+     * @return Future completed when command result is available
+     */
+    public <TResult> CompletableFuture<Void> executeAsync(RavenCommand<TResult> command, SessionInfo sessionInfo) {
+        // aggressive caching is thread bound - capture it on the calling thread
+        AggressiveCacheOptions aggressiveCacheOptions = aggressiveCaching.get();
+
+        try {
+            CompletableFuture<Void> topologyUpdate = _firstTopologyUpdate;
+            if (topologyUpdate != null &&
+                    (topologyUpdate.isDone() && !topologyUpdate.isCompletedExceptionally() && !topologyUpdate.isCancelled())
+                    || _disableTopologyUpdates) {
+                CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
+                return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, true, sessionInfo, aggressiveCacheOptions);
+            }
+
+            if (topologyUpdate == null) {
+                synchronized (this) {
+                    if (_firstTopologyUpdate == null) {
+                        if (_lastKnownUrls == null) {
+                            throw new IllegalStateException("No known topology and no previously known one, cannot proceed, likely a bug");
+                        }
+
+                        _firstTopologyUpdate = firstTopologyUpdate(_lastKnownUrls);
+                    }
+
+                    topologyUpdate = _firstTopologyUpdate;
+                }
+            }
+
+            final CompletableFuture<Void> pendingTopologyUpdate = topologyUpdate;
+
+            return pendingTopologyUpdate
+                    .handle((result, error) -> {
+                        if (error != null) {
+                            synchronized (this) {
+                                if (_firstTopologyUpdate == pendingTopologyUpdate) {
+                                    _firstTopologyUpdate = null; // next request will raise it
+                                }
+                            }
+
+                            throw ExceptionsUtils.unwrapException(error);
+                        }
+
+                        return chooseNodeForRequest(command, sessionInfo);
+                    })
+                    .thenCompose(node -> executeAsync(node.currentNode, node.currentIndex, command, true, sessionInfo, aggressiveCacheOptions));
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+    }
+
+    private <TResult> CompletableFuture<Void> executeAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry,
+                                                         SessionInfo sessionInfo, AggressiveCacheOptions aggressiveCacheOptions) {
+        Reference<String> urlRef = new Reference<>();
+        Reference<String> cachedChangeVector = new Reference<>();
+        HttpRequestBase request;
+        HttpCache.ReleaseCacheItem cachedItem = null;
+
+        try {
+            request = createRequest(chosenNode, command, urlRef);
+            cachedItem = getFromCache(command, urlRef.value, cachedChangeVector);
+
+            if (cachedChangeVector.value != null) {
+                if (aggressiveCacheOptions != null && command.canCacheAggressively()) {
+                    if (cachedItem.getAge().compareTo(aggressiveCacheOptions.getDuration()) < 0 &&
+                            !cachedItem.getMightHaveBeenModified()) {
+                        try {
+                            setResponseFromCache(command, cachedItem.item);
+                        } finally {
+                            cachedItem.close();
+                        }
+
+                        metrics.onAggressiveCacheHit();
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    metrics.onAggressiveCacheMiss();
+                }
+
+                request.addHeader("If-None-Match", "\"" + cachedChangeVector.value + "\"");
+            }
+
+            addEtagHeaders(request);
+        } catch (Exception e) {
+            if (cachedItem != null) {
+                cachedItem.close();
+            }
+            return failedFuture(e);
+        }
+
+        final HttpCache.ReleaseCacheItem releaseCacheItem = cachedItem;
+
+        Stopwatch sp = Stopwatch.createStarted();
+        numberOfServerRequests.incrementAndGet();
+
+        NodeSelector loadTrackingSelector = _readBalanceBehavior == ReadBalanceBehavior.LEAST_LOADED && nodeIndex != null ? _nodeSelector : null;
+        if (loadTrackingSelector != null) {
+            loadTrackingSelector.onRequestStarted(nodeIndex, chosenNode);
+        }
+
+        return getAsyncHttpClient()
+                .send(request)
+                .handleAsync((response, error) -> {
+                    if (loadTrackingSelector != null) {
+                        loadTrackingSelector.onRequestFinished(nodeIndex, chosenNode, sp.elapsed(TimeUnit.NANOSECONDS));
+                    }
+                    sp.stop();
+
+                    if (error != null) {
+                        return handleSendFailureAsync(urlRef.value, chosenNode, nodeIndex, command, request, error, shouldRetry, sessionInfo);
+                    }
+
+                    metrics.onRequest(chosenNode, command.getClass(), sp.elapsed(TimeUnit.NANOSECONDS));
+
+                    return handleResponseAsync(chosenNode, nodeIndex, command, request, response, urlRef.value, releaseCacheItem, shouldRetry, sessionInfo);
+                }, _executorService)
+                .thenCompose(x -> x)
+                .whenComplete((result, error) -> releaseCacheItem.close());
+    }
+
+    private <TResult> CompletableFuture<Void> handleSendFailureAsync(String url, ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command,
+                                                                    HttpRequestBase request, Throwable error, boolean shouldRetry, SessionInfo sessionInfo) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof IOException) || !shouldRetry) {
+            return failedFuture(cause);
+        }
+
+        IOException e = (IOException) cause;
+
+        try {
+            return handleServerDownAsync(chosenNode, nodeIndex, command, request, null, e, sessionInfo)
+                    .thenApply(handled -> {
+                        if (!handled) {
+                            throwFailedToContactAllNodes(command, request, e, null);
+                        }
+                        return null;
+                    });
+        } catch (Exception handlingError) {
+            return failedFuture(handlingError);
+        }
+    }
+
+    private <TResult> CompletableFuture<Void> handleResponseAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                 CloseableHttpResponse response, String url, HttpCache.ReleaseCacheItem cachedItem,
+                                                                 boolean shouldRetry, SessionInfo sessionInfo) {
+        CompletableFuture<Void> result;
+
+        command.statusCode = response.getStatusLine().getStatusCode();
+
+        Boolean refreshTopology = Optional.ofNullable(HttpExtensions.getBooleanHeader(response, Constants.Headers.REFRESH_TOPOLOGY)).orElse(false);
+        Boolean refreshClientConfiguration = Optional.ofNullable(HttpExtensions.getBooleanHeader(response, Constants.Headers.REFRESH_CLIENT_CONFIGURATION)).orElse(false);
+
+        try {
+            if (command.statusCode == HttpStatus.SC_NOT_MODIFIED) {
+                cachedItem.notModified();
+                metrics.onNotModified();
+
+                if (command.getResponseType() == RavenCommandResponseType.OBJECT) {
+                    setResponseFromCache(command, cachedItem.item);
+                }
+
+                result = CompletableFuture.completedFuture(null);
+            } else if (command.statusCode >= 400) {
+                result = handleUnsuccessfulResponseAsync(chosenNode, nodeIndex, command, request, response, url, sessionInfo, shouldRetry)
+                        .thenApply(handled -> {
+                            if (!handled) {
+                                throwUnrecoveredResponse(command, response);
+                            }
+                            return null;
+                        });
+            } else {
+                // response is fully buffered, so there is nothing to dispose in case of manual handling
+                command.processResponse(cache, response, url);
+                _lastReturnedResponse = new Date();
+
+                result = CompletableFuture.completedFuture(null);
+            }
+        } catch (Exception e) {
+            result = failedFuture(e);
+        } finally {
+            IOUtils.closeQuietly(response);
+        }
+
+        if (!refreshTopology && !refreshClientConfiguration) {
+            return result;
+        }
+
+        ServerNode serverNode = new ServerNode();
+        serverNode.setUrl(chosenNode.getUrl());
+        serverNode.setDatabase(_databaseName);
+
+        CompletableFuture<Boolean> topologyTask = refreshTopology ? updateTopologyAsync(serverNode, 0) : CompletableFuture.completedFuture(false);
+        CompletableFuture<Void> clientConfiguration = refreshClientConfiguration ? updateClientConfigurationAsync() : CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.allOf(result, topologyTask, clientConfiguration);
+    }
+
+    private <TResult> CompletableFuture<Boolean> handleUnsuccessfulResponseAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                                CloseableHttpResponse response, String url, SessionInfo sessionInfo, boolean shouldRetry) {
+        switch (response.getStatusLine().getStatusCode()) {
+            case HttpStatus.SC_GONE: // request not relevant for the chosen node - the database has been moved to a different one
+                if (!shouldRetry) {
+                    return CompletableFuture.completedFuture(false);
+                }
+
+                return updateTopologyAsync(chosenNode, Integer.MAX_VALUE, true)
+                        .thenCompose(x -> {
+                            metrics.onRetry();
+
+                            CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
+                            return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo, null);
+                        })
+                        .thenApply(x -> true);
+            case HttpStatus.SC_GATEWAY_TIMEOUT:
+            case HttpStatus.SC_REQUEST_TIMEOUT:
+            case HttpStatus.SC_BAD_GATEWAY:
+            case HttpStatus.SC_SERVICE_UNAVAILABLE:
+                return handleServerDownAsync(chosenNode, nodeIndex, command, request, response, null, sessionInfo);
+            default:
+                // remaining status codes are handled without blocking
+                return CompletableFuture.completedFuture(handleUnsuccessfulResponse(chosenNode, nodeIndex, command, request, response, url, sessionInfo, shouldRetry));
+        }
+    }
+
+    private <TResult> CompletableFuture<Boolean> handleServerDownAsync(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request,
+                                                                      CloseableHttpResponse response, Exception e, SessionInfo sessionInfo) {
+        CurrentIndexAndNode currentIndexAndNode = chooseFailoverNode(chosenNode, nodeIndex, command, request, response, e);
+        if (currentIndexAndNode == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return executeAsync(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo, null)
+                .thenApply(x -> true);
+    }
+
+    private AsyncHttpClient getAsyncHttpClient() {
+        AsyncHttpClient client = asyncHttpClient;
+        if (client != null) {
+            return client;
+        }
+
+        synchronized (this) {
+            if (asyncHttpClient == null) {
+                String thumbprint = certificate != null ? CertificateUtils.extractThumbprintFromCertificate(certificate) : "";
+                boolean useCompression = !conventions.hasExplicitlySetCompressionUsage() || conventions.isUseCompression();
+
+                asyncHttpClient = globalAsyncHttpClients.computeIfAbsent(thumbprint + "|" + useCompression, key -> {
+                    try {
+                        SSLContext sslContext = certificate != null ? createSSLContext() : null;
+                        return new AsyncHttpClient(sslContext, useCompression, Runtime.getRuntime().availableProcessors());
+                    } catch (GeneralSecurityException e) {
+                        throw new IllegalStateException("Unable to configure ssl context: " + e.getMessage(), e);
+                    }
+                });
+            }
+
+            return asyncHttpClient;
+        }
+    }
+
+    private static <T> CompletableFuture<T> failedFuture(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
     private void updateTopologyCallback() {
         Date time = new Date();
         if (time.getTime() - _lastReturnedResponse.getTime() <= Duration.ofMinutes(1).toMillis()) {
@@ -525,39 +843,87 @@ public class RequestExecutor implements CleanCloseable {
         }
     }
 
-    @SuppressWarnings({"ThrowFromFinallyBlock", "ConstantConditions"})
     public <TResult> void execute(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, boolean shouldRetry, SessionInfo sessionInfo) {
         Reference<String> urlRef = new Reference<>();
         HttpRequestBase request = createRequest(chosenNode, command, urlRef);
 
+        // retries (shouldRetry == false) are never coalesced, so request can't wait for itself
+        if (!shouldRetry || !conventions.isCoalesceConcurrentReads() || !isCacheable(command)) {
+            execute(chosenNode, nodeIndex, command, request, urlRef, shouldRetry, sessionInfo);
+            return;
+        }
+
+        InFlightRead inFlightRead = new InFlightRead(cache.getUpdateSequence());
+        InFlightRead leader = _inFlightReads.putIfAbsent(urlRef.value, inFlightRead);
+        if (leader == null) {
+            try {
+                execute(chosenNode, nodeIndex, command, request, urlRef, shouldRetry, sessionInfo);
+            } finally {
+                _inFlightReads.remove(urlRef.value, inFlightRead);
+                inFlightRead.completion.complete(null);
+            }
+            return;
+        }
+
+        try {
+            leader.completion.get();
+        } catch (ExecutionException e) {
+            // leader completion is never exceptional
+        } catch (InterruptedException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        }
+
+        if (!tryServeFromCompletedRead(command, urlRef.value, leader)) {
+            // leader failed or response wasn't cached - execute on our own
+            execute(chosenNode, nodeIndex, command, request, urlRef, shouldRetry, sessionInfo);
+        }
+    }
+
+    private <TResult> boolean tryServeFromCompletedRead(RavenCommand<TResult> command, String url, InFlightRead read) {
+        Reference<String> cachedChangeVector = new Reference<>();
+        try (HttpCache.ReleaseCacheItem cachedItem = cache.get(url, cachedChangeVector)) {
+            // item must be stored or confirmed by server after leader started
+            if (cachedChangeVector.value == null ||
+                    cachedItem.getMightHaveBeenModified() ||
+                    cachedItem.item.updateSequence <= read.startUpdateSequence) {
+                return false;
+            }
+
+            setResponseFromCache(command, cachedItem.item);
+            metrics.onCoalescedRequest();
+            return true;
+        } catch (IOException e) {
+            throw ExceptionsUtils.unwrapException(e);
+        }
+    }
+
+    @SuppressWarnings({"ThrowFromFinallyBlock", "ConstantConditions"})
+    private <TResult> void execute(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request, Reference<String> urlRef, boolean shouldRetry, SessionInfo sessionInfo) {
         Reference<String> cachedChangeVector = new Reference<>();
-        Reference<String> cachedValue = new Reference<>();
 
-        try (HttpCache.ReleaseCacheItem cachedItem = getFromCache(command, urlRef.value, cachedChangeVector, cachedValue)) {
+        try (HttpCache.ReleaseCacheItem cachedItem = getFromCache(command, urlRef.value, cachedChangeVector)) {
             if (cachedChangeVector.value != null) {
                 AggressiveCacheOptions aggressiveCacheOptions = aggressiveCaching.get();
-                if (aggressiveCacheOptions != null &&
-                        cachedItem.getAge().compareTo(aggressiveCacheOptions.getDuration()) < 0 &&
-                        !cachedItem.getMightHaveBeenModified() &&
-                        command.canCacheAggressively()) {
-                    try {
-                        command.setResponse(cachedValue.value, true);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+                if (aggressiveCacheOptions != null && command.canCacheAggressively()) {
+                    if (cachedItem.getAge().compareTo(aggressiveCacheOptions.getDuration()) < 0 &&
+                            !cachedItem.getMightHaveBeenModified()) {
+                        try {
+                            setResponseFromCache(command, cachedItem.item);
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+
+                        metrics.onAggressiveCacheHit();
+                        return;
                     }
-                    return;
+
+                    metrics.onAggressiveCacheMiss();
                 }
 
                 request.addHeader("If-None-Match", "\"" + cachedChangeVector.value + "\"");
             }
 
-            if (!_disableClientConfigurationUpdates) {
-                request.addHeader(Constants.Headers.CLIENT_CONFIGURATION_ETAG, "\"" + clientConfigurationEtag + "\"");
-            }
-
-            if (!_disableTopologyUpdates) {
-                request.addHeader(Constants.Headers.TOPOLOGY_ETAG, "\"" + topologyEtag + "\"");
-            }
+            addEtagHeaders(request);
 
             Stopwatch sp = Stopwatch.createStarted();
             CloseableHttpResponse response = null;
@@ -566,13 +932,26 @@ public class RequestExecutor implements CleanCloseable {
             try {
                 numberOfServerRequests.incrementAndGet();
 
-                if (shouldExecuteOnAll(chosenNode, command)) {
-                    response = executeOnAllToFigureOutTheFastest(chosenNode, command);
-                } else {
-                    response = command.send(httpClient, request);
+                NodeSelector loadTrackingSelector = _readBalanceBehavior == ReadBalanceBehavior.LEAST_LOADED && nodeIndex != null ? _nodeSelector : null;
+                if (loadTrackingSelector != null) {
+                    loadTrackingSelector.onRequestStarted(nodeIndex, chosenNode);
+                }
+
+                try {
+                    if (shouldExecuteOnAll(chosenNode, command)) {
+                        response = executeOnAllToFigureOutTheFastest(chosenNode, command);
+                    } else {
+                        response = command.send(httpClient, request);
+                    }
+                } finally {
+                    if (loadTrackingSelector != null) {
+                        loadTrackingSelector.onRequestFinished(nodeIndex, chosenNode, sp.elapsed(TimeUnit.NANOSECONDS));
+                    }
                 }
 
                 sp.stop();
+
+                metrics.onRequest(chosenNode, command.getClass(), sp.elapsed(TimeUnit.NANOSECONDS));
             } catch (IOException e) {
                 if (!shouldRetry) {
                     throw ExceptionsUtils.unwrapException(e);
@@ -593,10 +972,11 @@ public class RequestExecutor implements CleanCloseable {
             try {
                 if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
                     cachedItem.notModified();
+                    metrics.onNotModified();
 
                     try {
                         if (command.getResponseType() == RavenCommandResponseType.OBJECT) {
-                            command.setResponse(cachedValue.value, true);
+                            setResponseFromCache(command, cachedItem.item);
                         }
                     } catch (IOException e) {
                         throw ExceptionsUtils.unwrapException(e);
@@ -607,23 +987,7 @@ public class RequestExecutor implements CleanCloseable {
 
                 if (response.getStatusLine().getStatusCode() >= 400) {
                     if (!handleUnsuccessfulResponse(chosenNode, nodeIndex, command, request, response, urlRef.value, sessionInfo, shouldRetry)) {
-                        Header dbMissingHeader = response.getFirstHeader("Database-Missing");
-                        if (dbMissingHeader != null && dbMissingHeader.getValue() != null) {
-                            throw new DatabaseDoesNotExistException(dbMissingHeader.getValue());
-                        }
-
-                        if (command.getFailedNodes().size() == 0) { //precaution, should never happen at this point
-                            throw new IllegalStateException("Received unsuccessful response and couldn't recover from it. Also, no record of exceptions per failed nodes. This is weird and should not happen.");
-                        }
-
-                        if (command.getFailedNodes().size() == 1) {
-                            Collection<Exception> values = command.getFailedNodes().values();
-                            values.stream().findFirst().ifPresent(v -> {
-                                throw new RuntimeException(v);
-                            });
-                        }
-
-                        throw new AllTopologyNodesDownException("Received unsuccessful response from all servers and couldn't recover from it.");
+                        throwUnrecoveredResponse(command, response);
                     }
                     return; // we either handled this already in the unsuccessful response or we are throwing
                 }
@@ -654,6 +1018,36 @@ public class RequestExecutor implements CleanCloseable {
         }
     }
 
+    private void addEtagHeaders(HttpRequestBase request) {
+        if (!_disableClientConfigurationUpdates) {
+            request.addHeader(Constants.Headers.CLIENT_CONFIGURATION_ETAG, "\"" + clientConfigurationEtag + "\"");
+        }
+
+        if (!_disableTopologyUpdates) {
+            request.addHeader(Constants.Headers.TOPOLOGY_ETAG, "\"" + topologyEtag + "\"");
+        }
+    }
+
+    private static <TResult> void throwUnrecoveredResponse(RavenCommand<TResult> command, CloseableHttpResponse response) {
+        Header dbMissingHeader = response.getFirstHeader("Database-Missing");
+        if (dbMissingHeader != null && dbMissingHeader.getValue() != null) {
+            throw new DatabaseDoesNotExistException(dbMissingHeader.getValue());
+        }
+
+        if (command.getFailedNodes().size() == 0) { //precaution, should never happen at this point
+            throw new IllegalStateException("Received unsuccessful response and couldn't recover from it. Also, no record of exceptions per failed nodes. This is weird and should not happen.");
+        }
+
+        if (command.getFailedNodes().size() == 1) {
+            Collection<Exception> values = command.getFailedNodes().values();
+            values.stream().findFirst().ifPresent(v -> {
+                throw new RuntimeException(v);
+            });
+        }
+
+        throw new AllTopologyNodesDownException("Received unsuccessful response from all servers and couldn't recover from it.");
+    }
+
     private <TResult> void throwFailedToContactAllNodes(RavenCommand<TResult> command, HttpRequestBase request, Exception e, Exception timeoutException) {
         String message = "Tried to send " + command.resultClass.getName() + " request via " + request.getMethod() + " " + request.getURI() + " to all configured nodes in the topology, " +
                 "all of them seem to be down or not responding. I've tried to access the following nodes: ";
@@ -749,16 +1143,40 @@ public class RequestExecutor implements CleanCloseable {
         }
     }
 
-    private <TResult> HttpCache.ReleaseCacheItem getFromCache(RavenCommand<TResult> command, String url, Reference<String> cachedChangeVector, Reference<String> cachedValue) {
-        if (command.canCache() && command.isReadRequest() && command.getResponseType() == RavenCommandResponseType.OBJECT) {
-            return cache.get(url, cachedChangeVector, cachedValue);
+    private static <TResult> boolean isCacheable(RavenCommand<TResult> command) {
+        return command.canCache() && command.isReadRequest() && command.getResponseType() == RavenCommandResponseType.OBJECT;
+    }
+
+    private <TResult> HttpCache.ReleaseCacheItem getFromCache(RavenCommand<TResult> command, String url, Reference<String> cachedChangeVector) {
+        // captured before request is sent, so invalidations during request make the cached response stale
+        command.setCachePosition(cache.getPosition());
+
+        if (isCacheable(command)) {
+            HttpCache.ReleaseCacheItem cachedItem = cache.get(url, cachedChangeVector);
+            if (cachedChangeVector.value != null) {
+                metrics.onCacheHit();
+            } else {
+                metrics.onCacheMiss();
+            }
+            return cachedItem;
         }
 
         cachedChangeVector.value = null;
-        cachedValue.value = null;
         return new HttpCache.ReleaseCacheItem(null);
     }
 
+    private static <TResult> void setResponseFromCache(RavenCommand<TResult> command, HttpCacheItem cachedItem) throws IOException {
+        if (cachedItem == null || cachedItem.payloadBuffer == null) {
+            command.setResponse(cachedItem != null ? cachedItem.payload : null, true);
+            return;
+        }
+
+        // bytes based cache - parse directly from cached bytes, without creating intermediate String
+        try (InputStream stream = cachedItem.openPayloadStream()) {
+            command.setResponse(stream, true);
+        }
+    }
+
     private <TResult> HttpRequestBase createRequest(ServerNode node, RavenCommand<TResult> command, Reference<String> url) {
         try {
             HttpRequestBase request = command.createRequest(node, url);
@@ -782,12 +1200,12 @@ public class RequestExecutor implements CleanCloseable {
         try {
             switch (response.getStatusLine().getStatusCode()) {
                 case HttpStatus.SC_NOT_FOUND:
-                    cache.setNotFound(url);
+                    cache.setNotFound(url, command.getCacheDependencies(), command.getCachePosition());
                     switch (command.getResponseType()) {
                         case EMPTY:
                             return true;
                         case OBJECT:
-                            command.setResponse(null, false);
+                            command.setResponse((String) null, false);
                             break;
                         default:
                             command.setResponseRaw(response, null);
@@ -804,6 +1222,8 @@ public class RequestExecutor implements CleanCloseable {
 
                     updateTopologyAsync(chosenNode, Integer.MAX_VALUE, true).get();
 
+                    metrics.onRetry();
+
                     CurrentIndexAndNode currentIndexAndNode = chooseNodeForRequest(command, sessionInfo);
                     execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
                     return true;
@@ -836,6 +1256,21 @@ public class RequestExecutor implements CleanCloseable {
     }
 
     private <TResult> boolean handleServerDown(String url, ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request, CloseableHttpResponse response, Exception e, SessionInfo sessionInfo) {
+        CurrentIndexAndNode currentIndexAndNode = chooseFailoverNode(chosenNode, nodeIndex, command, request, response, e);
+        if (currentIndexAndNode == null) {
+            return false;
+        }
+
+        execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
+
+        return true;
+    }
+
+    /**
+     * Records failure of given node and chooses next node to try.
+     * @return Node to retry on, or null when there is nothing left to try
+     */
+    private <TResult> CurrentIndexAndNode chooseFailoverNode(ServerNode chosenNode, Integer nodeIndex, RavenCommand<TResult> command, HttpRequestBase request, CloseableHttpResponse response, Exception e) {
         if (command.getFailedNodes() == null) {
             command.setFailedNodes(new HashMap<>());
         }
@@ -844,25 +1279,26 @@ public class RequestExecutor implements CleanCloseable {
 
         if (nodeIndex == null) {
             //We executed request over a node not in the topology. This means no failover...
-            return false;
+            return null;
         }
 
         spawnHealthChecks(chosenNode, nodeIndex);
 
         if (_nodeSelector == null) {
-            return false;
+            return null;
         }
 
         _nodeSelector.onFailedRequest(nodeIndex);
 
         CurrentIndexAndNode currentIndexAndNode = _nodeSelector.getPreferredNode();
         if (command.getFailedNodes().containsKey(currentIndexAndNode.currentNode)) {
-            return false; //we tried all the nodes...nothing left to do
+            return null; //we tried all the nodes...nothing left to do
         }
 
-        execute(currentIndexAndNode.currentNode, currentIndexAndNode.currentIndex, command, false, sessionInfo);
+        metrics.onFailover(chosenNode);
+        metrics.onRetry();
 
-        return true;
+        return currentIndexAndNode;
     }
 
     private void spawnHealthChecks(ServerNode chosenNode, int nodeIndex) {
@@ -1087,6 +1523,12 @@ public class RequestExecutor implements CleanCloseable {
         return _nodeSelector.getFastestNode();
     }
 
+    public CurrentIndexAndNode getLeastLoadedNode() {
+        ensureNodeSelector();
+
+        return _nodeSelector.getLeastLoadedNode();
+    }
+
     private void ensureNodeSelector() {
         if (_firstTopologyUpdate != null && (!_firstTopologyUpdate.isDone() || _firstTopologyUpdate.isCompletedExceptionally())) {
             ExceptionsUtils.accept(() -> _firstTopologyUpdate.get());
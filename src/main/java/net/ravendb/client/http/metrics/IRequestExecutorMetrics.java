@@ -0,0 +1,64 @@
+package net.ravendb.client.http.metrics;
+
+import net.ravendb.client.http.ServerNode;
+
+/**
+ * Receives events from RequestExecutor. Methods are called on the request hot path,
+ * so implementations should be cheap, thread safe and should not throw.
+ */
+public interface IRequestExecutorMetrics {
+
+    /**
+     * Called when response (of any status) was received from server
+     * @param node Node which handled request
+     * @param commandType Class of executed command
+     * @param durationInNanos Time from sending request to receiving response headers
+     */
+    void onRequest(ServerNode node, Class<?> commandType, long durationInNanos);
+
+    /**
+     * Called when cacheable command found matching item in http cache
+     */
+    void onCacheHit();
+
+    /**
+     * Called when cacheable command didn't find matching item in http cache
+     */
+    void onCacheMiss();
+
+    /**
+     * Called when response was served from http cache without contacting server
+     */
+    void onAggressiveCacheHit();
+
+    /**
+     * Called when aggressive caching was enabled, but cached response expired or might have been modified
+     */
+    void onAggressiveCacheMiss();
+
+    /**
+     * Called when server responded with 304 Not Modified and cached response was used
+     */
+    void onNotModified();
+
+    /**
+     * Called when read request was served from response fetched by another concurrent request for the same url
+     */
+    void onCoalescedRequest();
+
+    /**
+     * Called when command is executed again on the same cluster, i.e. after database was moved to different node
+     */
+    void onRetry();
+
+    /**
+     * Called when request failed on given node and command is sent to next node
+     * @param failedNode Node which failed to handle request
+     */
+    void onFailover(ServerNode failedNode);
+
+    /**
+     * Called when database topology was fetched from server
+     */
+    void onTopologyUpdate();
+}
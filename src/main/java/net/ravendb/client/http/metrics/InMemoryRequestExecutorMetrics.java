@@ -0,0 +1,114 @@
+package net.ravendb.client.http.metrics;
+
+import net.ravendb.client.http.ServerNode;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps counters and per node / per command latency histograms in memory. Use getSnapshot to scrape them.
+ */
+public class InMemoryRequestExecutorMetrics implements IRequestExecutorMetrics {
+
+    private final ConcurrentMap<String, ConcurrentMap<Class<?>, LatencyHistogram>> _latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder _cacheHits = new LongAdder();
+    private final LongAdder _cacheMisses = new LongAdder();
+    private final LongAdder _aggressiveCacheHits = new LongAdder();
+    private final LongAdder _aggressiveCacheMisses = new LongAdder();
+    private final LongAdder _notModified = new LongAdder();
+    private final LongAdder _coalescedRequests = new LongAdder();
+    private final LongAdder _retries = new LongAdder();
+    private final LongAdder _failovers = new LongAdder();
+    private final LongAdder _topologyUpdates = new LongAdder();
+
+    @Override
+    public void onRequest(ServerNode node, Class<?> commandType, long durationInNanos) {
+        String url = node.getUrl();
+
+        ConcurrentMap<Class<?>, LatencyHistogram> nodeLatencies = _latencies.get(url);
+        if (nodeLatencies == null) {
+            nodeLatencies = _latencies.computeIfAbsent(url, x -> new ConcurrentHashMap<>());
+        }
+
+        LatencyHistogram histogram = nodeLatencies.get(commandType);
+        if (histogram == null) {
+            histogram = nodeLatencies.computeIfAbsent(commandType, x -> new LatencyHistogram());
+        }
+
+        histogram.record(durationInNanos);
+    }
+
+    @Override
+    public void onCacheHit() {
+        _cacheHits.increment();
+    }
+
+    @Override
+    public void onCacheMiss() {
+        _cacheMisses.increment();
+    }
+
+    @Override
+    public void onAggressiveCacheHit() {
+        _aggressiveCacheHits.increment();
+    }
+
+    @Override
+    public void onAggressiveCacheMiss() {
+        _aggressiveCacheMisses.increment();
+    }
+
+    @Override
+    public void onNotModified() {
+        _notModified.increment();
+    }
+
+    @Override
+    public void onCoalescedRequest() {
+        _coalescedRequests.increment();
+    }
+
+    @Override
+    public void onRetry() {
+        _retries.increment();
+    }
+
+    @Override
+    public void onFailover(ServerNode failedNode) {
+        _failovers.increment();
+    }
+
+    @Override
+    public void onTopologyUpdate() {
+        _topologyUpdates.increment();
+    }
+
+    public RequestExecutorMetricsSnapshot getSnapshot() {
+        Map<String, Map<String, LatencyHistogramSnapshot>> latencies = new HashMap<>();
+
+        for (Map.Entry<String, ConcurrentMap<Class<?>, LatencyHistogram>> nodeEntry : _latencies.entrySet()) {
+            Map<String, LatencyHistogramSnapshot> commands = new HashMap<>();
+            for (Map.Entry<Class<?>, LatencyHistogram> commandEntry : nodeEntry.getValue().entrySet()) {
+                commands.put(commandEntry.getKey().getName(), commandEntry.getValue().getSnapshot());
+            }
+            latencies.put(nodeEntry.getKey(), commands);
+        }
+
+        RequestExecutorMetricsSnapshot snapshot = new RequestExecutorMetricsSnapshot();
+        snapshot.setLatencies(latencies);
+        snapshot.setCacheHits(_cacheHits.sum());
+        snapshot.setCacheMisses(_cacheMisses.sum());
+        snapshot.setAggressiveCacheHits(_aggressiveCacheHits.sum());
+        snapshot.setAggressiveCacheMisses(_aggressiveCacheMisses.sum());
+        snapshot.setNotModified(_notModified.sum());
+        snapshot.setCoalescedRequests(_coalescedRequests.sum());
+        snapshot.setRetries(_retries.sum());
+        snapshot.setFailovers(_failovers.sum());
+        snapshot.setTopologyUpdates(_topologyUpdates.sum());
+        return snapshot;
+    }
+}
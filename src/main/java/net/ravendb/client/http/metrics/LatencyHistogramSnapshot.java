@@ -0,0 +1,61 @@
+package net.ravendb.client.http.metrics;
+
+import java.time.Duration;
+
+public class LatencyHistogramSnapshot {
+
+    private final long[] _buckets;
+    private final long _count;
+    private final long _sum;
+    private final long _max;
+
+    LatencyHistogramSnapshot(long[] buckets, long count, long sum, long max) {
+        _buckets = buckets;
+        _count = count;
+        _sum = sum;
+        _max = max;
+    }
+
+    public long getCount() {
+        return _count;
+    }
+
+    public Duration getMean() {
+        return _count == 0 ? Duration.ZERO : Duration.ofNanos(_sum / _count);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(_max);
+    }
+
+    /**
+     * Gets value below which given percentage of recorded values fall
+     * @param percentile Percentile (0 - 100)
+     * @return Duration at percentile
+     */
+    public Duration getValueAtPercentile(double percentile) {
+        if (_count == 0) {
+            return Duration.ZERO;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(_count * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < _buckets.length; i++) {
+            seen += _buckets[i];
+            if (seen >= target) {
+                return Duration.ofNanos(Math.min(LatencyHistogram.bucketUpperBound(i), _max));
+            }
+        }
+
+        return getMax();
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + _count +
+                ", mean=" + getMean().toMillis() + "ms" +
+                ", p50=" + getValueAtPercentile(50).toMillis() + "ms" +
+                ", p99=" + getValueAtPercentile(99).toMillis() + "ms" +
+                ", max=" + getMax().toMillis() + "ms";
+    }
+}
@@ -0,0 +1,51 @@
+package net.ravendb.client.http.metrics;
+
+import net.ravendb.client.http.ServerNode;
+
+public class NoOpRequestExecutorMetrics implements IRequestExecutorMetrics {
+
+    public static final NoOpRequestExecutorMetrics INSTANCE = new NoOpRequestExecutorMetrics();
+
+    private NoOpRequestExecutorMetrics() {
+    }
+
+    @Override
+    public void onRequest(ServerNode node, Class<?> commandType, long durationInNanos) {
+    }
+
+    @Override
+    public void onCacheHit() {
+    }
+
+    @Override
+    public void onCacheMiss() {
+    }
+
+    @Override
+    public void onAggressiveCacheHit() {
+    }
+
+    @Override
+    public void onAggressiveCacheMiss() {
+    }
+
+    @Override
+    public void onNotModified() {
+    }
+
+    @Override
+    public void onCoalescedRequest() {
+    }
+
+    @Override
+    public void onRetry() {
+    }
+
+    @Override
+    public void onFailover(ServerNode failedNode) {
+    }
+
+    @Override
+    public void onTopologyUpdate() {
+    }
+}
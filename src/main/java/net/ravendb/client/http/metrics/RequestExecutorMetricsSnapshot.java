@@ -0,0 +1,116 @@
+package net.ravendb.client.http.metrics;
+
+import java.util.Map;
+
+public class RequestExecutorMetricsSnapshot {
+
+    private Map<String, Map<String, LatencyHistogramSnapshot>> latencies;
+    private long cacheHits;
+    private long cacheMisses;
+    private long aggressiveCacheHits;
+    private long aggressiveCacheMisses;
+    private long notModified;
+    private long coalescedRequests;
+    private long retries;
+    private long failovers;
+    private long topologyUpdates;
+
+    /**
+     * @return Latency histograms by node url and command class name
+     */
+    public Map<String, Map<String, LatencyHistogramSnapshot>> getLatencies() {
+        return latencies;
+    }
+
+    public void setLatencies(Map<String, Map<String, LatencyHistogramSnapshot>> latencies) {
+        this.latencies = latencies;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public void setCacheHits(long cacheHits) {
+        this.cacheHits = cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public void setCacheMisses(long cacheMisses) {
+        this.cacheMisses = cacheMisses;
+    }
+
+    /**
+     * @return Ratio of cacheable requests which found item in http cache
+     */
+    public double getCacheHitRatio() {
+        long total = cacheHits + cacheMisses;
+        return total == 0 ? 0 : (double) cacheHits / total;
+    }
+
+    public long getAggressiveCacheHits() {
+        return aggressiveCacheHits;
+    }
+
+    public void setAggressiveCacheHits(long aggressiveCacheHits) {
+        this.aggressiveCacheHits = aggressiveCacheHits;
+    }
+
+    public long getAggressiveCacheMisses() {
+        return aggressiveCacheMisses;
+    }
+
+    public void setAggressiveCacheMisses(long aggressiveCacheMisses) {
+        this.aggressiveCacheMisses = aggressiveCacheMisses;
+    }
+
+    /**
+     * @return Ratio of aggressively cached requests which were served without contacting server
+     */
+    public double getAggressiveCacheHitRatio() {
+        long total = aggressiveCacheHits + aggressiveCacheMisses;
+        return total == 0 ? 0 : (double) aggressiveCacheHits / total;
+    }
+
+    public long getNotModified() {
+        return notModified;
+    }
+
+    public void setNotModified(long notModified) {
+        this.notModified = notModified;
+    }
+
+    public long getCoalescedRequests() {
+        return coalescedRequests;
+    }
+
+    public void setCoalescedRequests(long coalescedRequests) {
+        this.coalescedRequests = coalescedRequests;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public void setRetries(long retries) {
+        this.retries = retries;
+    }
+
+    public long getFailovers() {
+        return failovers;
+    }
+
+    public void setFailovers(long failovers) {
+        this.failovers = failovers;
+    }
+
+    public long getTopologyUpdates() {
+        return topologyUpdates;
+    }
+
+    public void setTopologyUpdates(long topologyUpdates) {
+        this.topologyUpdates = topologyUpdates;
+    }
+}
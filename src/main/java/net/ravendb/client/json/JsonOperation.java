@@ -10,6 +10,7 @@ import org.apache.commons.collections4.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,10 @@ public class JsonOperation {
         List<DocumentsChanges> docChanges = changes != null ? new ArrayList<>() : null;
 
         if (!documentInfo.isNewDocument() && documentInfo.getDocument() != null) {
+            if (changes == null) {
+                return hasDifferences(documentInfo.getDocument(), newObj);
+            }
+
             return compareJson(documentInfo.getId(), documentInfo.getDocument(), newObj, changes, docChanges);
         }
 
@@ -31,6 +36,110 @@ public class JsonOperation {
         return true;
     }
 
+    /**
+     * Checks if documents differ, using the same rules as whatChanged, but in single pass,
+     * without intermediate collections and exiting on first difference.
+     * @param originalJson Original document
+     * @param newJson New document
+     * @return true if documents differ
+     */
+    public static boolean hasDifferences(ObjectNode originalJson, ObjectNode newJson) {
+        int matchedFields = 0;
+
+        Iterator<Map.Entry<String, JsonNode>> fields = newJson.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String prop = field.getKey();
+
+            JsonNode oldProp = originalJson.get(prop);
+            boolean ignored = isIgnoredField(prop);
+
+            if (oldProp == null) {
+                if (ignored) {
+                    continue;
+                }
+                return true; // new field
+            }
+
+            matchedFields++;
+
+            if (ignored) {
+                continue;
+            }
+
+            if (hasPropertyDifference(oldProp, field.getValue())) {
+                return true;
+            }
+        }
+
+        // any of the original fields is missing in new document
+        return originalJson.size() != matchedFields;
+    }
+
+    private static boolean isIgnoredField(String prop) {
+        return Constants.Documents.Metadata.LAST_MODIFIED.equals(prop) ||
+                Constants.Documents.Metadata.COLLECTION.equals(prop) ||
+                Constants.Documents.Metadata.CHANGE_VECTOR.equals(prop) ||
+                Constants.Documents.Metadata.ID.equals(prop);
+    }
+
+    private static boolean hasPropertyDifference(JsonNode oldProp, JsonNode newProp) {
+        switch (newProp.getNodeType()) {
+            case NUMBER:
+            case BOOLEAN:
+            case STRING:
+                if (newProp.equals(oldProp)) {
+                    return false;
+                }
+                return !(oldProp instanceof ValueNode) || !compareValues((ValueNode) oldProp, (ValueNode) newProp);
+            case NULL:
+                return !oldProp.isNull();
+            case ARRAY:
+                return !(oldProp instanceof ArrayNode) || hasArrayDifferences((ArrayNode) oldProp, (ArrayNode) newProp);
+            case OBJECT:
+                return !(oldProp instanceof ObjectNode) || hasDifferences((ObjectNode) oldProp, (ObjectNode) newProp);
+            default:
+                return !newProp.equals(oldProp);
+        }
+    }
+
+    private static boolean hasArrayDifferences(ArrayNode oldArray, ArrayNode newArray) {
+        int size = oldArray.size();
+        if (size != newArray.size()) {
+            return true;
+        }
+
+        for (int position = 0; position < size; position++) {
+            JsonNode oldItem = oldArray.get(position);
+            JsonNode newItem = newArray.get(position);
+
+            switch (oldItem.getNodeType()) {
+                case OBJECT:
+                    if (!newItem.isObject() || hasDifferences((ObjectNode) oldItem, (ObjectNode) newItem)) {
+                        return true;
+                    }
+                    break;
+                case ARRAY:
+                    if (!newItem.isArray() || hasArrayDifferences((ArrayNode) oldItem, (ArrayNode) newItem)) {
+                        return true;
+                    }
+                    break;
+                case NULL:
+                    if (!newItem.isNull()) {
+                        return true;
+                    }
+                    break;
+                default:
+                    // equal nodes have equal text representation, compare text (which allocates for numbers) only when needed
+                    if (!oldItem.equals(newItem) && !oldItem.asText().equals(newItem.asText())) {
+                        return true;
+                    }
+            }
+        }
+
+        return false;
+    }
+
     private static boolean compareJson(String id, ObjectNode originalJson, ObjectNode newJson, Map<String, List<DocumentsChanges>> changes, List<DocumentsChanges> docChanges) {
         ArrayList<String> newJsonProps = Lists.newArrayList(newJson.fieldNames());
         ArrayList<String> oldJsonProps = Lists.newArrayList(originalJson.fieldNames());
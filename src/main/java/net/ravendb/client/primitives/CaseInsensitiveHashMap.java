@@ -0,0 +1,370 @@
+package net.ravendb.client.primitives;
+
+import java.util.*;
+
+/**
+ * Map with case insensitive String keys (the same semantics as TreeMap with String.CASE_INSENSITIVE_ORDER),
+ * built for document ids.
+ *
+ * Entries are kept in dense arrays in insertion order and located by open addressing (linear probing) on
+ * a separate index table, so there are no per entry node objects. Case-folded key hash can be computed once
+ * using hash(String) and reused for lookups in several maps.
+ *
+ * This class is not thread safe.
+ */
+public class CaseInsensitiveHashMap<V> extends AbstractMap<String, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // slot value: 0 - empty, otherwise entry position + 1. Index table is always twice as big as entries arrays
+    private int[] _index;
+
+    private String[] _keys;
+    private int[] _hashes;
+    private Object[] _values;
+
+    // number of used entry positions (including removed ones)
+    private int _used;
+    private int _size;
+    private int _modCount;
+
+    private Set<Entry<String, V>> _entrySet;
+
+    public CaseInsensitiveHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CaseInsensitiveHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative");
+        }
+
+        allocate(tableSizeFor(Math.max(initialCapacity, 2)));
+    }
+
+    /**
+     * Computes case-folded hash of a key, it can be passed to get/containsKey/remove overloads
+     * to avoid hashing the same key many times.
+     * @param key Key
+     * @return hash
+     */
+    public static int hash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                // the same folding as String.equalsIgnoreCase
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int size() {
+        return _size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find((String) key, hash((String) key)) >= 0;
+    }
+
+    public boolean containsKey(String key, int hash) {
+        return find(key, hash) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        return get((String) key, hash((String) key));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(String key, int hash) {
+        int position = find(key, hash);
+        return position >= 0 ? (V) _values[position] : null;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        return put(key, hash(key), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(String key, int hash, V value) {
+        int position = find(key, hash);
+        if (position >= 0) {
+            V old = (V) _values[position];
+            _values[position] = value;
+            return old;
+        }
+
+        if (_used == _keys.length) {
+            // grow only when live entries occupy more than half of the arrays, otherwise just drop removed entries
+            rehash(_size >= _keys.length / 2 ? _keys.length * 2 : _keys.length);
+        }
+
+        position = _used++;
+        _keys[position] = key;
+        _hashes[position] = hash;
+        _values[position] = value;
+        insertIntoIndex(hash, position);
+
+        _size++;
+        _modCount++;
+
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        return remove((String) key, hash((String) key));
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(String key, int hash) {
+        int position = find(key, hash);
+        if (position < 0) {
+            return null;
+        }
+
+        V old = (V) _values[position];
+        removeAt(position);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (_used == 0) {
+            return;
+        }
+
+        Arrays.fill(_index, 0);
+        Arrays.fill(_keys, 0, _used, null);
+        Arrays.fill(_values, 0, _used, null);
+        _used = 0;
+        _size = 0;
+        _modCount++;
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        if (_entrySet == null) {
+            _entrySet = new EntrySet();
+        }
+        return _entrySet;
+    }
+
+    private int find(String key, int hash) {
+        int mask = _index.length - 1;
+        int slot = hash & mask;
+
+        while (true) {
+            int entry = _index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+
+            int position = entry - 1;
+            // removed entries keep their index slot (and hash) until next rehash, their key is null
+            if (_hashes[position] == hash) {
+                String candidate = _keys[position];
+                if (candidate != null && (candidate == key || candidate.equalsIgnoreCase(key))) {
+                    return position;
+                }
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void removeAt(int position) {
+        _keys[position] = null;
+        _values[position] = null;
+        _size--;
+        _modCount++;
+
+        if (_size == 0) {
+            // cheap full reset, so maps used as a queue don't accumulate removed entries
+            Arrays.fill(_index, 0);
+            _used = 0;
+        }
+    }
+
+    private void insertIntoIndex(int hash, int position) {
+        int mask = _index.length - 1;
+        int slot = hash & mask;
+        while (_index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        _index[slot] = position + 1;
+    }
+
+    private void rehash(int capacity) {
+        String[] oldKeys = _keys;
+        int[] oldHashes = _hashes;
+        Object[] oldValues = _values;
+        int oldUsed = _used;
+
+        allocate(capacity);
+
+        int position = 0;
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] == null) {
+                continue;
+            }
+
+            _keys[position] = oldKeys[i];
+            _hashes[position] = oldHashes[i];
+            _values[position] = oldValues[i];
+            insertIntoIndex(oldHashes[i], position);
+            position++;
+        }
+
+        _used = position;
+    }
+
+    private void allocate(int capacity) {
+        _keys = new String[capacity];
+        _hashes = new int[capacity];
+        _values = new Object[capacity];
+        _index = new int[capacity * 2];
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(capacity - 1) << 1;
+        return n < 0 ? 1 << 29 : n;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, V>> {
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return _size;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveHashMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, V>> {
+        private int _next = advance(0);
+        private int _current = -1;
+        private int _expectedModCount = _modCount;
+
+        private int advance(int from) {
+            while (from < _used && _keys[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return _next < _used;
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (_modCount != _expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (_next >= _used) {
+                throw new NoSuchElementException();
+            }
+
+            _current = _next;
+            _next = advance(_next + 1);
+            return new MapEntry(_current);
+        }
+
+        @Override
+        public void remove() {
+            if (_current < 0) {
+                throw new IllegalStateException();
+            }
+
+            if (_modCount != _expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (_size == 1) {
+                // removal of last entry resets the arrays
+                _next = 0;
+            }
+
+            removeAt(_current);
+            _current = -1;
+            _expectedModCount = _modCount;
+        }
+    }
+
+    private class MapEntry implements Entry<String, V> {
+        private final String _key;
+        private final int _position;
+
+        MapEntry(int position) {
+            _key = _keys[position];
+            _position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return _key;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public V getValue() {
+            return _keys[_position] == _key ? (V) _values[_position] : null;
+        }
+
+        @Override
+        public V setValue(V value) {
+            if (_keys[_position] != _key) {
+                throw new IllegalStateException("Entry was removed");
+            }
+
+            V old = getValue();
+            _values[_position] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(_key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(_key) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return _key + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package net.ravendb.client.primitives;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+
+/**
+ * Set of case insensitive Strings (the same semantics as TreeSet with String.CASE_INSENSITIVE_ORDER),
+ * backed by CaseInsensitiveHashMap.
+ *
+ * This class is not thread safe.
+ */
+public class CaseInsensitiveHashSet extends AbstractSet<String> {
+
+    private final CaseInsensitiveHashMap<Boolean> _inner;
+
+    public CaseInsensitiveHashSet() {
+        _inner = new CaseInsensitiveHashMap<>();
+    }
+
+    public CaseInsensitiveHashSet(int initialCapacity) {
+        _inner = new CaseInsensitiveHashMap<>(initialCapacity);
+    }
+
+    @Override
+    public int size() {
+        return _inner.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return _inner.containsKey(o);
+    }
+
+    /**
+     * @param value Value to check
+     * @param hash Hash of value computed using CaseInsensitiveHashMap.hash
+     * @return true if set contains value
+     */
+    public boolean contains(String value, int hash) {
+        return _inner.containsKey(value, hash);
+    }
+
+    @Override
+    public boolean add(String value) {
+        return _inner.put(value, Boolean.TRUE) == null;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return _inner.remove(o) != null;
+    }
+
+    @Override
+    public void clear() {
+        _inner.clear();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return _inner.keySet().iterator();
+    }
+}
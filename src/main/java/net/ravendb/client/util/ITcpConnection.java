@@ -0,0 +1,27 @@
+package net.ravendb.client.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import net.ravendb.client.primitives.CleanCloseable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * TCP connection exchanging json messages (see TcpUtils.connect)
+ */
+public interface ITcpConnection extends CleanCloseable {
+
+    /**
+     * Waits for next message.
+     * @return parser positioned before next message, or null if connection was closed
+     * @throws IOException on read error
+     */
+    JsonParser nextMessage() throws IOException;
+
+    /**
+     * @return Buffered stream, written data is sent on flush
+     */
+    OutputStream getOutputStream();
+
+    boolean isConnected();
+}
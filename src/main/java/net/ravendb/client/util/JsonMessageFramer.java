@@ -0,0 +1,71 @@
+package net.ravendb.client.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Splits bytes received in arbitrary chunks into json messages, using non blocking parser.
+ * Every complete top level value is emitted as a token buffer.
+ */
+class JsonMessageFramer {
+
+    private final ObjectMapper _mapper;
+    private final JsonParser _parser;
+    private final ByteArrayFeeder _feeder;
+
+    private TokenBuffer _message;
+    private int _depth;
+
+    JsonMessageFramer(ObjectMapper mapper) throws IOException {
+        _mapper = mapper;
+        _parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        _feeder = (ByteArrayFeeder) _parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feeds bytes into parser. Passed array can be reused after this call returns.
+     * @param data Received bytes
+     * @param offset Offset of first byte
+     * @param length Number of bytes
+     * @param onMessage Called for every completed message
+     * @throws IOException on malformed json
+     */
+    void feed(byte[] data, int offset, int length, Consumer<TokenBuffer> onMessage) throws IOException {
+        _feeder.feedInput(data, offset, offset + length);
+
+        // parser has to consume whole input before next feed
+        JsonToken token;
+        while ((token = _parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            if (_message == null) {
+                _message = new TokenBuffer(_mapper, false);
+            }
+
+            _message.copyCurrentEvent(_parser);
+
+            if (token.isStructStart()) {
+                _depth++;
+            } else if (token.isStructEnd()) {
+                _depth--;
+            }
+
+            if (_depth == 0) {
+                TokenBuffer message = _message;
+                _message = null;
+                onMessage.accept(message);
+            }
+        }
+    }
+
+    /**
+     * @return Whether part of message was received, but it isn't completed yet
+     */
+    boolean hasPartialMessage() {
+        return _message != null;
+    }
+}
@@ -0,0 +1,59 @@
+package net.ravendb.client.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.apache.commons.io.IOUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Connection over blocking socket, messages are read by the calling thread.
+ */
+class SocketTcpConnection implements ITcpConnection {
+
+    private final Socket _socket;
+    private final OutputStream _outputStream;
+    private final int _readBufferSize;
+    private JsonParser _parser;
+
+    SocketTcpConnection(Socket socket, TcpConnectionOptions options) throws IOException {
+        _socket = socket;
+        _outputStream = new BufferedOutputStream(socket.getOutputStream(), options.getSendBufferSize());
+        _readBufferSize = options.getReadBufferSize();
+    }
+
+    @Override
+    public JsonParser nextMessage() throws IOException {
+        if (_parser == null) {
+            _parser = JsonExtensions.getDefaultMapper().getFactory()
+                    .createParser(new BufferedInputStream(_socket.getInputStream(), _readBufferSize));
+            _parser.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+        }
+
+        // messages are read one after another from the same parser
+        return _parser;
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return _outputStream;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return _socket.isConnected() && !_socket.isClosed();
+    }
+
+    @Override
+    public void close() {
+        if (_parser != null) {
+            IOUtils.closeQuietly(_parser);
+        }
+
+        IOUtils.closeQuietly(_socket);
+    }
+}
@@ -0,0 +1,323 @@
+package net.ravendb.client.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non blocking connection read by TcpEventLoop. Received bytes are read into direct buffer and split into messages
+ * on event loop thread. Messages are passed to the listener, or queued for nextMessage when no listener was set.
+ * Writes are done by the calling thread, part which doesn't fit into socket buffer is written by event loop.
+ */
+public class TcpChannelConnection implements ITcpConnection {
+
+    public interface Listener {
+        /**
+         * Called on event loop thread for every received message
+         * @param message Message tokens
+         */
+        void onMessage(TokenBuffer message);
+
+        /**
+         * Called once, when connection was closed
+         * @param error Read error, or null if connection was closed by either side
+         */
+        void onClosed(Exception error);
+    }
+
+    private static final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private static final Object CLOSED = new Object();
+
+    private final TcpEventLoop _eventLoop;
+    private final SocketChannel _channel;
+    private final ByteBuffer _readBuffer;
+    private final byte[] _chunk;
+    private final JsonMessageFramer _framer;
+    private final OutputStream _outputStream;
+
+    private final Object _writeLock = new Object();
+    private final ArrayDeque<ByteBuffer> _pendingWrites = new ArrayDeque<>();
+
+    private final Object _listenerLock = new Object();
+    private final BlockingQueue<Object> _received = new LinkedBlockingQueue<>();
+    private Listener _listener;
+    private Exception _closeError;
+
+    private final AtomicBoolean _closed = new AtomicBoolean();
+    private volatile SelectionKey _key;
+
+    private TcpChannelConnection(TcpEventLoop eventLoop, SocketChannel channel, TcpConnectionOptions options) throws IOException {
+        _eventLoop = eventLoop;
+        _channel = channel;
+        _readBuffer = ByteBuffer.allocateDirect(options.getReadBufferSize());
+        _chunk = new byte[Math.min(options.getReadBufferSize(), 8192)];
+        _framer = new JsonMessageFramer(mapper);
+        _outputStream = new ChannelOutputStream(options.getSendBufferSize());
+    }
+
+    /**
+     * Opens connection and registers it in event loop
+     * @param urlString Tcp url
+     * @param options Connection options
+     * @param eventLoop Event loop which will read the connection
+     * @return connection
+     * @throws IOException if connection can't be opened
+     */
+    public static TcpChannelConnection connect(String urlString, TcpConnectionOptions options, TcpEventLoop eventLoop) throws IOException {
+        URL url = new URL(urlString.replace("tcp://", "http://"));
+
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, options.isNoDelay());
+            channel.setOption(StandardSocketOptions.SO_KEEPALIVE, options.isKeepAlive());
+            channel.setOption(StandardSocketOptions.SO_SNDBUF, options.getSendBufferSize());
+            channel.setOption(StandardSocketOptions.SO_RCVBUF, options.getReceiveBufferSize());
+
+            channel.connect(new InetSocketAddress(url.getHost(), url.getPort()));
+            channel.configureBlocking(false);
+
+            TcpChannelConnection connection = new TcpChannelConnection(eventLoop, channel, options);
+            eventLoop.execute(connection::register);
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private void register() {
+        try {
+            _key = _channel.register(_eventLoop.getSelector(), SelectionKey.OP_READ, this);
+
+            synchronized (_writeLock) {
+                if (!_pendingWrites.isEmpty()) {
+                    _key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            closeWith(e);
+        }
+    }
+
+    /**
+     * Sets listener, messages which were already received are passed to it immediately.
+     * After listener is set, nextMessage can't be used.
+     * @param listener Listener
+     */
+    public void setListener(Listener listener) {
+        synchronized (_listenerLock) {
+            _listener = listener;
+
+            Object item;
+            while ((item = _received.poll()) != null) {
+                if (item == CLOSED) {
+                    listener.onClosed(_closeError);
+                } else {
+                    listener.onMessage((TokenBuffer) item);
+                }
+            }
+        }
+    }
+
+    @Override
+    public JsonParser nextMessage() throws IOException {
+        synchronized (_listenerLock) {
+            if (_listener != null) {
+                throw new IllegalStateException("Messages are passed to the listener");
+            }
+        }
+
+        Object item;
+        try {
+            item = _received.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for message");
+        }
+
+        if (item == CLOSED) {
+            // keep connection closed for next callers
+            _received.add(CLOSED);
+
+            if (_closeError != null) {
+                throw new IOException("Connection failed: " + _closeError.getMessage(), _closeError);
+            }
+
+            return null;
+        }
+
+        return ((TokenBuffer) item).asParser();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return _outputStream;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return !_closed.get() && _channel.isConnected();
+    }
+
+    /**
+     * Sends data, it can be called from any thread. Part which doesn't fit into socket buffer is written by event loop.
+     * @param data Data to send
+     * @throws IOException on write error
+     */
+    public void send(ByteBuffer data) throws IOException {
+        synchronized (_writeLock) {
+            if (_closed.get()) {
+                throw new IOException("Connection was closed");
+            }
+
+            if (_pendingWrites.isEmpty()) {
+                _channel.write(data);
+                if (!data.hasRemaining()) {
+                    return;
+                }
+            }
+
+            _pendingWrites.add(data);
+        }
+
+        _eventLoop.execute(this::enableWriteInterest);
+    }
+
+    private void enableWriteInterest() {
+        SelectionKey key = _key;
+        if (key == null || !key.isValid()) {
+            return;
+        }
+
+        synchronized (_writeLock) {
+            if (!_pendingWrites.isEmpty()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        }
+    }
+
+    void handle(SelectionKey key) {
+        try {
+            if (key.isWritable()) {
+                onWritable(key);
+            }
+
+            if (key.isReadable()) {
+                onReadable();
+            }
+        } catch (CancelledKeyException e) {
+            closeWith(null);
+        } catch (IOException | RuntimeException e) {
+            closeWith(e);
+        }
+    }
+
+    private void onWritable(SelectionKey key) throws IOException {
+        synchronized (_writeLock) {
+            ByteBuffer data;
+            while ((data = _pendingWrites.peek()) != null) {
+                _channel.write(data);
+                if (data.hasRemaining()) {
+                    return;
+                }
+                _pendingWrites.poll();
+            }
+
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void onReadable() throws IOException {
+        int read;
+        while ((read = _channel.read(_readBuffer)) > 0) {
+            _readBuffer.flip();
+
+            while (_readBuffer.hasRemaining()) {
+                int length = Math.min(_readBuffer.remaining(), _chunk.length);
+                _readBuffer.get(_chunk, 0, length);
+                _framer.feed(_chunk, 0, length, this::dispatch);
+            }
+
+            _readBuffer.clear();
+        }
+
+        if (read < 0) {
+            closeWith(_framer.hasPartialMessage() ? new EOFException("Connection was closed in the middle of message") : null);
+        }
+    }
+
+    private void dispatch(TokenBuffer message) {
+        synchronized (_listenerLock) {
+            if (_listener != null) {
+                _listener.onMessage(message);
+            } else {
+                _received.add(message);
+            }
+        }
+    }
+
+    private void closeWith(Exception error) {
+        if (!_closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        IOUtils.closeQuietly(_channel);
+
+        synchronized (_writeLock) {
+            _pendingWrites.clear();
+        }
+
+        synchronized (_listenerLock) {
+            _closeError = error;
+
+            if (_listener != null) {
+                _listener.onClosed(error);
+            } else {
+                _received.add(CLOSED);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeWith(null);
+    }
+
+    private class ChannelOutputStream extends ByteArrayOutputStream {
+
+        ChannelOutputStream(int size) {
+            super(size);
+        }
+
+        @Override
+        public synchronized void flush() throws IOException {
+            if (count == 0) {
+                return;
+            }
+
+            ByteBuffer data = ByteBuffer.wrap(toByteArray());
+            reset();
+            send(data);
+        }
+    }
+}
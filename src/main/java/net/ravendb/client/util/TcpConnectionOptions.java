@@ -0,0 +1,127 @@
+package net.ravendb.client.util;
+
+/**
+ * Socket settings of TCP connections (i.e. subscriptions)
+ */
+public class TcpConnectionOptions {
+
+    private boolean noDelay;
+    private boolean keepAlive;
+    private int sendBufferSize;
+    private int receiveBufferSize;
+    private int readBufferSize;
+    private boolean nonBlocking;
+
+    public TcpConnectionOptions() {
+        noDelay = true;
+        sendBufferSize = 32 * 1024;
+        receiveBufferSize = 4096;
+        readBufferSize = 64 * 1024;
+    }
+
+    public TcpConnectionOptions(TcpConnectionOptions options) {
+        noDelay = options.noDelay;
+        keepAlive = options.keepAlive;
+        sendBufferSize = options.sendBufferSize;
+        receiveBufferSize = options.receiveBufferSize;
+        readBufferSize = options.readBufferSize;
+        nonBlocking = options.nonBlocking;
+    }
+
+    /**
+     * @return Whether TCP_NODELAY is set. Default: true
+     */
+    public boolean isNoDelay() {
+        return noDelay;
+    }
+
+    /**
+     * @param noDelay Whether TCP_NODELAY is set. Default: true
+     */
+    public void setNoDelay(boolean noDelay) {
+        this.noDelay = noDelay;
+    }
+
+    /**
+     * @return Whether SO_KEEPALIVE is set. Default: false
+     */
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * @param keepAlive Whether SO_KEEPALIVE is set. Default: false
+     */
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * @return Socket send buffer size (SO_SNDBUF), also size of client side write buffer. Default: 32KB
+     */
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    /**
+     * @param sendBufferSize Socket send buffer size (SO_SNDBUF), also size of client side write buffer. Default: 32KB
+     */
+    public void setSendBufferSize(int sendBufferSize) {
+        if (sendBufferSize <= 0) {
+            throw new IllegalArgumentException("Send buffer size must be greater than 0");
+        }
+        this.sendBufferSize = sendBufferSize;
+    }
+
+    /**
+     * @return Socket receive buffer size (SO_RCVBUF). Default: 4KB
+     */
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    /**
+     * @param receiveBufferSize Socket receive buffer size (SO_RCVBUF). Default: 4KB
+     */
+    public void setReceiveBufferSize(int receiveBufferSize) {
+        if (receiveBufferSize <= 0) {
+            throw new IllegalArgumentException("Receive buffer size must be greater than 0");
+        }
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * @return Size of client side read buffer, direct buffer is used by non blocking connections. Default: 64KB
+     */
+    public int getReadBufferSize() {
+        return readBufferSize;
+    }
+
+    /**
+     * @param readBufferSize Size of client side read buffer, direct buffer is used by non blocking connections. Default: 64KB
+     */
+    public void setReadBufferSize(int readBufferSize) {
+        if (readBufferSize <= 0) {
+            throw new IllegalArgumentException("Read buffer size must be greater than 0");
+        }
+        this.readBufferSize = readBufferSize;
+    }
+
+    /**
+     * Non blocking connections are read by event loop thread shared by all connections of document store,
+     * instead of thread blocked on socket read. Secured (https) connections always use blocking sockets.
+     * @return Whether non blocking connections are used. Default: false
+     */
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    /**
+     * Non blocking connections are read by event loop thread shared by all connections of document store,
+     * instead of thread blocked on socket read. Secured (https) connections always use blocking sockets.
+     * @param nonBlocking Whether non blocking connections are used. Default: false
+     */
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
+}
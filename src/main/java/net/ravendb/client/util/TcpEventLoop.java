@@ -0,0 +1,126 @@
+package net.ravendb.client.util;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Single thread reading all registered non blocking connections (see TcpChannelConnection) using selector.
+ * Listeners of connections are invoked on event loop thread, so they should hand off any blocking work.
+ */
+public class TcpEventLoop implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(TcpEventLoop.class);
+
+    private final Selector _selector;
+    private final ConcurrentLinkedQueue<Runnable> _tasks = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> _loop;
+    private volatile boolean _closed;
+    private volatile Thread _thread;
+
+    /**
+     * @param executorService Executor for event loop, it occupies one thread until loop is closed
+     * @throws IOException if selector can't be opened
+     */
+    public TcpEventLoop(ExecutorService executorService) throws IOException {
+        _selector = Selector.open();
+        _loop = CompletableFuture.runAsync(this::run, executorService);
+    }
+
+    /**
+     * Runs task on event loop thread.
+     * @param task Task to run
+     */
+    public void execute(Runnable task) {
+        if (_closed) {
+            throw new IllegalStateException("Event loop was closed");
+        }
+
+        _tasks.add(task);
+        _selector.wakeup();
+    }
+
+    public boolean inEventLoop() {
+        return Thread.currentThread() == _thread;
+    }
+
+    Selector getSelector() {
+        return _selector;
+    }
+
+    private void run() {
+        _thread = Thread.currentThread();
+
+        while (!_closed) {
+            try {
+                _selector.select();
+            } catch (IOException e) {
+                if (logger.isErrorEnabled()) {
+                    logger.error("Unable to select ready connections", e);
+                }
+                break;
+            }
+
+            Runnable task;
+            while ((task = _tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    if (logger.isWarnEnabled()) {
+                        logger.warn("Event loop task failed", e);
+                    }
+                }
+            }
+
+            Iterator<SelectionKey> keys = _selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+
+                ((TcpChannelConnection) key.attachment()).handle(key);
+            }
+        }
+
+        List<TcpChannelConnection> connections = new ArrayList<>();
+        for (SelectionKey key : _selector.keys()) {
+            connections.add((TcpChannelConnection) key.attachment());
+        }
+
+        for (TcpChannelConnection connection : connections) {
+            connection.close();
+        }
+
+        try {
+            _selector.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+
+    /**
+     * Closes event loop and all its connections
+     */
+    @Override
+    public void close() {
+        if (_closed) {
+            return;
+        }
+
+        _closed = true;
+        _selector.wakeup();
+
+        if (!inEventLoop()) {
+            _loop.exceptionally(e -> null).join();
+        }
+    }
+}
@@ -12,9 +12,43 @@ import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
+import java.util.function.Supplier;
 
 public class TcpUtils {
 
+    /**
+     * Opens connection exchanging json messages. Non blocking connection is used when requested by options,
+     * unless connection is secured.
+     * @param urlString Tcp url
+     * @param serverCertificate Server certificate (base64), null for unsecured connection
+     * @param clientCertificate Client certificate, null for unsecured connection
+     * @param options Connection options
+     * @param eventLoop Event loop for non blocking connections, called only if such connection is opened
+     * @return connection
+     * @throws IOException if connection can't be opened
+     * @throws GeneralSecurityException on invalid certificates
+     */
+    public static ITcpConnection connect(String urlString, String serverCertificate, KeyStore clientCertificate,
+                                         TcpConnectionOptions options, Supplier<TcpEventLoop> eventLoop) throws IOException, GeneralSecurityException {
+        boolean secured = serverCertificate != null && clientCertificate != null;
+        if (options.isNonBlocking() && !secured) {
+            return TcpChannelConnection.connect(urlString, options, eventLoop.get());
+        }
+
+        Socket socket = connect(urlString, serverCertificate, clientCertificate);
+        try {
+            socket.setTcpNoDelay(options.isNoDelay());
+            socket.setKeepAlive(options.isKeepAlive());
+            socket.setSendBufferSize(options.getSendBufferSize());
+            socket.setReceiveBufferSize(options.getReceiveBufferSize());
+
+            return new SocketTcpConnection(socket, options);
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
     public static Socket connect(String urlString, String serverCertificate, KeyStore clientCertificate) throws IOException, GeneralSecurityException {
         URL url = new URL(urlString.replace("tcp://", "http://"));
         String host = url.getHost();
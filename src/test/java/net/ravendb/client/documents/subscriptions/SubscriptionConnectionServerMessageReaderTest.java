@@ -0,0 +1,100 @@
+package net.ravendb.client.documents.subscriptions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.http.RequestExecutor;
+import net.ravendb.client.infrastructure.entities.User;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubscriptionConnectionServerMessageReaderTest {
+
+    private static final String MESSAGES =
+            "{\"Type\":\"ConnectionStatus\",\"Status\":\"Accepted\",\"Data\":null,\"Exception\":null,\"Message\":null}" +
+            "{\"Type\":\"Data\",\"Data\":{\"name\":\"John\",\"age\":30,\"@metadata\":{\"@id\":\"users/1\",\"@change-vector\":\"A:1\",\"Raven-Java-Type\":\"" + User.class.getName() + "\"}}}" +
+            "{\"Type\":\"Data\",\"Data\":{\"@metadata\":{\"@id\":\"users/2\",\"@change-vector\":\"A:2\"},\"name\":\"Jane\"}}" +
+            "{\"Type\":\"EndOfBatch\"}";
+
+    private static List<SubscriptionConnectionServerMessage> readAll() throws Exception {
+        List<SubscriptionConnectionServerMessage> messages = new ArrayList<>();
+
+        try (JsonParser parser = JsonExtensions.getDefaultMapper().getFactory().createParser(MESSAGES)) {
+            SubscriptionConnectionServerMessage message;
+            while ((message = SubscriptionConnectionServerMessageReader.read(parser)) != null) {
+                messages.add(message);
+            }
+        }
+
+        return messages;
+    }
+
+    @Test
+    public void readsMessagesWithoutBuildingDocumentTrees() throws Exception {
+        List<SubscriptionConnectionServerMessage> messages = readAll();
+
+        assertThat(messages)
+                .extracting(SubscriptionConnectionServerMessage::getType)
+                .containsExactly(
+                        SubscriptionConnectionServerMessage.MessageType.CONNECTION_STATUS,
+                        SubscriptionConnectionServerMessage.MessageType.DATA,
+                        SubscriptionConnectionServerMessage.MessageType.DATA,
+                        SubscriptionConnectionServerMessage.MessageType.END_OF_BATCH);
+
+        assertThat(messages.get(0).getStatus())
+                .isEqualTo(SubscriptionConnectionServerMessage.ConnectionStatus.ACCEPTED);
+
+        SubscriptionConnectionServerMessage data = messages.get(1);
+        assertThat(data.getDataMetadata().get("@id").asText())
+                .isEqualTo("users/1");
+        assertThat(data.getData().get("name").asText())
+                .isEqualTo("John");
+    }
+
+    @Test
+    public void batchItemsAreDeserializedOnFirstAccess() throws Exception {
+        List<SubscriptionConnectionServerMessage> messages = readAll();
+
+        try (RequestExecutor requestExecutor = RequestExecutor.createForSingleNodeWithoutConfigurationUpdates(
+                "http://127.0.0.1:8080", "db1", null, null, null, new DocumentConventions());
+             DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+
+            SubscriptionBatch<User> batch = new SubscriptionBatch<>(User.class, false, requestExecutor, store, "db1",
+                    LogFactory.getLog(SubscriptionConnectionServerMessageReaderTest.class));
+
+            String lastChangeVector = batch.initialize(messages.subList(1, 3));
+
+            assertThat(lastChangeVector)
+                    .isEqualTo("A:2");
+
+            SubscriptionBatch.Item<User> first = batch.getItems().get(0);
+            assertThat(first.getId())
+                    .isEqualTo("users/1");
+            assertThat(first.getMetadata().get("@change-vector"))
+                    .isEqualTo("A:1");
+
+            User user = first.getResult();
+            assertThat(user.getId())
+                    .isEqualTo("users/1");
+            assertThat(user.getName())
+                    .isEqualTo("John");
+            assertThat(user.getAge())
+                    .isEqualTo(30);
+            assertThat(first.getResult())
+                    .isSameAs(user);
+
+            ObjectNode raw = batch.getItems().get(1).getRawResult();
+            assertThat(raw.get("name").asText())
+                    .isEqualTo("Jane");
+            assertThat(batch.getItems().get(1).getResult().getName())
+                    .isEqualTo("Jane");
+        }
+    }
+}
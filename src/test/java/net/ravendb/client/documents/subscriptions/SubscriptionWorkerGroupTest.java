@@ -0,0 +1,120 @@
+package net.ravendb.client.documents.subscriptions;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.DocumentStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubscriptionWorkerGroupTest {
+
+    @Test
+    public void runsAtMostMaxConcurrentHandlers() throws Exception {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (SubscriptionWorkerGroup group = store.subscriptions().createWorkerGroup(2)) {
+                AtomicInteger running = new AtomicInteger();
+                AtomicInteger maxRunning = new AtomicInteger();
+                CountDownLatch done = new CountDownLatch(30);
+
+                for (int i = 0; i < 10; i++) {
+                    SubscriptionWorker<ObjectNode> worker = group.getSubscriptionWorker(new SubscriptionWorkerOptions("sub" + i));
+
+                    for (int j = 0; j < 3; j++) {
+                        worker.enqueue(() -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            try {
+                                Thread.sleep(5);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            } finally {
+                                running.decrementAndGet();
+                                done.countDown();
+                            }
+                        });
+                    }
+                }
+
+                assertThat(done.await(10, TimeUnit.SECONDS))
+                        .isTrue();
+                assertThat(maxRunning.get())
+                        .isBetween(1, 2);
+            }
+        }
+    }
+
+    @Test
+    public void subscriptionsTakeTurns() throws Exception {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (SubscriptionWorkerGroup group = store.subscriptions().createWorkerGroup(1)) {
+                SubscriptionWorker<ObjectNode> busy = group.getSubscriptionWorker(new SubscriptionWorkerOptions("busy"));
+                SubscriptionWorker<ObjectNode> other = group.getSubscriptionWorker(new SubscriptionWorkerOptions("other"));
+
+                List<String> order = Collections.synchronizedList(new ArrayList<>());
+                CountDownLatch enqueued = new CountDownLatch(1);
+                CountDownLatch done = new CountDownLatch(8);
+
+                busy.enqueue(() -> {
+                    try {
+                        enqueued.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    order.add("busy");
+                    done.countDown();
+                });
+
+                for (int i = 0; i < 3; i++) {
+                    busy.enqueue(() -> {
+                        order.add("busy");
+                        done.countDown();
+                    });
+                }
+
+                for (int i = 0; i < 4; i++) {
+                    other.enqueue(() -> {
+                        order.add("other");
+                        done.countDown();
+                    });
+                }
+
+                enqueued.countDown();
+
+                assertThat(done.await(10, TimeUnit.SECONDS))
+                        .isTrue();
+                assertThat(order)
+                        .containsExactly("busy", "other", "busy", "other", "busy", "other", "busy", "other");
+            }
+        }
+    }
+
+    @Test
+    public void closingGroupClosesWorkers() {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            SubscriptionWorkerGroup group = store.subscriptions().createWorkerGroup(4);
+            group.getSubscriptionWorker(new SubscriptionWorkerOptions("sub1"));
+            group.getSubscriptionWorker(new SubscriptionWorkerOptions("sub2"));
+
+            assertThat(group.getMetrics())
+                    .extracting(SubscriptionWorkerMetricsSnapshot::getSubscriptionName)
+                    .containsExactlyInAnyOrder("sub1", "sub2");
+
+            group.close();
+
+            assertThat(group.getMetrics())
+                    .isEmpty();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.ravendb.client.test;
+
+import com.sun.net.httpserver.HttpServer;
+import net.ravendb.client.http.AsyncHttpClient;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncHttpClientTest {
+
+    @Test
+    public void canSendRequestsAndReadBufferedResponses() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body = IOUtils.toByteArray(exchange.getRequestBody());
+            String etag = exchange.getRequestHeaders().getFirst("If-None-Match");
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("ETag", "\"" + exchange.getRequestMethod() + "\"");
+
+            if (etag != null) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+
+        try (AsyncHttpClient client = new AsyncHttpClient(null, true, 4)) {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/echo";
+
+            HttpPost post = new HttpPost(new URI(url));
+            post.setEntity(new StringEntity("{\"Name\":\"żółw\"}", ContentType.APPLICATION_JSON));
+
+            try (CloseableHttpResponse response = client.send(post).get()) {
+                assertThat(response.getStatusLine().getStatusCode())
+                        .isEqualTo(200);
+                assertThat(response.getFirstHeader("ETag").getValue())
+                        .isEqualTo("\"POST\"");
+                assertThat(IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8))
+                        .isEqualTo("{\"Name\":\"żółw\"}");
+            }
+
+            HttpGet get = new HttpGet(new URI(url));
+            get.addHeader("If-None-Match", "\"A:1\"");
+
+            try (CloseableHttpResponse response = client.send(get).get()) {
+                assertThat(response.getStatusLine().getStatusCode())
+                        .isEqualTo(304);
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void failsWithIOExceptionWhenServerIsDown() {
+        try (AsyncHttpClient client = new AsyncHttpClient(null, true, 4)) {
+            assertThatThrownBy(() -> client.send(new HttpGet(new URI("http://127.0.0.1:1/docs"))).get())
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IOException.class);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.primitives.CaseInsensitiveHashMap;
+import net.ravendb.client.primitives.CaseInsensitiveHashSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaseInsensitiveHashMapTest {
+
+    @Test
+    public void keysAreCaseInsensitive() {
+        CaseInsensitiveHashMap<String> map = new CaseInsensitiveHashMap<>();
+        map.put("users/1", "a");
+        map.put("USERS/1", "b");
+        map.put("Ünïcode/1", "c");
+
+        assertThat(map)
+                .hasSize(2);
+        assertThat(map.get("Users/1"))
+                .isEqualTo("b");
+        assertThat(map.get("üNÏCODE/1"))
+                .isEqualTo("c");
+        assertThat(map.get("users/1", CaseInsensitiveHashMap.hash("UsErS/1")))
+                .isEqualTo("b");
+        assertThat(map.containsKey("users/2"))
+                .isFalse();
+
+        // original key casing is preserved
+        assertThat(map.keySet())
+                .containsExactly("users/1", "Ünïcode/1");
+
+        assertThat(map.remove("USERS/1"))
+                .isEqualTo("b");
+        assertThat(map.containsKey("users/1"))
+                .isFalse();
+        assertThat(map)
+                .hasSize(1);
+    }
+
+    @Test
+    public void behavesLikeCaseInsensitiveTreeMap() {
+        Random random = new Random(1234);
+        CaseInsensitiveHashMap<Integer> map = new CaseInsensitiveHashMap<>();
+        Map<String, Integer> expected = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (int i = 0; i < 200_000; i++) {
+            String key = "Orders/" + random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                key = key.toUpperCase();
+            }
+
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertThat(map.put(key, i))
+                            .isEqualTo(expected.put(key, i));
+                    break;
+                case 2:
+                    assertThat(map.remove(key))
+                            .isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.get(key))
+                            .isEqualTo(expected.get(key));
+            }
+
+            assertThat(map.size())
+                    .isEqualTo(expected.size());
+        }
+
+        Map<String, Integer> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(map);
+        assertThat(copy)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void canRemoveDuringIteration() {
+        CaseInsensitiveHashMap<Integer> map = new CaseInsensitiveHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("items/" + i, i);
+        }
+
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(map)
+                .hasSize(50);
+        assertThat(map.values())
+                .allMatch(x -> x % 2 == 1);
+
+        map.clear();
+        assertThat(map)
+                .isEmpty();
+        assertThat(map.get("items/1"))
+                .isNull();
+    }
+
+    @Test
+    public void setIsCaseInsensitive() {
+        CaseInsensitiveHashSet set = new CaseInsensitiveHashSet();
+        assertThat(set.add("employees/1"))
+                .isTrue();
+        assertThat(set.add("Employees/1"))
+                .isFalse();
+        assertThat(set.contains("EMPLOYEES/1"))
+                .isTrue();
+        assertThat(set.contains("employees/1", CaseInsensitiveHashMap.hash("EmPlOyEeS/1")))
+                .isTrue();
+        assertThat(set.remove("employees/1"))
+                .isTrue();
+        assertThat(set)
+                .isEmpty();
+    }
+}
@@ -0,0 +1,81 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.DocumentStoreExecutors;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DocumentStoreExecutorsTest {
+
+    @Test
+    public void boundedExecutorsApplyBackPressure() throws Exception {
+        try (DocumentStoreExecutors executors = DocumentStoreExecutors.bounded(1, 1, 1)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch started = new CountDownLatch(1);
+
+            executors.getIoExecutor().execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+
+            executors.getIoExecutor().execute(() -> { }); // waits in queue
+
+            assertThat(executors.getIoStatistics().getActiveThreads())
+                    .isEqualTo(1);
+            assertThat(executors.getIoStatistics().getQueueDepth())
+                    .isEqualTo(1);
+
+            // pool and queue are full - task is executed by caller
+            AtomicReference<Thread> executingThread = new AtomicReference<>();
+            executors.getIoExecutor().execute(() -> executingThread.set(Thread.currentThread()));
+
+            assertThat(executingThread.get())
+                    .isSameAs(Thread.currentThread());
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void storeUsesProvidedExecutors() {
+        DocumentStoreExecutors executors = DocumentStoreExecutors.bounded(2, 2, 16);
+
+        DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1");
+        store.setExecutors(executors);
+
+        assertThat(store.getExecutorService())
+                .isSameAs(executors.getIoExecutor());
+        assertThat(store.getCallbackExecutorService())
+                .isSameAs(executors.getCallbackExecutor());
+        assertThat(store.getLongRunningExecutorService())
+                .isSameAs(executors.getLongRunningExecutor());
+
+        executors.close();
+    }
+
+    @Test
+    public void virtualThreadsRequireSupportingJvm() throws Exception {
+        if (DocumentStoreExecutors.isVirtualThreadsSupported()) {
+            try (DocumentStoreExecutors executors = DocumentStoreExecutors.virtualThreads()) {
+                CountDownLatch done = new CountDownLatch(1);
+                executors.getIoExecutor().execute(done::countDown);
+                assertThat(done.await(10, TimeUnit.SECONDS))
+                        .isTrue();
+            }
+        } else {
+            assertThatThrownBy(DocumentStoreExecutors::virtualThreads)
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
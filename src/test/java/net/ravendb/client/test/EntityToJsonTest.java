@@ -0,0 +1,118 @@
+package net.ravendb.client.test;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.EntityToJson;
+import net.ravendb.client.infrastructure.entities.Company;
+import net.ravendb.client.infrastructure.entities.User;
+import net.ravendb.client.json.MetadataAsDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EntityToJsonTest {
+
+    private static String write(DocumentConventions conventions, Object entity, MetadataAsDictionary metadata) throws Exception {
+        ObjectMapper mapper = conventions.getEntityMapper();
+        ObjectWriter writer = mapper.writer();
+
+        StringWriter stringWriter = new StringWriter();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(stringWriter)) {
+            EntityToJson.writeEntity(generator, writer, entity, conventions, metadata);
+        }
+
+        return stringWriter.toString();
+    }
+
+    @Test
+    public void writeEntityProducesSameJsonAsTree() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+        ObjectMapper mapper = conventions.getEntityMapper();
+
+        User user = new User();
+        user.setId("users/1");
+        user.setName("John");
+        user.setAge(30);
+
+        MetadataAsDictionary metadata = new MetadataAsDictionary();
+        metadata.put(Constants.Documents.Metadata.COLLECTION, "Users");
+        metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, User.class.getName());
+
+        DocumentInfo documentInfo = new DocumentInfo();
+        documentInfo.setMetadataInstance(metadata);
+        ObjectNode expected = EntityToJson.convertEntityToJson(user, conventions, documentInfo);
+
+        ObjectNode actual = (ObjectNode) mapper.readTree(write(conventions, user, metadata));
+
+        assertThat(actual)
+                .isEqualTo(expected);
+        assertThat(actual.has("id"))
+                .isFalse();
+
+        Company company = new Company();
+        company.setName("HR");
+        expected = EntityToJson.convertEntityToJson(company, conventions);
+        actual = (ObjectNode) mapper.readTree(write(conventions, company, null));
+
+        assertThat(actual)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    public void convertToEntityUsesCachedTypesAndReaders() {
+        DocumentConventions conventions = new DocumentConventions();
+
+        ObjectNode document = conventions.getEntityMapper().createObjectNode();
+        document.put("name", "John");
+        document.putObject(Constants.Documents.Metadata.KEY)
+                .put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, User.class.getName());
+
+        User user = (User) EntityToJson.convertToEntity(Object.class, "users/1", document, conventions);
+        assertThat(user.getName())
+                .isEqualTo("John");
+
+        assertThat(conventions.resolveJavaClass(User.class.getName()))
+                .isSameAs(User.class);
+        assertThat(conventions.getEntityReader(User.class))
+                .isSameAs(conventions.getEntityReader(User.class));
+
+        assertThat(conventions.resolveJavaClass("net.ravendb.NoSuchClass"))
+                .isNull();
+        assertThat(conventions.resolveJavaClass("net.ravendb.NoSuchClass"))
+                .isNull();
+
+        ((ObjectNode) document.get(Constants.Documents.Metadata.KEY))
+                .put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, "net.ravendb.NoSuchClass");
+
+        assertThatThrownBy(() -> EntityToJson.convertToEntity(User.class, "users/1", document, conventions))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void writesEmptyObjectWhenAllPropertiesAreExcluded() throws Exception {
+        DocumentConventions conventions = new DocumentConventions();
+
+        assertThat(write(conventions, new IdOnly(), null))
+                .isEqualTo("{}");
+    }
+
+    public static class IdOnly {
+        private String id;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.http.HttpCache;
+import net.ravendb.client.http.HttpCacheMode;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpCacheTest {
+
+    @Test
+    public void canStoreAndReadBytes() throws Exception {
+        for (HttpCacheMode mode : new HttpCacheMode[] { HttpCacheMode.HEAP_BYTES, HttpCacheMode.DIRECT_BYTES }) {
+            for (boolean compress : new boolean[] { false, true }) {
+                try (HttpCache cache = new HttpCache(1024 * 1024, mode, compress)) {
+                    String json = "{\"Results\":[{\"Name\":\"" + StringUtils.repeat("żółw", 100) + "\"}]}";
+                    cache.set("/docs?id=users/1", "A:1", json);
+
+                    Reference<String> changeVector = new Reference<>();
+                    try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/1", changeVector)) {
+                        assertThat(changeVector.value)
+                                .isEqualTo("A:1");
+                        assertThat(item.item.payloadCompressed)
+                                .isEqualTo(compress);
+
+                        try (InputStream stream = item.item.openPayloadStream()) {
+                            assertThat(IOUtils.toString(stream, StandardCharsets.UTF_8))
+                                    .isEqualTo(json);
+                        }
+                    }
+
+                    Reference<String> response = new Reference<>();
+                    try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/1", changeVector, response)) {
+                        assertThat(item.item)
+                                .isNotNull();
+                        assertThat(response.value)
+                                .isEqualTo(json);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void evictsWhenOverByteBudget() {
+        try (HttpCache cache = new HttpCache(16 * 1024, HttpCacheMode.HEAP_BYTES, false)) {
+            byte[] payload = new byte[1024];
+
+            for (int i = 0; i < 100; i++) {
+                cache.set("/docs?id=users/" + i, "A:" + i, payload.clone());
+            }
+
+            assertThat(cache.getNumberOfItems())
+                    .isLessThan(16);
+
+            Reference<String> changeVector = new Reference<>();
+            try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/99", changeVector)) {
+                assertThat(item.item)
+                        .isNotNull();
+            }
+        }
+    }
+
+    private static boolean mightHaveBeenModified(HttpCache cache, String url) {
+        try (HttpCache.ReleaseCacheItem item = cache.get(url, new Reference<>())) {
+            return item.getMightHaveBeenModified();
+        }
+    }
+
+    @Test
+    public void invalidatesOnlyDependentItems() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            cache.set("/docs?id=users/1", "A:1", "{}", new String[] { HttpCache.documentDependency("users/1") });
+            cache.set("/docs?id=orders/1", "A:2", "{}", new String[] { HttpCache.documentDependency("orders/1") });
+            cache.set("/queries?from=Users", "A:3", "{}", new String[] { HttpCache.collectionDependency("Users") });
+            cache.set("/queries?from=Orders", "A:4", "{}", new String[] { HttpCache.collectionDependency("Orders") });
+            cache.set("/stats", "A:5", "{}");
+
+            cache.invalidate(HttpCache.documentDependency("Orders/1"));
+            cache.invalidate(HttpCache.collectionDependency("orders"));
+
+            assertThat(mightHaveBeenModified(cache, "/docs?id=users/1"))
+                    .isFalse();
+            assertThat(mightHaveBeenModified(cache, "/queries?from=Users"))
+                    .isFalse();
+            assertThat(mightHaveBeenModified(cache, "/docs?id=orders/1"))
+                    .isTrue();
+            assertThat(mightHaveBeenModified(cache, "/queries?from=Orders"))
+                    .isTrue();
+
+            // untagged item depends on everything
+            assertThat(mightHaveBeenModified(cache, "/stats"))
+                    .isTrue();
+
+            assertThat(cache.getNumberOfInvalidations())
+                    .isEqualTo(2);
+            assertThat(cache.getNumberOfNotModifiedChecks())
+                    .isEqualTo(2);
+            assertThat(cache.getNumberOfModifiedChecks())
+                    .isEqualTo(3);
+
+            // generation makes everything stale
+            cache.generation.incrementAndGet();
+
+            assertThat(mightHaveBeenModified(cache, "/docs?id=users/1"))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void notModifiedResponseRefreshesItem() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            cache.set("/docs?id=users/1", "A:1", "{}", new String[] { HttpCache.documentDependency("users/1") });
+
+            cache.invalidate(HttpCache.documentDependency("users/1"));
+
+            try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/1", new Reference<>())) {
+                assertThat(item.getMightHaveBeenModified())
+                        .isTrue();
+
+                item.notModified();
+
+                assertThat(item.getMightHaveBeenModified())
+                        .isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void storedAndConfirmedItemsGetGreaterUpdateSequence() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            long started = cache.getUpdateSequence();
+
+            cache.set("/docs?id=users/1", "A:1", "{}");
+
+            try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/1", new Reference<>())) {
+                assertThat(item.item.updateSequence)
+                        .isGreaterThan(started);
+
+                long stored = item.item.updateSequence;
+
+                item.notModified();
+
+                assertThat(item.item.updateSequence)
+                        .isGreaterThan(stored)
+                        .isEqualTo(cache.getUpdateSequence());
+            }
+        }
+    }
+
+    @Test
+    public void invalidationDuringRequestIsNotConfirmedByNotModified() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            cache.set("/docs?id=users/1", "A:1", "{}", new String[] { HttpCache.documentDependency("users/1") });
+
+            try (HttpCache.ReleaseCacheItem item = cache.get("/docs?id=users/1", new Reference<>())) {
+                // document changed after request was sent, but before 304 was handled
+                cache.invalidate(HttpCache.documentDependency("users/1"));
+
+                item.notModified();
+
+                assertThat(item.getMightHaveBeenModified())
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void invalidationDuringRequestMakesStoredResponseStale() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            HttpCache.Position position = cache.getPosition();
+
+            // document changed while request was in flight
+            cache.invalidate(HttpCache.documentDependency("users/1"));
+
+            cache.set("/docs?id=users/1", "A:1", "{}", new String[] { HttpCache.documentDependency("users/1") }, position);
+
+            assertThat(mightHaveBeenModified(cache, "/docs?id=users/1"))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void forgottenInvalidationsMakeOlderItemsStale() {
+        try (HttpCache cache = new HttpCache(1024 * 1024)) {
+            cache.set("/docs?id=users/1", "A:1", "{}", new String[] { HttpCache.documentDependency("users/1") });
+
+            for (int i = 0; i < 100_000; i++) {
+                cache.invalidate(HttpCache.documentDependency("orders/" + i));
+            }
+
+            assertThat(mightHaveBeenModified(cache, "/docs?id=users/1"))
+                    .isTrue();
+        }
+    }
+}
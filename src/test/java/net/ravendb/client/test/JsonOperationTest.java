@@ -0,0 +1,96 @@
+package net.ravendb.client.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.DocumentsChanges;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.json.JsonOperation;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonOperationTest {
+
+    private static final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private static ObjectNode createDocument() {
+        ObjectNode document = mapper.createObjectNode();
+        document.put("Name", "John");
+        document.put("Age", 35);
+        document.put("Salary", 1000.0);
+        document.put("Active", true);
+        document.putNull("Manager");
+
+        ObjectNode address = document.putObject("Address");
+        address.put("City", "Torun");
+        address.putObject("Location").put("Latitude", 53.01).put("Longitude", 18.6);
+
+        ArrayNode orders = document.putArray("Orders");
+        for (int i = 0; i < 100; i++) {
+            ObjectNode order = orders.addObject();
+            order.put("Id", "orders/" + i);
+            order.put("Total", i * 10);
+            ArrayNode lines = order.putArray("Lines");
+            lines.add("products/" + i);
+            lines.addNull();
+            lines.addArray().add(i).add(i + 1);
+        }
+
+        ObjectNode metadata = document.putObject(Constants.Documents.Metadata.KEY);
+        metadata.put(Constants.Documents.Metadata.COLLECTION, "Users");
+        metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, "A:1");
+        metadata.put(Constants.Documents.Metadata.LAST_MODIFIED, "2018-01-01T00:00:00.0000000Z");
+
+        return document;
+    }
+
+    private static void assertSameAsDetailedDiff(Consumer<ObjectNode> modification, boolean expectedChange) {
+        ObjectNode original = createDocument();
+        ObjectNode modified = createDocument();
+        modification.accept(modified);
+
+        DocumentInfo documentInfo = new DocumentInfo();
+        documentInfo.setId("users/1");
+        documentInfo.setDocument(original);
+
+        Map<String, List<DocumentsChanges>> changes = new HashMap<>();
+        boolean detailed = JsonOperation.entityChanged(modified, documentInfo, changes);
+
+        assertThat(detailed)
+                .isEqualTo(expectedChange);
+        assertThat(JsonOperation.hasDifferences(original, modified))
+                .isEqualTo(expectedChange);
+        assertThat(JsonOperation.entityChanged(modified, documentInfo, null))
+                .isEqualTo(expectedChange);
+    }
+
+    @Test
+    public void hasDifferencesMatchesDetailedComparison() {
+        assertSameAsDetailedDiff(x -> { }, false);
+        assertSameAsDetailedDiff(x -> x.put("Name", "Jane"), true);
+        assertSameAsDetailedDiff(x -> x.put("Age", 35L), false);
+        assertSameAsDetailedDiff(x -> x.put("Age", 35.0), false);
+        assertSameAsDetailedDiff(x -> x.put("Age", 35.5), true);
+        assertSameAsDetailedDiff(x -> x.put("Active", false), true);
+        assertSameAsDetailedDiff(x -> x.put("Manager", "users/2"), false); // null -> value is not detected by whatChanged either
+        assertSameAsDetailedDiff(x -> x.putNull("Name"), true);
+        assertSameAsDetailedDiff(x -> x.remove("Salary"), true);
+        assertSameAsDetailedDiff(x -> x.put("Nick", "J"), true);
+        assertSameAsDetailedDiff(x -> ((ObjectNode) x.get("Address").get("Location")).put("Latitude", 53.02), true);
+        assertSameAsDetailedDiff(x -> ((ArrayNode) x.get("Orders")).remove(99), true);
+        assertSameAsDetailedDiff(x -> ((ObjectNode) x.get("Orders").get(50)).put("Total", 1), true);
+        assertSameAsDetailedDiff(x -> ((ArrayNode) x.get("Orders").get(50).get("Lines")).set(0, mapper.getNodeFactory().textNode("products/x")), true);
+        assertSameAsDetailedDiff(x -> ((ArrayNode) x.get("Orders").get(50).get("Lines")).set(1, mapper.getNodeFactory().textNode("products/x")), true);
+        assertSameAsDetailedDiff(x -> ((ArrayNode) x.get("Orders").get(50).get("Lines").get(2)).set(0, mapper.getNodeFactory().numberNode(50L)), false);
+        assertSameAsDetailedDiff(x -> ((ObjectNode) x.get(Constants.Documents.Metadata.KEY)).put(Constants.Documents.Metadata.CHANGE_VECTOR, "A:2"), false);
+        assertSameAsDetailedDiff(x -> ((ObjectNode) x.get(Constants.Documents.Metadata.KEY)).put("@flags", "HasRevisions"), true);
+    }
+}
@@ -0,0 +1,87 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.http.CurrentIndexAndNode;
+import net.ravendb.client.http.NodeSelector;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.http.Topology;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NodeSelectorTest {
+
+    private static Topology createTopology(int nodesCount) {
+        List<ServerNode> nodes = new ArrayList<>();
+        for (int i = 0; i < nodesCount; i++) {
+            ServerNode node = new ServerNode();
+            node.setUrl("http://127.0.0.1:" + (8080 + i));
+            node.setDatabase("db1");
+            node.setClusterTag(String.valueOf((char) ('A' + i)));
+            node.setServerRole(ServerNode.Role.MEMBER);
+            nodes.add(node);
+        }
+
+        Topology topology = new Topology();
+        topology.setEtag(1L);
+        topology.setNodes(nodes);
+        return topology;
+    }
+
+    @Test
+    public void leastLoadedNodeShouldAvoidSlowNode() {
+        Topology topology = createTopology(2);
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            List<ServerNode> nodes = topology.getNodes();
+
+            selector.onRequestStarted(0, nodes.get(0));
+            selector.onRequestFinished(0, nodes.get(0), TimeUnit.MILLISECONDS.toNanos(200));
+
+            selector.onRequestStarted(1, nodes.get(1));
+            selector.onRequestFinished(1, nodes.get(1), TimeUnit.MILLISECONDS.toNanos(2));
+
+            for (int i = 0; i < 100; i++) {
+                CurrentIndexAndNode node = selector.getLeastLoadedNode();
+                assertThat(node.currentIndex)
+                        .isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    public void leastLoadedNodeShouldAvoidNodeWithOutstandingRequests() {
+        Topology topology = createTopology(2);
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            List<ServerNode> nodes = topology.getNodes();
+
+            for (int i = 0; i < 2; i++) {
+                selector.onRequestStarted(i, nodes.get(i));
+                selector.onRequestFinished(i, nodes.get(i), TimeUnit.MILLISECONDS.toNanos(10));
+            }
+
+            for (int i = 0; i < 5; i++) {
+                selector.onRequestStarted(0, nodes.get(0));
+            }
+
+            assertThat(selector.getLeastLoadedNode().currentIndex)
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void leastLoadedNodeShouldSkipFailedNodes() {
+        Topology topology = createTopology(3);
+        try (NodeSelector selector = new NodeSelector(topology, null)) {
+            selector.onFailedRequest(0);
+            selector.onFailedRequest(2);
+
+            for (int i = 0; i < 20; i++) {
+                assertThat(selector.getLeastLoadedNode().currentIndex)
+                        .isEqualTo(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.documents.commands.GetDocumentsCommand;
+import net.ravendb.client.http.ServerNode;
+import net.ravendb.client.http.metrics.InMemoryRequestExecutorMetrics;
+import net.ravendb.client.http.metrics.LatencyHistogram;
+import net.ravendb.client.http.metrics.LatencyHistogramSnapshot;
+import net.ravendb.client.http.metrics.RequestExecutorMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestExecutorMetricsTest {
+
+    @Test
+    public void histogramPercentilesShouldBeWithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        LatencyHistogramSnapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount())
+                .isEqualTo(1000);
+        assertThat(snapshot.getMax().toMillis())
+                .isEqualTo(1000);
+        assertThat(snapshot.getMean().toMillis())
+                .isEqualTo(500);
+
+        assertThat(snapshot.getValueAtPercentile(50).toMillis())
+                .isBetween(500L, 532L);
+        assertThat(snapshot.getValueAtPercentile(99).toMillis())
+                .isBetween(990L, 1000L);
+        assertThat(snapshot.getValueAtPercentile(100).toMillis())
+                .isEqualTo(1000);
+    }
+
+    @Test
+    public void histogramHandlesEdgeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogramSnapshot snapshot = histogram.getSnapshot();
+        assertThat(snapshot.getCount())
+                .isEqualTo(3);
+        assertThat(snapshot.getValueAtPercentile(50).toNanos())
+                .isEqualTo(0);
+        assertThat(snapshot.getValueAtPercentile(100).toNanos())
+                .isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void inMemoryMetricsGroupByNodeAndCommand() {
+        ServerNode node = new ServerNode();
+        node.setUrl("http://127.0.0.1:8080");
+        node.setDatabase("db1");
+
+        InMemoryRequestExecutorMetrics metrics = new InMemoryRequestExecutorMetrics();
+        metrics.onRequest(node, GetDocumentsCommand.class, 1000);
+        metrics.onRequest(node, GetDocumentsCommand.class, 3000);
+        metrics.onCacheHit();
+        metrics.onCacheMiss();
+        metrics.onCacheMiss();
+        metrics.onFailover(node);
+
+        RequestExecutorMetricsSnapshot snapshot = metrics.getSnapshot();
+        assertThat(snapshot.getLatencies())
+                .containsOnlyKeys("http://127.0.0.1:8080");
+
+        LatencyHistogramSnapshot latency = snapshot.getLatencies().get("http://127.0.0.1:8080").get(GetDocumentsCommand.class.getName());
+        assertThat(latency.getCount())
+                .isEqualTo(2);
+        assertThat(latency.getMean().toNanos())
+                .isEqualTo(2000);
+
+        assertThat(snapshot.getCacheHits())
+                .isEqualTo(1);
+        assertThat(snapshot.getCacheMisses())
+                .isEqualTo(2);
+        assertThat(snapshot.getFailovers())
+                .isEqualTo(1);
+    }
+}
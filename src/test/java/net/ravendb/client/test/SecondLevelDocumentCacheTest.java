@@ -0,0 +1,174 @@
+package net.ravendb.client.test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.DocumentChangeTypes;
+import net.ravendb.client.documents.session.DocumentInfo;
+import net.ravendb.client.documents.session.SecondLevelDocumentCache;
+import net.ravendb.client.extensions.JsonExtensions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecondLevelDocumentCacheTest {
+
+    private static ObjectNode document(String id, String changeVector, String name) {
+        ObjectNode document = JsonExtensions.getDefaultMapper().createObjectNode();
+        document.put("Name", name);
+        ObjectNode metadata = document.putObject(Constants.Documents.Metadata.KEY);
+        metadata.put(Constants.Documents.Metadata.ID, id);
+        metadata.put(Constants.Documents.Metadata.CHANGE_VECTOR, changeVector);
+        return document;
+    }
+
+    private static DocumentChange change(DocumentChangeTypes type, String id, String changeVector) {
+        DocumentChange change = new DocumentChange();
+        change.setType(type);
+        change.setId(id);
+        change.setChangeVector(changeVector);
+        return change;
+    }
+
+    @Test
+    public void sharesCachedDocumentsAndCopiesOnWrite() {
+        SecondLevelDocumentCache cache = new SecondLevelDocumentCache(100);
+
+        ObjectNode original = document("users/1", "A:1", "John");
+        cache.put(original, cache.getGeneration());
+
+        ObjectNode cached = cache.get("USERS/1");
+        assertThat(cached)
+                .isSameAs(original);
+
+        DocumentInfo first = DocumentInfo.getNewDocumentInfo(cached);
+        first.setShared(true);
+        DocumentInfo second = DocumentInfo.getNewDocumentInfo(cache.get("users/1"));
+        second.setShared(true);
+
+        assertThat(first.getDocument())
+                .isSameAs(second.getDocument());
+
+        first.ensureWritable();
+        first.getMetadata().put("@flags", "HasRevisions");
+
+        assertThat(first.isShared())
+                .isFalse();
+        assertThat(first.getDocument().get(Constants.Documents.Metadata.KEY))
+                .isSameAs(first.getMetadata());
+        assertThat(first.getDocument())
+                .isNotSameAs(cached)
+                .isNotEqualTo(cached);
+        assertThat(second.getDocument())
+                .isSameAs(cached);
+        assertThat(cached.get(Constants.Documents.Metadata.KEY).has("@flags"))
+                .isFalse();
+
+        assertThat(cache.get("users/2"))
+                .isNull();
+        assertThat(cache.getHits())
+                .isEqualTo(2);
+        assertThat(cache.getMisses())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void replacedDocumentIsNotCopiedOnWrite() {
+        ObjectNode cached = document("users/1", "A:1", "John");
+
+        DocumentInfo documentInfo = DocumentInfo.getNewDocumentInfo(cached);
+        documentInfo.setShared(true);
+
+        ObjectNode replacement = document("users/1", "A:1", "Jane");
+        documentInfo.setDocument(replacement);
+
+        documentInfo.ensureWritable();
+        documentInfo.getMetadata().put("@flags", "HasRevisions");
+
+        assertThat(documentInfo.getDocument())
+                .isSameAs(replacement);
+        assertThat(documentInfo.getMetadata())
+                .isNotSameAs(cached.get(Constants.Documents.Metadata.KEY));
+        assertThat(cached.get(Constants.Documents.Metadata.KEY).has("@flags"))
+                .isFalse();
+    }
+
+    @Test
+    public void changeNotificationsInvalidateDocuments() {
+        SecondLevelDocumentCache cache = new SecondLevelDocumentCache(100);
+        cache.put(document("users/1", "A:1", "John"), cache.getGeneration());
+        cache.put(document("users/2", "A:2", "Jane"), cache.getGeneration());
+
+        // the same change vector - we already have this version
+        cache.onNext(change(DocumentChangeTypes.PUT, "users/1", "A:1"));
+        assertThat(cache.get("users/1"))
+                .isNotNull();
+
+        cache.onNext(change(DocumentChangeTypes.PUT, "users/1", "A:3"));
+        assertThat(cache.get("users/1"))
+                .isNull();
+
+        cache.onNext(change(DocumentChangeTypes.DELETE, "Users/2", "A:4"));
+        assertThat(cache.get("users/2"))
+                .isNull();
+    }
+
+    @Test
+    public void responsesStartedBeforeInvalidationAreNotCached() {
+        SecondLevelDocumentCache cache = new SecondLevelDocumentCache(100);
+
+        long generation = cache.getGeneration();
+        cache.onNext(change(DocumentChangeTypes.PUT, "users/1", "A:2"));
+
+        // response to request sent before notification arrived, it might be stale
+        cache.put(document("users/1", "A:1", "John"), generation);
+        assertThat(cache.get("users/1"))
+                .isNull();
+
+        cache.put(document("users/1", "A:2", "John"), cache.getGeneration());
+        assertThat(cache.get("users/1"))
+                .isNotNull();
+
+        generation = cache.getGeneration();
+        cache.onError(new IllegalStateException("changes connection failed"));
+
+        assertThat(cache.getNumberOfDocuments())
+                .isZero();
+
+        cache.put(document("users/2", "A:3", "Jane"), generation);
+        assertThat(cache.get("users/2"))
+                .isNull();
+    }
+
+    @Test
+    public void numberOfDocumentsIsBounded() {
+        SecondLevelDocumentCache cache = new SecondLevelDocumentCache(10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(document("users/" + i, "A:" + i, "user" + i), cache.getGeneration());
+        }
+
+        assertThat(cache.getNumberOfDocuments())
+                .isLessThanOrEqualTo(10);
+        assertThat(cache.get("users/99"))
+                .isNotNull();
+    }
+
+    @Test
+    public void cacheIsDisabledUntilChangesConnectionIsEstablished() {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (SecondLevelDocumentCache cache = SecondLevelDocumentCache.create(store, "db1", 100)) {
+                assertThat(cache.isEnabled())
+                        .isFalse();
+
+                cache.put(document("users/1", "A:1", "John"), cache.getGeneration());
+
+                assertThat(cache.get("users/1"))
+                        .isNull();
+            }
+        }
+    }
+}
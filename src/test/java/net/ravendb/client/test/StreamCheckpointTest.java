@@ -0,0 +1,57 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.documents.session.StreamCheckpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamCheckpointTest {
+
+    @Test
+    public void nextRequestContinuesAfterLastReturnedDocument() {
+        StreamCheckpoint checkpoint = StreamCheckpoint.forDocuments("users/", "a*", 10, 100, null, null);
+
+        assertThat(checkpoint.getNextStart())
+                .isEqualTo(10);
+        assertThat(checkpoint.getNextPageSize())
+                .isEqualTo(100);
+        assertThat(checkpoint.getNextStartAfter())
+                .isNull();
+
+        checkpoint.advance("users/15");
+        checkpoint.advance("users/16");
+
+        // start was already applied by the first request
+        assertThat(checkpoint.getNextStart())
+                .isZero();
+        assertThat(checkpoint.getNextPageSize())
+                .isEqualTo(98);
+        assertThat(checkpoint.getNextStartAfter())
+                .isEqualTo("users/16");
+        assertThat(checkpoint.isPageSizeReached())
+                .isFalse();
+    }
+
+    @Test
+    public void canRoundTripToken() {
+        StreamCheckpoint checkpoint = StreamCheckpoint.forDocuments("users/", null, 0, Integer.MAX_VALUE, null, "users/1");
+        checkpoint.advance("users/2");
+
+        StreamCheckpoint restored = StreamCheckpoint.fromToken(checkpoint.toToken());
+
+        assertThat(restored.getStartsWith())
+                .isEqualTo("users/");
+        assertThat(restored.getStartAfter())
+                .isEqualTo("users/1");
+        assertThat(restored.getNextStartAfter())
+                .isEqualTo("users/2");
+        assertThat(restored.getReturnedResults())
+                .isEqualTo(1);
+        assertThat(restored.getNextPageSize())
+                .isEqualTo(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> StreamCheckpoint.fromToken("not a token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
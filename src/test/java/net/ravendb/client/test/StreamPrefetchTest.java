@@ -0,0 +1,127 @@
+package net.ravendb.client.test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.CloseableIterator;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.commands.StreamResultResponse;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.operations.StreamOperation;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamPrefetchTest {
+
+    private static String streamJson(int count) {
+        StringBuilder sb = new StringBuilder("{\"Results\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("{\"name\":\"user").append(i).append("\",\"@metadata\":{\"@id\":\"users/").append(i)
+                    .append("\",\"@change-vector\":\"A:").append(i).append("\"}}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static StreamResultResponse response(String json, AtomicBoolean closed) {
+        CloseableHttpResponse httpResponse = (CloseableHttpResponse) Proxy.newProxyInstance(
+                StreamPrefetchTest.class.getClassLoader(), new Class<?>[] { CloseableHttpResponse.class }, (proxy, method, args) -> {
+                    if ("close".equals(method.getName())) {
+                        closed.set(true);
+                    }
+                    return null;
+                });
+
+        StreamResultResponse response = new StreamResultResponse();
+        response.setResponse(httpResponse);
+        response.setStream(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        return response;
+    }
+
+    private static CloseableIterator<ObjectNode> stream(IDocumentSession session, String json, AtomicBoolean closed) {
+        StreamOperation operation = new StreamOperation((InMemoryDocumentSessionOperations) session);
+        operation.createRequest("users/", null, 0, Integer.MAX_VALUE, null, null);
+        return operation.setResult(response(json, closed));
+    }
+
+    @Test
+    public void prefetchingIteratorReturnsAllResultsInOrder() {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.getConventions().setStreamPrefetchDocuments(4);
+            store.getConventions().setStreamPrefetchBytes(256);
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                AtomicBoolean closed = new AtomicBoolean();
+
+                List<String> ids;
+                try (Stream<ObjectNode> results = stream(session, streamJson(100), closed).toStream()) {
+                    ids = results
+                            .map(x -> x.get("@metadata").get("@id").asText())
+                            .collect(Collectors.toList());
+                }
+
+                assertThat(ids)
+                        .hasSize(100)
+                        .startsWith("users/0", "users/1")
+                        .endsWith("users/99");
+                assertThat(closed)
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void closeStopsBackgroundReader() {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.getConventions().setStreamPrefetchDocuments(2);
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                AtomicBoolean closed = new AtomicBoolean();
+
+                CloseableIterator<ObjectNode> results = stream(session, streamJson(1000), closed);
+                assertThat(results.next().get("name").asText())
+                        .isEqualTo("user0");
+
+                results.close();
+
+                assertThat(closed)
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void readErrorIsThrownToConsumer() {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.getConventions().setStreamPrefetchDocuments(2);
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                String json = streamJson(3);
+                CloseableIterator<ObjectNode> results = stream(session, json.substring(0, json.length() - 20), new AtomicBoolean());
+
+                assertThatThrownBy(() -> {
+                    while (results.hasNext()) {
+                        results.next();
+                    }
+                }).isInstanceOf(IllegalStateException.class);
+
+                results.close();
+            }
+        }
+    }
+}
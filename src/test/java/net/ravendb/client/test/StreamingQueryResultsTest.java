@@ -0,0 +1,105 @@
+package net.ravendb.client.test;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.commands.QueryCommand;
+import net.ravendb.client.documents.queries.IndexQuery;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.InMemoryDocumentSessionOperations;
+import net.ravendb.client.documents.session.operations.QueryOperation;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class StreamingQueryResultsTest {
+
+    private static final String RESPONSE = "{" +
+            "\"TotalResults\":2,\"SkippedResults\":0,\"IsStale\":false,\"IndexName\":\"Auto/Users\"," +
+            "\"Results\":[" +
+            "{\"name\":\"John\",\"age\":30,\"@metadata\":{\"@id\":\"users/1\",\"@change-vector\":\"A:1\",\"@collection\":\"Users\",\"Raven-Java-Type\":\"" + User.class.getName() + "\"}}," +
+            "{\"name\":\"Jane\",\"age\":25,\"@metadata\":{\"@id\":\"users/2\",\"@change-vector\":\"A:2\",\"@collection\":\"Users\"}}" +
+            "]," +
+            "\"Includes\":{},\"IncludedPaths\":null,\"DurationInMs\":5}";
+
+    private static final String PROJECTION_RESPONSE = "{" +
+            "\"TotalResults\":1,\"IndexName\":\"Auto/Users\"," +
+            "\"Results\":[{\"name\":\"John\",\"@metadata\":{\"@id\":\"users/1\",\"@projection\":true}}]," +
+            "\"Includes\":{}}";
+
+    private static List<User> query(IDocumentSession session, String response, boolean disableEntitiesTracking) throws Exception {
+        QueryOperation operation = new QueryOperation((InMemoryDocumentSessionOperations) session, "Auto/Users",
+                new IndexQuery("from Users"), null, disableEntitiesTracking, false, false);
+        operation.enableResultsStreaming(User.class);
+
+        QueryCommand command = operation.createRequest();
+        command.setResponse(response, false);
+        operation.setResult(command.getResult());
+
+        return operation.complete(User.class);
+    }
+
+    @Test
+    public void noTrackingQueryMaterializesEntitiesWhileReadingResponse() throws Exception {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                List<User> users = query(session, RESPONSE, true);
+
+                assertThat(users)
+                        .extracting(User::getId, User::getName, User::getAge)
+                        .containsExactly(
+                                tuple("users/1", "John", 30),
+                                tuple("users/2", "Jane", 25));
+
+                assertThat(session.advanced().isLoaded("users/1"))
+                        .isFalse();
+            }
+        }
+    }
+
+    @Test
+    public void trackingQueryKeepsDocumentsForChangeTracking() throws Exception {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                List<User> users = query(session, RESPONSE, false);
+
+                assertThat(users)
+                        .hasSize(2);
+                assertThat(session.advanced().isLoaded("users/1"))
+                        .isTrue();
+                assertThat(session.advanced().getChangeVectorFor(users.get(0)))
+                        .isEqualTo("A:1");
+
+                // no tracking query returns instance which session already tracks
+                assertThat(query(session, RESPONSE, true).get(0))
+                        .isSameAs(users.get(0));
+            }
+        }
+    }
+
+    @Test
+    public void projectionsAreMaterializedWithIdentity() throws Exception {
+        try (DocumentStore store = new DocumentStore("http://127.0.0.1:8080", "db1")) {
+            store.initialize();
+
+            try (IDocumentSession session = store.openSession()) {
+                List<User> users = query(session, PROJECTION_RESPONSE, false);
+
+                assertThat(users)
+                        .hasSize(1);
+                assertThat(users.get(0).getId())
+                        .isEqualTo("users/1");
+                assertThat(users.get(0).getName())
+                        .isEqualTo("John");
+                assertThat(session.advanced().isLoaded("users/1"))
+                        .isFalse();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package net.ravendb.client.test;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.ravendb.client.extensions.JsonExtensions;
+import net.ravendb.client.util.ITcpConnection;
+import net.ravendb.client.util.TcpChannelConnection;
+import net.ravendb.client.util.TcpConnectionOptions;
+import net.ravendb.client.util.TcpEventLoop;
+import net.ravendb.client.util.TcpUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TcpChannelConnectionTest {
+
+    private static final ObjectMapper mapper = JsonExtensions.getDefaultMapper();
+
+    private static TcpConnectionOptions nonBlockingOptions() {
+        TcpConnectionOptions options = new TcpConnectionOptions();
+        options.setNonBlocking(true);
+        options.setKeepAlive(true);
+        options.setReadBufferSize(16);
+        return options;
+    }
+
+    private static void writeInFragments(OutputStream output, String data) throws Exception {
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i += 7) {
+            output.write(bytes, i, Math.min(7, bytes.length - i));
+            output.flush();
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void canExchangeMessagesOverNonBlockingConnection() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        try (ServerSocket server = new ServerSocket(0);
+             TcpEventLoop eventLoop = new TcpEventLoop(executor)) {
+
+            ITcpConnection connection = TcpUtils.connect("tcp://127.0.0.1:" + server.getLocalPort(), null, null,
+                    nonBlockingOptions(), () -> eventLoop);
+
+            try (Socket serverSide = server.accept()) {
+                assertThat(connection)
+                        .isInstanceOf(TcpChannelConnection.class);
+
+                connection.getOutputStream().write("{\"Type\":\"Ack\"}".getBytes(StandardCharsets.UTF_8));
+                connection.getOutputStream().flush();
+
+                InputStream input = serverSide.getInputStream();
+                byte[] received = new byte[14];
+                int offset = 0;
+                while (offset < received.length) {
+                    offset += input.read(received, offset, received.length - offset);
+                }
+                assertThat(new String(received, StandardCharsets.UTF_8))
+                        .isEqualTo("{\"Type\":\"Ack\"}");
+
+                writeInFragments(serverSide.getOutputStream(),
+                        "{\"Type\":\"Data\",\"Data\":{\"Name\":\"żółw\",\"Tags\":[1,2,{\"a\":null}]}}  {\"Type\":\"EndOfBatch\"}");
+
+                try (JsonParser parser = connection.nextMessage()) {
+                    JsonNode message = mapper.readTree(parser);
+                    assertThat(message.get("Data").get("Name").asText())
+                            .isEqualTo("żółw");
+                    assertThat(message.get("Data").get("Tags").size())
+                            .isEqualTo(3);
+                }
+
+                try (JsonParser parser = connection.nextMessage()) {
+                    assertThat(mapper.<JsonNode>readTree(parser).get("Type").asText())
+                            .isEqualTo("EndOfBatch");
+                }
+
+                serverSide.shutdownOutput();
+
+                assertThat(connection.nextMessage())
+                        .isNull();
+                assertThat(connection.isConnected())
+                        .isFalse();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void passesMessagesToListener() throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+
+        try (ServerSocket server = new ServerSocket(0);
+             TcpEventLoop eventLoop = new TcpEventLoop(executor)) {
+
+            TcpChannelConnection connection = TcpChannelConnection.connect("tcp://127.0.0.1:" + server.getLocalPort(),
+                    nonBlockingOptions(), eventLoop);
+
+            try (Socket serverSide = server.accept()) {
+                BlockingQueue<String> messages = new ArrayBlockingQueue<>(10);
+
+                connection.setListener(new TcpChannelConnection.Listener() {
+                    @Override
+                    public void onMessage(TokenBuffer message) {
+                        try (JsonParser parser = message.asParser()) {
+                            messages.add(mapper.<JsonNode>readTree(parser).get("Id").asText());
+                        } catch (Exception e) {
+                            messages.add("error");
+                        }
+                    }
+
+                    @Override
+                    public void onClosed(Exception error) {
+                        messages.add(error == null ? "closed" : "error");
+                    }
+                });
+
+                writeInFragments(serverSide.getOutputStream(), "{\"Id\":\"users/1\"}{\"Id\":\"users/2\"}");
+                serverSide.shutdownOutput();
+
+                assertThat(messages.poll(10, TimeUnit.SECONDS))
+                        .isEqualTo("users/1");
+                assertThat(messages.poll(10, TimeUnit.SECONDS))
+                        .isEqualTo("users/2");
+                assertThat(messages.poll(10, TimeUnit.SECONDS))
+                        .isEqualTo("closed");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
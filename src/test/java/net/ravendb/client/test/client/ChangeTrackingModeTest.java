@@ -0,0 +1,97 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.ChangeTrackingMode;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ChangeTrackingModeTest extends RemoteTestBase {
+
+    private ChangeTrackingMode changeTrackingMode = ChangeTrackingMode.FULL;
+
+    @Override
+    protected void customizeStore(DocumentStore store) {
+        store.getConventions().setChangeTrackingMode(changeTrackingMode);
+    }
+
+    private static void storeUsers(IDocumentStore store) {
+        try (IDocumentSession session = store.openSession()) {
+            for (int i = 0; i < 10; i++) {
+                User user = new User();
+                user.setName("user" + i);
+                session.store(user, "users/" + i);
+            }
+            session.saveChanges();
+        }
+    }
+
+    @Test
+    public void fingerprintModeDetectsChanges() throws Exception {
+        changeTrackingMode = ChangeTrackingMode.FINGERPRINT;
+
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store);
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = session.load(User.class, "users/3");
+                for (int i = 0; i < 10; i++) {
+                    session.load(User.class, "users/" + i);
+                }
+
+                assertThat(session.advanced().hasChanges())
+                        .isFalse();
+
+                user.setName("modified");
+
+                assertThat(session.advanced().hasChanged(user))
+                        .isTrue();
+                assertThat(session.advanced().whatChanged())
+                        .containsOnlyKeys("users/3");
+
+                session.saveChanges();
+
+                assertThat(session.advanced().hasChanges())
+                        .isFalse();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(User.class, "users/3").getName())
+                        .isEqualTo("modified");
+            }
+        }
+    }
+
+    @Test
+    public void explicitModeRequiresMarkDirty() throws Exception {
+        changeTrackingMode = ChangeTrackingMode.EXPLICIT;
+
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store);
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = session.load(User.class, "users/1");
+                user.setName("not tracked");
+
+                assertThat(session.advanced().hasChanges())
+                        .isFalse();
+
+                session.advanced().markDirty(user);
+
+                assertThat(session.advanced().hasChanges())
+                        .isTrue();
+
+                session.saveChanges();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(User.class, "users/1").getName())
+                        .isEqualTo("not tracked");
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelMaterializationTest extends RemoteTestBase {
+
+    private static final int NUMBER_OF_USERS = 1000;
+
+    private static void storeUsers(IDocumentStore store) {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < NUMBER_OF_USERS; i++) {
+                User user = new User();
+                user.setName("user" + i);
+                user.setAge(i);
+                bulkInsert.store(user, "users/" + i);
+            }
+        }
+    }
+
+    @Test
+    public void queryResultsKeepOrderAndIdentity() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store);
+
+            List<String> expected;
+            try (IDocumentSession session = store.openSession()) {
+                expected = session.query(User.class)
+                        .waitForNonStaleResults()
+                        .orderBy("age")
+                        .toList()
+                        .stream()
+                        .map(User::getName)
+                        .collect(Collectors.toList());
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                User loaded = session.load(User.class, "users/10");
+
+                List<User> users = session.query(User.class)
+                        .parallelMaterialization()
+                        .orderBy("age")
+                        .toList();
+
+                assertThat(users.stream().map(User::getName).collect(Collectors.toList()))
+                        .isEqualTo(expected);
+                assertThat(users.get(10))
+                        .isSameAs(loaded);
+                assertThat(users.get(500).getId())
+                        .isEqualTo("users/500");
+
+                assertThat(session.load(User.class, "users/500"))
+                        .isSameAs(users.get(500));
+                assertThat(session.advanced().hasChanges())
+                        .isFalse();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                List<String> names = session.query(User.class)
+                        .parallelMaterialization()
+                        .orderBy("age")
+                        .selectFields(String.class, "name")
+                        .toList();
+
+                assertThat(names)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void loadResultsKeepIdentity() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            storeUsers(store);
+
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < NUMBER_OF_USERS; i++) {
+                ids.add("users/" + i);
+            }
+            ids.add("users/1");
+            ids.add("users/missing");
+
+            try (IDocumentSession session = store.openSession()) {
+                session.advanced().setParallelMaterialization(true);
+
+                User loaded = session.load(User.class, "users/20");
+
+                Map<String, User> users = session.load(User.class, ids);
+
+                assertThat(users)
+                        .hasSize(NUMBER_OF_USERS + 1);
+                assertThat(users.get("users/20"))
+                        .isSameAs(loaded);
+                assertThat(users.get("users/999").getAge())
+                        .isEqualTo(999);
+                assertThat(users.get("users/missing"))
+                        .isNull();
+
+                users.get("users/5").setName("modified");
+                assertThat(session.advanced().whatChanged())
+                        .containsOnlyKeys("users/5");
+            }
+        }
+    }
+}
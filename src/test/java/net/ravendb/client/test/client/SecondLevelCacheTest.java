@@ -0,0 +1,55 @@
+package net.ravendb.client.test.client;
+
+import net.ravendb.client.RemoteTestBase;
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.infrastructure.entities.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SecondLevelCacheTest extends RemoteTestBase {
+
+    @Override
+    protected void customizeStore(DocumentStore store) {
+        store.getConventions().setSecondLevelCacheSize(1024);
+    }
+
+    @Test
+    public void canServeLoadsFromSecondLevelCache() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                User user = new User();
+                user.setName("John");
+                session.store(user, "users/1");
+                session.saveChanges();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(User.class, "users/1").getName())
+                        .isEqualTo("John");
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(1);
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                User user = session.load(User.class, "USERS/1");
+                assertThat(user.getName())
+                        .isEqualTo("John");
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isZero();
+
+                user.setName("Jane");
+                session.saveChanges();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(User.class, "users/1").getName())
+                        .isEqualTo("Jane");
+                assertThat(session.advanced().getNumberOfRequests())
+                        .isEqualTo(1);
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.ravendb.client.Constants;
 import net.ravendb.client.RemoteTestBase;
 import net.ravendb.client.documents.BulkInsertOperation;
 import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.ParallelBulkInsertOperation;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.exceptions.documents.bulkinsert.BulkInsertAbortedException;
 import net.ravendb.client.json.MetadataAsDictionary;
@@ -11,7 +12,12 @@ import net.ravendb.client.primitives.NetISO8601Utils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -117,6 +123,68 @@ public class BulkInsertsTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void bulkInsertWithSmallBuffersShouldWork() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            BulkInsertOperation bulkInsert = store.bulkInsert();
+            try {
+                bulkInsert.setBufferSize(1024);
+                bulkInsert.setBufferDepth(4);
+
+                for (int i = 0; i < 500; i++) {
+                    FooBar fooBar = new FooBar();
+                    fooBar.setName("John Doe " + i);
+                    bulkInsert.store(fooBar);
+                }
+            } finally {
+                bulkInsert.close();
+            }
+
+            assertThat(bulkInsert.getNumberOfFlushes())
+                    .isGreaterThan(1);
+            assertThat(bulkInsert.getBytesSent())
+                    .isGreaterThan(500 * 20);
+
+            try (IDocumentSession session = store.openSession()) {
+                FooBar doc = session.load(FooBar.class, "FooBars/500-A");
+                assertThat(doc.getName())
+                        .isEqualTo("John Doe 499");
+            }
+        }
+    }
+
+    @Test
+    public void parallelBulkInsertShouldWork() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            ExecutorService producers = Executors.newFixedThreadPool(4);
+            try {
+                try (ParallelBulkInsertOperation bulkInsert = store.parallelBulkInsert(3)) {
+                    List<Future<?>> tasks = new ArrayList<>();
+                    for (int thread = 0; thread < 4; thread++) {
+                        tasks.add(producers.submit(() -> {
+                            for (int i = 0; i < 250; i++) {
+                                FooBar fooBar = new FooBar();
+                                fooBar.setName("John Doe");
+                                bulkInsert.store(fooBar);
+                            }
+                        }));
+                    }
+
+                    for (Future<?> task : tasks) {
+                        task.get();
+                    }
+                }
+            } finally {
+                producers.shutdown();
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.query(FooBar.class).waitForNonStaleResults().count())
+                        .isEqualTo(1000);
+            }
+        }
+    }
+
 
     public static class FooBar {
         private String name;
@@ -18,7 +18,9 @@ import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -244,6 +246,125 @@ public class SubscriptionsBasicTest extends RemoteTestBase {
         }
     }
 
+    @Test
+    public void canProcessBatchPartitionsInParallel() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                for (int i = 0; i < 100; i++) {
+                    session.store(new Company());
+                }
+
+                session.saveChanges();
+            }
+
+            String id = store.subscriptions().create(Company.class);
+            SubscriptionWorkerOptions options = new SubscriptionWorkerOptions(id);
+            options.setMaxDocsPerBatch(25);
+            options.setParallelism(4);
+            try (SubscriptionWorker<ObjectNode> subscriptionWorker = store.subscriptions().getSubscriptionWorker(options)) {
+                Set<String> ids = ConcurrentHashMap.newKeySet();
+                Semaphore semaphore = new Semaphore(0);
+
+                subscriptionWorker.run(batch -> {
+                    assertThat(batch.getNumberOfItemsInBatch())
+                            .isLessThanOrEqualTo(7);
+
+                    batch.getItems().forEach(x -> ids.add(x.getId()));
+
+                    if (ids.size() == 100) {
+                        semaphore.release();
+                    }
+                });
+
+                assertThat(semaphore.tryAcquire(_reasonableWaitTime, TimeUnit.SECONDS))
+                        .isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void shouldAggregateErrorsOfParallelPartitions() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            String id = store.subscriptions().create(User.class, new SubscriptionCreationOptions());
+
+            try (IDocumentSession session = store.openSession()) {
+                session.store(new User());
+                session.store(new User());
+                session.saveChanges();
+            }
+
+            SubscriptionWorkerOptions options = new SubscriptionWorkerOptions(id);
+            options.setParallelism(2);
+            try (SubscriptionWorker<ObjectNode> subscription = store.subscriptions().getSubscriptionWorker(options)) {
+                CompletableFuture<Void> subscriptionTask = subscription.run(x -> {
+                    throw new RuntimeException("Fake exception");
+                });
+
+                assertThatThrownBy(() -> subscriptionTask.get(_reasonableWaitTime, TimeUnit.SECONDS))
+                        .matches(x -> {
+                            RuntimeException exception = ExceptionsUtils.unwrapException(x);
+                            return exception instanceof SubscriberErrorException
+                                    && exception.getSuppressed().length == 1;
+                        });
+
+                SubscriptionState subscriptionConfig = store.subscriptions().getSubscriptions(0, 1).get(0);
+                assertThat(subscriptionConfig.getChangeVectorForNextBatchStartingPoint())
+                        .isNullOrEmpty();
+            }
+        }
+    }
+
+    @Test
+    public void canRunSubscriptionsInWorkerGroup() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            List<String> subscriptionNames = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                subscriptionNames.add(store.subscriptions().create(User.class));
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                for (int i = 0; i < 20; i++) {
+                    session.store(new User());
+                }
+
+                session.saveChanges();
+            }
+
+            try (SubscriptionWorkerGroup group = store.subscriptions().createWorkerGroup(2)) {
+                AtomicInteger running = new AtomicInteger();
+                AtomicInteger maxRunning = new AtomicInteger();
+                CountDownLatch latch = new CountDownLatch(5 * 20);
+
+                for (String subscriptionName : subscriptionNames) {
+                    SubscriptionWorkerOptions options = new SubscriptionWorkerOptions(subscriptionName);
+                    options.setMaxDocsPerBatch(5);
+
+                    SubscriptionWorker<User> worker = group.getSubscriptionWorker(User.class, options);
+                    worker.run(batch -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            batch.getItems().forEach(x -> latch.countDown());
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    });
+                }
+
+                assertThat(latch.await(_reasonableWaitTime, TimeUnit.SECONDS))
+                        .isTrue();
+
+                assertThat(maxRunning.get())
+                        .isLessThanOrEqualTo(2);
+
+                List<SubscriptionWorkerMetricsSnapshot> metrics = group.getMetrics();
+                assertThat(metrics)
+                        .hasSize(5);
+                assertThat(metrics)
+                        .allMatch(x -> x.getItemsProcessed() <= 20 && x.getBatchesProcessed() <= 4);
+            }
+        }
+    }
+
     @Test
     public void shouldRespectCollectionCriteria() throws Exception {
         try (IDocumentStore store = getDocumentStore()) {
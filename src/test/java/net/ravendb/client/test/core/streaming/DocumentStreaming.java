@@ -5,9 +5,14 @@ import net.ravendb.client.documents.CloseableIterator;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.commands.StreamResult;
 import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.IResumableStreamIterator;
+import net.ravendb.client.documents.session.StreamCheckpoint;
 import net.ravendb.client.infrastructure.entities.User;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class DocumentStreaming extends RemoteTestBase {
@@ -63,4 +68,45 @@ public class DocumentStreaming extends RemoteTestBase {
             }
         }
     }
+
+    @Test
+    public void canResumeStreamFromCheckpoint() throws Exception {
+        try (IDocumentStore store = getDocumentStore()) {
+            try (IDocumentSession session = store.openSession()) {
+                for (int i = 0; i < 200; i++) {
+                    session.store(new User());
+                }
+
+                session.saveChanges();
+            }
+
+            Set<String> ids = new HashSet<>();
+            String token;
+
+            try (IDocumentSession session = store.openSession()) {
+                try (IResumableStreamIterator<User> reader = session.advanced().resumableStream(User.class, "users/")) {
+                    for (int i = 0; i < 50; i++) {
+                        ids.add(reader.next().getId());
+                    }
+
+                    token = reader.getCheckpoint().toToken();
+                }
+            }
+
+            try (IDocumentSession session = store.openSession()) {
+                try (IResumableStreamIterator<User> reader = session.advanced().resumableStream(User.class, StreamCheckpoint.fromToken(token))) {
+                    while (reader.hasNext()) {
+                        assertThat(ids.add(reader.next().getId()))
+                                .isTrue();
+                    }
+
+                    assertThat(reader.getCheckpoint().getReturnedResults())
+                            .isEqualTo(200);
+                }
+            }
+
+            assertThat(ids)
+                    .hasSize(200);
+        }
+    }
 }